@@ -209,10 +209,46 @@ class BufferedInputStream extends FilterInputStream {
         buf = new byte[size];
     }
 
+    /**
+     * Creates a <code>BufferedInputStream</code> with the specified buffer
+     * size for use by a single thread.
+     *
+     * <p> The <code>read</code>, <code>skip</code> and
+     * <code>available</code> methods of the returned stream do not
+     * synchronize on the stream.  The stream is not safe for use by multiple
+     * concurrent threads; if it is handed from one thread to another then the
+     * hand-off must establish a <i>happens-before</i> relation, for example
+     * through a lock or a volatile field.  Asynchronous {@link #close()}
+     * remains safe, as for a synchronized stream.
+     *
+     * @param   in     the underlying input stream.
+     * @param   size   the buffer size.
+     * @return  a buffered input stream whose read methods do not synchronize
+     * @exception IllegalArgumentException if {@code size <= 0}.
+     * @since 12
+     */
+    public static BufferedInputStream unsynchronized(InputStream in, int size) {
+        return new Unsynchronized(in, size);
+    }
+
+    /**
+     * Creates a <code>BufferedInputStream</code> with the default buffer
+     * size for use by a single thread.
+     *
+     * @param   in   the underlying input stream.
+     * @return  a buffered input stream whose read methods do not synchronize
+     * @see     #unsynchronized(InputStream, int)
+     * @since 12
+     */
+    public static BufferedInputStream unsynchronized(InputStream in) {
+        return new Unsynchronized(in, DEFAULT_BUFFER_SIZE);
+    }
+
     /**
      * Fills the buffer with more data, taking into account
      * shuffling and other tricks for dealing with marks.
-     * Assumes that it is being called by a synchronized method.
+     * Assumes that it is being called by a synchronized method, or by
+     * the owning thread of an unsynchronized stream.
      * This method also assumes that all data has already been read in,
      * hence pos > count.
      */
@@ -267,6 +303,11 @@ class BufferedInputStream extends FilterInputStream {
      * @see        java.io.FilterInputStream#in
      */
     public synchronized int read() throws IOException {
+        return implRead();
+    }
+
+    /** Reads the next byte; the caller holds the monitor if needed. */
+    final int implRead() throws IOException {
         if (pos >= count) {
             fill();
             if (pos >= count)
@@ -339,6 +380,11 @@ class BufferedInputStream extends FilterInputStream {
     public synchronized int read(byte b[], int off, int len)
         throws IOException
     {
+        return implRead(b, off, len);
+    }
+
+    /** Reads bytes into an array; the caller holds the monitor if needed. */
+    final int implRead(byte[] b, int off, int len) throws IOException {
         getBufIfOpen(); // Check for closed stream
         if ((off | len | (off + len) | (b.length - (off + len))) < 0) {
             throw new IndexOutOfBoundsException();
@@ -371,6 +417,11 @@ class BufferedInputStream extends FilterInputStream {
      *                      or an I/O error occurs.
      */
     public synchronized long skip(long n) throws IOException {
+        return implSkip(n);
+    }
+
+    /** Skips bytes; the caller holds the monitor if needed. */
+    final long implSkip(long n) throws IOException {
         getBufIfOpen(); // Check for closed stream
         if (n <= 0) {
             return 0;
@@ -412,6 +463,11 @@ class BufferedInputStream extends FilterInputStream {
      *                          or an I/O error occurs.
      */
     public synchronized int available() throws IOException {
+        return implAvailable();
+    }
+
+    /** Estimates the available bytes; the caller holds the monitor if needed. */
+    final int implAvailable() throws IOException {
         int n = count - pos;
         int avail = getInIfOpen().available();
         return n > (Integer.MAX_VALUE - avail)
@@ -492,4 +548,34 @@ class BufferedInputStream extends FilterInputStream {
             // Else retry in case a new buf was CASed in fill()
         }
     }
+
+    /**
+     * A BufferedInputStream confined to a single thread.  The buffer logic
+     * is shared with BufferedInputStream; only the locking is left out.
+     */
+    private static final class Unsynchronized extends BufferedInputStream {
+        Unsynchronized(InputStream in, int size) {
+            super(in, size);
+        }
+
+        @Override
+        public int read() throws IOException {
+            return implRead();
+        }
+
+        @Override
+        public int read(byte b[], int off, int len) throws IOException {
+            return implRead(b, off, len);
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            return implSkip(n);
+        }
+
+        @Override
+        public int available() throws IOException {
+            return implAvailable();
+        }
+    }
 }
@@ -75,6 +75,40 @@ public class BufferedOutputStream extends FilterOutputStream {
         buf = new byte[size];
     }
 
+    /**
+     * Creates a new buffered output stream, with the specified buffer size,
+     * for use by a single thread.
+     *
+     * <p> The <code>write</code> and <code>flush</code> methods of the
+     * returned stream do not synchronize on the stream.  The stream is not
+     * safe for use by multiple concurrent threads; if it is handed from one
+     * thread to another then the hand-off must establish a
+     * <i>happens-before</i> relation, for example through a lock or a
+     * volatile field.
+     *
+     * @param   out    the underlying output stream.
+     * @param   size   the buffer size.
+     * @return  a buffered output stream whose write methods do not synchronize
+     * @exception IllegalArgumentException if size &lt;= 0.
+     * @since 12
+     */
+    public static BufferedOutputStream unsynchronized(OutputStream out, int size) {
+        return new Unsynchronized(out, size);
+    }
+
+    /**
+     * Creates a new buffered output stream, with the default buffer size,
+     * for use by a single thread.
+     *
+     * @param   out   the underlying output stream.
+     * @return  a buffered output stream whose write methods do not synchronize
+     * @see     #unsynchronized(OutputStream, int)
+     * @since 12
+     */
+    public static BufferedOutputStream unsynchronized(OutputStream out) {
+        return new Unsynchronized(out, 8192);
+    }
+
     /** Flush the internal buffer */
     private void flushBuffer() throws IOException {
         if (count > 0) {
@@ -91,6 +125,11 @@ public class BufferedOutputStream extends FilterOutputStream {
      */
     @Override
     public synchronized void write(int b) throws IOException {
+        implWrite(b);
+    }
+
+    /** Writes a byte; the caller holds the monitor if needed. */
+    final void implWrite(int b) throws IOException {
         if (count >= buf.length) {
             flushBuffer();
         }
@@ -115,6 +154,11 @@ public class BufferedOutputStream extends FilterOutputStream {
      */
     @Override
     public synchronized void write(byte b[], int off, int len) throws IOException {
+        implWrite(b, off, len);
+    }
+
+    /** Writes bytes from an array; the caller holds the monitor if needed. */
+    final void implWrite(byte[] b, int off, int len) throws IOException {
         if (len >= buf.length) {
             /* If the request length exceeds the size of the output buffer,
                flush the output buffer and then write the data directly.
@@ -139,7 +183,37 @@ public class BufferedOutputStream extends FilterOutputStream {
      */
     @Override
     public synchronized void flush() throws IOException {
+        implFlush();
+    }
+
+    /** Flushes the buffer and the stream; the caller holds the monitor if needed. */
+    final void implFlush() throws IOException {
         flushBuffer();
         out.flush();
     }
+
+    /**
+     * A BufferedOutputStream confined to a single thread.  The buffer logic
+     * is shared with BufferedOutputStream; only the locking is left out.
+     */
+    private static final class Unsynchronized extends BufferedOutputStream {
+        Unsynchronized(OutputStream out, int size) {
+            super(out, size);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            implWrite(b);
+        }
+
+        @Override
+        public void write(byte b[], int off, int len) throws IOException {
+            implWrite(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            implFlush();
+        }
+    }
 }
@@ -116,6 +116,42 @@ public class BufferedReader extends Reader {
         this(in, defaultCharBufferSize);
     }
 
+    /**
+     * Creates a buffering character-input stream, that uses an input buffer
+     * of the specified size, for use by a single thread.
+     *
+     * <p> The {@code read}, {@code readLine}, {@code skip} and {@code ready}
+     * methods of the returned reader do not acquire its {@link #lock lock}.
+     * The reader is not safe for use by multiple concurrent threads; if it is
+     * handed from one thread to another then the hand-off must establish a
+     * <i>happens-before</i> relation, for example through a lock or a
+     * volatile field.
+     *
+     * @param  in   A Reader
+     * @param  sz   Input-buffer size
+     * @return A buffered reader whose read methods do not synchronize
+     *
+     * @exception  IllegalArgumentException  If {@code sz <= 0}
+     * @since 12
+     */
+    public static BufferedReader unsynchronized(Reader in, int sz) {
+        return new Unsynchronized(in, sz);
+    }
+
+    /**
+     * Creates a buffering character-input stream, that uses a default-sized
+     * input buffer, for use by a single thread.
+     *
+     * @param  in   A Reader
+     * @return A buffered reader whose read methods do not synchronize
+     *
+     * @see #unsynchronized(Reader, int)
+     * @since 12
+     */
+    public static BufferedReader unsynchronized(Reader in) {
+        return new Unsynchronized(in, defaultCharBufferSize);
+    }
+
     /** Checks to make sure that the stream has not been closed */
     private void ensureOpen() throws IOException {
         if (in == null)
@@ -176,22 +212,27 @@ public class BufferedReader extends Reader {
      */
     public int read() throws IOException {
         synchronized (lock) {
-            ensureOpen();
-            for (;;) {
-                if (nextChar >= nChars) {
-                    fill();
-                    if (nextChar >= nChars)
-                        return -1;
-                }
-                if (skipLF) {
-                    skipLF = false;
-                    if (cb[nextChar] == '\n') {
-                        nextChar++;
-                        continue;
-                    }
+            return implRead();
+        }
+    }
+
+    /** Reads a single character; the caller holds the lock if needed. */
+    final int implRead() throws IOException {
+        ensureOpen();
+        for (;;) {
+            if (nextChar >= nChars) {
+                fill();
+                if (nextChar >= nChars)
+                    return -1;
+            }
+            if (skipLF) {
+                skipLF = false;
+                if (cb[nextChar] == '\n') {
+                    nextChar++;
+                    continue;
                 }
-                return cb[nextChar++];
             }
+            return cb[nextChar++];
         }
     }
 
@@ -276,23 +317,28 @@ public class BufferedReader extends Reader {
      */
     public int read(char cbuf[], int off, int len) throws IOException {
         synchronized (lock) {
-            ensureOpen();
-            if ((off < 0) || (off > cbuf.length) || (len < 0) ||
-                ((off + len) > cbuf.length) || ((off + len) < 0)) {
-                throw new IndexOutOfBoundsException();
-            } else if (len == 0) {
-                return 0;
-            }
+            return implRead(cbuf, off, len);
+        }
+    }
 
-            int n = read1(cbuf, off, len);
-            if (n <= 0) return n;
-            while ((n < len) && in.ready()) {
-                int n1 = read1(cbuf, off + n, len - n);
-                if (n1 <= 0) break;
-                n += n1;
-            }
-            return n;
+    /** Reads characters into an array; the caller holds the lock if needed. */
+    final int implRead(char[] cbuf, int off, int len) throws IOException {
+        ensureOpen();
+        if ((off < 0) || (off > cbuf.length) || (len < 0) ||
+            ((off + len) > cbuf.length) || ((off + len) < 0)) {
+            throw new IndexOutOfBoundsException();
+        } else if (len == 0) {
+            return 0;
+        }
+
+        int n = read1(cbuf, off, len);
+        if (n <= 0) return n;
+        while ((n < len) && in.ready()) {
+            int n1 = read1(cbuf, off + n, len - n);
+            if (n1 <= 0) break;
+            n += n1;
         }
+        return n;
     }
 
     /**
@@ -312,65 +358,70 @@ public class BufferedReader extends Reader {
      * @exception  IOException  If an I/O error occurs
      */
     String readLine(boolean ignoreLF) throws IOException {
+        synchronized (lock) {
+            return implReadLine(ignoreLF);
+        }
+    }
+
+    /** Reads a line of text; the caller holds the lock if needed. */
+    final String implReadLine(boolean ignoreLF) throws IOException {
         StringBuilder s = null;
         int startChar;
 
-        synchronized (lock) {
-            ensureOpen();
-            boolean omitLF = ignoreLF || skipLF;
+        ensureOpen();
+        boolean omitLF = ignoreLF || skipLF;
 
-        bufferLoop:
-            for (;;) {
+    bufferLoop:
+        for (;;) {
 
-                if (nextChar >= nChars)
-                    fill();
-                if (nextChar >= nChars) { /* EOF */
-                    if (s != null && s.length() > 0)
-                        return s.toString();
-                    else
-                        return null;
-                }
-                boolean eol = false;
-                char c = 0;
-                int i;
+            if (nextChar >= nChars)
+                fill();
+            if (nextChar >= nChars) { /* EOF */
+                if (s != null && s.length() > 0)
+                    return s.toString();
+                else
+                    return null;
+            }
+            boolean eol = false;
+            char c = 0;
+            int i;
 
-                /* Skip a leftover '\n', if necessary */
-                if (omitLF && (cb[nextChar] == '\n'))
-                    nextChar++;
-                skipLF = false;
-                omitLF = false;
-
-            charLoop:
-                for (i = nextChar; i < nChars; i++) {
-                    c = cb[i];
-                    if ((c == '\n') || (c == '\r')) {
-                        eol = true;
-                        break charLoop;
-                    }
+            /* Skip a leftover '\n', if necessary */
+            if (omitLF && (cb[nextChar] == '\n'))
+                nextChar++;
+            skipLF = false;
+            omitLF = false;
+
+        charLoop:
+            for (i = nextChar; i < nChars; i++) {
+                c = cb[i];
+                if ((c == '\n') || (c == '\r')) {
+                    eol = true;
+                    break charLoop;
                 }
+            }
 
-                startChar = nextChar;
-                nextChar = i;
+            startChar = nextChar;
+            nextChar = i;
 
-                if (eol) {
-                    String str;
-                    if (s == null) {
-                        str = new String(cb, startChar, i - startChar);
-                    } else {
-                        s.append(cb, startChar, i - startChar);
-                        str = s.toString();
-                    }
-                    nextChar++;
-                    if (c == '\r') {
-                        skipLF = true;
-                    }
-                    return str;
+            if (eol) {
+                String str;
+                if (s == null) {
+                    str = new String(cb, startChar, i - startChar);
+                } else {
+                    s.append(cb, startChar, i - startChar);
+                    str = s.toString();
                 }
-
-                if (s == null)
-                    s = new StringBuilder(defaultExpectedLineLength);
-                s.append(cb, startChar, i - startChar);
+                nextChar++;
+                if (c == '\r') {
+                    skipLF = true;
+                }
+                return str;
             }
+
+            if (s == null)
+                s = new StringBuilder(defaultExpectedLineLength);
+            s.append(cb, startChar, i - startChar);
         }
     }
 
@@ -403,36 +454,41 @@ public class BufferedReader extends Reader {
      * @exception  IOException  If an I/O error occurs
      */
     public long skip(long n) throws IOException {
+        synchronized (lock) {
+            return implSkip(n);
+        }
+    }
+
+    /** Skips characters; the caller holds the lock if needed. */
+    final long implSkip(long n) throws IOException {
         if (n < 0L) {
             throw new IllegalArgumentException("skip value is negative");
         }
-        synchronized (lock) {
-            ensureOpen();
-            long r = n;
-            while (r > 0) {
-                if (nextChar >= nChars)
-                    fill();
-                if (nextChar >= nChars) /* EOF */
-                    break;
-                if (skipLF) {
-                    skipLF = false;
-                    if (cb[nextChar] == '\n') {
-                        nextChar++;
-                    }
-                }
-                long d = nChars - nextChar;
-                if (r <= d) {
-                    nextChar += r;
-                    r = 0;
-                    break;
-                }
-                else {
-                    r -= d;
-                    nextChar = nChars;
+        ensureOpen();
+        long r = n;
+        while (r > 0) {
+            if (nextChar >= nChars)
+                fill();
+            if (nextChar >= nChars) /* EOF */
+                break;
+            if (skipLF) {
+                skipLF = false;
+                if (cb[nextChar] == '\n') {
+                    nextChar++;
                 }
             }
-            return n - r;
+            long d = nChars - nextChar;
+            if (r <= d) {
+                nextChar += r;
+                r = 0;
+                break;
+            }
+            else {
+                r -= d;
+                nextChar = nChars;
+            }
         }
+        return n - r;
     }
 
     /**
@@ -444,27 +500,32 @@ public class BufferedReader extends Reader {
      */
     public boolean ready() throws IOException {
         synchronized (lock) {
-            ensureOpen();
+            return implReady();
+        }
+    }
 
-            /*
-             * If newline needs to be skipped and the next char to be read
-             * is a newline character, then just skip it right away.
+    /** Tells whether this stream is ready; the caller holds the lock if needed. */
+    final boolean implReady() throws IOException {
+        ensureOpen();
+
+        /*
+         * If newline needs to be skipped and the next char to be read
+         * is a newline character, then just skip it right away.
+         */
+        if (skipLF) {
+            /* Note that in.ready() will return true if and only if the next
+             * read on the stream will not block.
              */
-            if (skipLF) {
-                /* Note that in.ready() will return true if and only if the next
-                 * read on the stream will not block.
-                 */
-                if (nextChar >= nChars && in.ready()) {
-                    fill();
-                }
-                if (nextChar < nChars) {
-                    if (cb[nextChar] == '\n')
-                        nextChar++;
-                    skipLF = false;
-                }
+            if (nextChar >= nChars && in.ready()) {
+                fill();
+            }
+            if (nextChar < nChars) {
+                if (cb[nextChar] == '\n')
+                    nextChar++;
+                skipLF = false;
             }
-            return (nextChar < nChars) || in.ready();
         }
+        return (nextChar < nChars) || in.ready();
     }
 
     /**
@@ -593,4 +654,39 @@ public class BufferedReader extends Reader {
         return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
                 iter, Spliterator.ORDERED | Spliterator.NONNULL), false);
     }
+
+    /**
+     * A BufferedReader confined to a single thread.  The buffer logic is
+     * shared with BufferedReader; only the locking is left out.
+     */
+    private static final class Unsynchronized extends BufferedReader {
+        Unsynchronized(Reader in, int sz) {
+            super(in, sz);
+        }
+
+        @Override
+        public int read() throws IOException {
+            return implRead();
+        }
+
+        @Override
+        public int read(char cbuf[], int off, int len) throws IOException {
+            return implRead(cbuf, off, len);
+        }
+
+        @Override
+        String readLine(boolean ignoreLF) throws IOException {
+            return implReadLine(ignoreLF);
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            return implSkip(n);
+        }
+
+        @Override
+        public boolean ready() throws IOException {
+            return implReady();
+        }
+    }
 }
@@ -101,6 +101,42 @@ public class BufferedWriter extends Writer {
         nextChar = 0;
     }
 
+    /**
+     * Creates a new buffered character-output stream, that uses an output
+     * buffer of the given size, for use by a single thread.
+     *
+     * <p> The {@code write}, {@code newLine} and {@code flush} methods of the
+     * returned writer do not acquire its {@link #lock lock}.  The writer is
+     * not safe for use by multiple concurrent threads; if it is handed from
+     * one thread to another then the hand-off must establish a
+     * <i>happens-before</i> relation, for example through a lock or a
+     * volatile field.
+     *
+     * @param  out  A Writer
+     * @param  sz   Output-buffer size, a positive integer
+     * @return A buffered writer whose write methods do not synchronize
+     *
+     * @exception  IllegalArgumentException  If {@code sz <= 0}
+     * @since 12
+     */
+    public static BufferedWriter unsynchronized(Writer out, int sz) {
+        return new Unsynchronized(out, sz);
+    }
+
+    /**
+     * Creates a new buffered character-output stream, that uses a
+     * default-sized output buffer, for use by a single thread.
+     *
+     * @param  out  A Writer
+     * @return A buffered writer whose write methods do not synchronize
+     *
+     * @see #unsynchronized(Writer, int)
+     * @since 12
+     */
+    public static BufferedWriter unsynchronized(Writer out) {
+        return new Unsynchronized(out, defaultCharBufferSize);
+    }
+
     /** Checks to make sure that the stream has not been closed */
     private void ensureOpen() throws IOException {
         if (out == null)
@@ -114,14 +150,19 @@ public class BufferedWriter extends Writer {
      */
     void flushBuffer() throws IOException {
         synchronized (lock) {
-            ensureOpen();
-            if (nextChar == 0)
-                return;
-            out.write(cb, 0, nextChar);
-            nextChar = 0;
+            implFlushBuffer();
         }
     }
 
+    /** Flushes the output buffer; the caller holds the lock if needed. */
+    final void implFlushBuffer() throws IOException {
+        ensureOpen();
+        if (nextChar == 0)
+            return;
+        out.write(cb, 0, nextChar);
+        nextChar = 0;
+    }
+
     /**
      * Writes a single character.
      *
@@ -129,13 +170,18 @@ public class BufferedWriter extends Writer {
      */
     public void write(int c) throws IOException {
         synchronized (lock) {
-            ensureOpen();
-            if (nextChar >= nChars)
-                flushBuffer();
-            cb[nextChar++] = (char) c;
+            implWrite(c);
         }
     }
 
+    /** Writes a single character; the caller holds the lock if needed. */
+    final void implWrite(int c) throws IOException {
+        ensureOpen();
+        if (nextChar >= nChars)
+            implFlushBuffer();
+        cb[nextChar++] = (char) c;
+    }
+
     /**
      * Our own little min method, to avoid loading java.lang.Math if we've run
      * out of file descriptors and we're trying to print a stack trace.
@@ -168,32 +214,37 @@ public class BufferedWriter extends Writer {
      */
     public void write(char cbuf[], int off, int len) throws IOException {
         synchronized (lock) {
-            ensureOpen();
-            if ((off < 0) || (off > cbuf.length) || (len < 0) ||
-                ((off + len) > cbuf.length) || ((off + len) < 0)) {
-                throw new IndexOutOfBoundsException();
-            } else if (len == 0) {
-                return;
-            }
+            implWrite(cbuf, off, len);
+        }
+    }
 
-            if (len >= nChars) {
-                /* If the request length exceeds the size of the output buffer,
-                   flush the buffer and then write the data directly.  In this
-                   way buffered streams will cascade harmlessly. */
-                flushBuffer();
-                out.write(cbuf, off, len);
-                return;
-            }
+    /** Writes a portion of an array; the caller holds the lock if needed. */
+    final void implWrite(char[] cbuf, int off, int len) throws IOException {
+        ensureOpen();
+        if ((off < 0) || (off > cbuf.length) || (len < 0) ||
+            ((off + len) > cbuf.length) || ((off + len) < 0)) {
+            throw new IndexOutOfBoundsException();
+        } else if (len == 0) {
+            return;
+        }
 
-            int b = off, t = off + len;
-            while (b < t) {
-                int d = min(nChars - nextChar, t - b);
-                System.arraycopy(cbuf, b, cb, nextChar, d);
-                b += d;
-                nextChar += d;
-                if (nextChar >= nChars)
-                    flushBuffer();
-            }
+        if (len >= nChars) {
+            /* If the request length exceeds the size of the output buffer,
+               flush the buffer and then write the data directly.  In this
+               way buffered streams will cascade harmlessly. */
+            implFlushBuffer();
+            out.write(cbuf, off, len);
+            return;
+        }
+
+        int b = off, t = off + len;
+        while (b < t) {
+            int d = min(nChars - nextChar, t - b);
+            System.arraycopy(cbuf, b, cb, nextChar, d);
+            b += d;
+            nextChar += d;
+            if (nextChar >= nChars)
+                implFlushBuffer();
         }
     }
 
@@ -221,17 +272,22 @@ public class BufferedWriter extends Writer {
      */
     public void write(String s, int off, int len) throws IOException {
         synchronized (lock) {
-            ensureOpen();
-
-            int b = off, t = off + len;
-            while (b < t) {
-                int d = min(nChars - nextChar, t - b);
-                s.getChars(b, b + d, cb, nextChar);
-                b += d;
-                nextChar += d;
-                if (nextChar >= nChars)
-                    flushBuffer();
-            }
+            implWrite(s, off, len);
+        }
+    }
+
+    /** Writes a portion of a String; the caller holds the lock if needed. */
+    final void implWrite(String s, int off, int len) throws IOException {
+        ensureOpen();
+
+        int b = off, t = off + len;
+        while (b < t) {
+            int d = min(nChars - nextChar, t - b);
+            s.getChars(b, b + d, cb, nextChar);
+            b += d;
+            nextChar += d;
+            if (nextChar >= nChars)
+                implFlushBuffer();
         }
     }
 
@@ -253,11 +309,16 @@ public class BufferedWriter extends Writer {
      */
     public void flush() throws IOException {
         synchronized (lock) {
-            flushBuffer();
-            out.flush();
+            implFlush();
         }
     }
 
+    /** Flushes the stream; the caller holds the lock if needed. */
+    final void implFlush() throws IOException {
+        implFlushBuffer();
+        out.flush();
+    }
+
     @SuppressWarnings("try")
     public void close() throws IOException {
         synchronized (lock) {
@@ -272,4 +333,39 @@ public class BufferedWriter extends Writer {
             }
         }
     }
+
+    /**
+     * A BufferedWriter confined to a single thread.  The buffer logic is
+     * shared with BufferedWriter; only the locking is left out.
+     */
+    private static final class Unsynchronized extends BufferedWriter {
+        Unsynchronized(Writer out, int sz) {
+            super(out, sz);
+        }
+
+        @Override
+        void flushBuffer() throws IOException {
+            implFlushBuffer();
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            implWrite(c);
+        }
+
+        @Override
+        public void write(char cbuf[], int off, int len) throws IOException {
+            implWrite(cbuf, off, len);
+        }
+
+        @Override
+        public void write(String s, int off, int len) throws IOException {
+            implWrite(s, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            implFlush();
+        }
+    }
 }
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package java.io;
+
+import java.lang.ref.SoftReference;
+
+/**
+ * Cache mapping classes to lazily computed values, backed by a
+ * {@link ClassValue} so that a lookup is a probe of the class's own value
+ * map rather than of a global table keyed by weak class references.
+ * Values are held softly, as the tables they replace did, and are
+ * recomputed on demand once cleared; they do not keep their class from
+ * being unloaded.
+ *
+ * @param <T> the type of cached values
+ */
+abstract class ClassCache<T> {
+
+    private final ClassValue<SoftReference<T>> refs =
+        new ClassValue<>() {
+            @Override
+            protected SoftReference<T> computeValue(Class<?> type) {
+                return new SoftReference<>(ClassCache.this.computeValue(type));
+            }
+        };
+
+    /**
+     * Computes the value for the given class.  May be invoked more than
+     * once for the same class, if racing threads look it up at the same
+     * time, or if it is looked up again from within this method, or once
+     * the previously computed value has been cleared; only one of the
+     * values computed concurrently is cached.
+     */
+    protected abstract T computeValue(Class<?> type);
+
+    /**
+     * Returns the value for the given class, computing it if it is not
+     * cached or has been cleared.
+     */
+    T get(Class<?> cl) {
+        for (;;) {
+            SoftReference<T> ref = refs.get(cl);
+            T val = ref.get();
+            if (val != null) {
+                return val;
+            }
+            // cleared by the collector, drop the stale reference and retry
+            refs.remove(cl);
+        }
+    }
+}
@@ -0,0 +1,456 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package java.io;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.Objects;
+import jdk.internal.ref.Cleaner;
+import sun.nio.ch.DirectBuffer;
+
+/**
+ * A {@link DataInput} reading a file through a {@link FileChannel}, either
+ * through a buffer or from a region of the file mapped into memory.  Where
+ * {@link RandomAccessFile} reads a multi-byte value one byte at a time, each
+ * byte with a separate native call, a {@code FileDataInput} reads a value
+ * lying within its buffer or mapped region with a single bounds-checked
+ * access, and only reads or maps the file again when a value crosses the end
+ * of the region.
+ *
+ * <p>The file pointer and the {@link #seek seek}, {@link #getFilePointer
+ * getFilePointer}, {@link #skipBytes skipBytes} and {@link #length length}
+ * methods behave as those of {@code RandomAccessFile}.  The position of the
+ * channel is neither used nor changed.  Multi-byte values, including the
+ * length of a string read by {@link #readUTF readUTF}, are read in big-endian
+ * order, as specified by {@code DataInput}, unless another
+ * {@linkplain #order(ByteOrder) byte order} is set.  If the end of the file
+ * is reached before all bytes of a value could be read, an
+ * {@code EOFException} is thrown and the file pointer is left at the start
+ * of the value.
+ *
+ * <p>A {@code FileDataInput} is not safe for use by multiple concurrent
+ * threads.
+ *
+ * @see     RandomAccessFile
+ * @see     FileChannel#map
+ * @since   12
+ */
+public final class FileDataInput implements DataInput, Closeable {
+
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    /** the largest region mapped at once */
+    private static final long MAX_MAP_SIZE = Integer.MAX_VALUE;
+
+    private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+    private final FileChannel channel;
+
+    /** true if the file is mapped rather than read into the buffer */
+    private final boolean mapped;
+
+    /**
+     * The buffer or mapped region; its position is the file pointer, and its
+     * limit the end of the bytes read or mapped.
+     */
+    private ByteBuffer buf;
+
+    /** the file offset of index 0 of buf */
+    private long bufStart;
+
+    private ByteOrder order = ByteOrder.BIG_ENDIAN;
+
+    /**
+     * Creates a {@code FileDataInput} reading the given channel through a
+     * buffer of the default size, starting at offset 0.
+     *
+     * @param   channel the channel to read
+     */
+    public FileDataInput(FileChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates a {@code FileDataInput} reading the given channel through a
+     * buffer of the given size, starting at offset 0.
+     *
+     * @param   channel the channel to read
+     * @param   size the buffer size
+     * @throws  IllegalArgumentException if {@code size} is less than 8
+     */
+    public FileDataInput(FileChannel channel, int size) {
+        if (size < Long.BYTES) {
+            throw new IllegalArgumentException("Buffer size < 8");
+        }
+        this.channel = Objects.requireNonNull(channel);
+        this.mapped = false;
+        this.buf = ByteBuffer.allocate(size);
+        buf.limit(0);
+    }
+
+    private FileDataInput(FileChannel channel, boolean mapped) {
+        this.channel = Objects.requireNonNull(channel);
+        this.mapped = mapped;
+        this.buf = EMPTY;
+    }
+
+    /**
+     * Returns a {@code FileDataInput} reading the given channel from regions
+     * of the file mapped into memory in {@linkplain
+     * FileChannel.MapMode#READ_ONLY read-only} mode, starting at offset 0.
+     * A file no larger than {@code Integer.MAX_VALUE} bytes is mapped at
+     * once, on the first read; a larger file is mapped in regions of that
+     * size.  A region is unmapped when the next one is mapped, and when this
+     * input is closed.
+     *
+     * @param   channel the channel to read, which must be open for reading
+     * @return  a {@code FileDataInput} mapping the file
+     */
+    public static FileDataInput mapped(FileChannel channel) {
+        return new FileDataInput(channel, true);
+    }
+
+    /**
+     * Returns the byte order in which multi-byte values are read.
+     *
+     * @return  the byte order, initially {@link ByteOrder#BIG_ENDIAN}
+     */
+    public ByteOrder order() {
+        return order;
+    }
+
+    /**
+     * Sets the byte order in which multi-byte values are read.
+     *
+     * @param   order the new byte order
+     * @return  this {@code FileDataInput}
+     */
+    public FileDataInput order(ByteOrder order) {
+        this.order = Objects.requireNonNull(order);
+        buf.order(order);
+        return this;
+    }
+
+    /**
+     * Returns the current offset in the file.
+     *
+     * @return  the offset from the beginning of the file, in bytes, at
+     *          which the next read occurs
+     */
+    public long getFilePointer() {
+        return bufStart + buf.position();
+    }
+
+    /**
+     * Sets the file-pointer offset, measured from the beginning of the file,
+     * at which the next read occurs.  The offset may be set beyond the end of
+     * the file, in which case the next read reaches the end of the file.
+     *
+     * @param   pos the offset position, measured in bytes from the
+     *          beginning of the file
+     * @throws  IOException if {@code pos} is less than {@code 0} or if an
+     *          I/O error occurs
+     */
+    public void seek(long pos) throws IOException {
+        if (pos < 0) {
+            throw new IOException("Negative seek offset");
+        }
+        long off = pos - bufStart;
+        if (off >= 0 && off <= buf.limit()) {
+            buf.position((int) off);
+        } else {
+            reset(pos);
+        }
+    }
+
+    /**
+     * Returns the length of the file.
+     *
+     * @return  the length of the file, measured in bytes
+     * @throws  IOException if an I/O error occurs
+     */
+    public long length() throws IOException {
+        return channel.size();
+    }
+
+    /**
+     * Reads a byte of data from the file.
+     *
+     * @return  the next byte of data, or {@code -1} if the end of the file
+     *          has been reached
+     * @throws  IOException if an I/O error occurs
+     */
+    public int read() throws IOException {
+        if (!buf.hasRemaining() && !fill(1)) {
+            return -1;
+        }
+        return buf.get() & 0xff;
+    }
+
+    /**
+     * Reads up to {@code len} bytes of data from the file into an array of
+     * bytes.  Bytes past the end of the buffer or mapped region are read
+     * with a single read of the channel.
+     *
+     * @param   b the buffer into which the data is read
+     * @param   off the start offset in array {@code b} at which the data
+     *          is written
+     * @param   len the maximum number of bytes read
+     * @return  the number of bytes read, or {@code -1} if the end of the
+     *          file has been reached
+     * @throws  IndexOutOfBoundsException if {@code off} or {@code len} is
+     *          negative, or {@code len} is greater than
+     *          {@code b.length - off}
+     * @throws  IOException if an I/O error occurs
+     */
+    public int read(byte[] b, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+        if (len == 0) {
+            return 0;
+        }
+        int n = buf.remaining();
+        if (n == 0) {
+            if (!mapped && len >= buf.capacity()) {
+                // larger than the buffer, read directly into the array
+                long pos = getFilePointer();
+                n = channel.read(ByteBuffer.wrap(b, off, len), pos);
+                if (n > 0) {
+                    reset(pos + n);
+                }
+                return n;
+            }
+            if (!fill(1)) {
+                return -1;
+            }
+            n = buf.remaining();
+        }
+        n = Math.min(n, len);
+        buf.get(b, off, n);
+        return n;
+    }
+
+    public void readFully(byte[] b) throws IOException {
+        readFully(b, 0, b.length);
+    }
+
+    public void readFully(byte[] b, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+        long start = getFilePointer();
+        int n = 0;
+        while (n < len) {
+            int count = read(b, off + n, len - n);
+            if (count < 0) {
+                seek(start);
+                throw new EOFException();
+            }
+            n += count;
+        }
+    }
+
+    /**
+     * Attempts to skip over {@code n} bytes of input, as
+     * {@link RandomAccessFile#skipBytes RandomAccessFile.skipBytes} does,
+     * without going past the end of the file.  Unlike that method, no bytes
+     * are skipped, and zero is returned, if the file pointer is already past
+     * the end of the file.
+     *
+     * @param   n the number of bytes to be skipped
+     * @return  the actual number of bytes skipped
+     * @throws  IOException if an I/O error occurs
+     */
+    public int skipBytes(int n) throws IOException {
+        if (n <= 0) {
+            return 0;
+        }
+        long pos = getFilePointer();
+        long newpos = Math.min(pos + n, length());
+        if (newpos <= pos) {
+            return 0;
+        }
+        seek(newpos);
+        return (int) (newpos - pos);
+    }
+
+    public boolean readBoolean() throws IOException {
+        return readByte() != 0;
+    }
+
+    public byte readByte() throws IOException {
+        if (!buf.hasRemaining() && !fill(1)) {
+            throw new EOFException();
+        }
+        return buf.get();
+    }
+
+    public int readUnsignedByte() throws IOException {
+        return readByte() & 0xff;
+    }
+
+    public short readShort() throws IOException {
+        if (buf.remaining() < Short.BYTES && !fill(Short.BYTES)) {
+            throw new EOFException();
+        }
+        return buf.getShort();
+    }
+
+    public int readUnsignedShort() throws IOException {
+        return readShort() & 0xffff;
+    }
+
+    public char readChar() throws IOException {
+        if (buf.remaining() < Character.BYTES && !fill(Character.BYTES)) {
+            throw new EOFException();
+        }
+        return buf.getChar();
+    }
+
+    public int readInt() throws IOException {
+        if (buf.remaining() < Integer.BYTES && !fill(Integer.BYTES)) {
+            throw new EOFException();
+        }
+        return buf.getInt();
+    }
+
+    public long readLong() throws IOException {
+        if (buf.remaining() < Long.BYTES && !fill(Long.BYTES)) {
+            throw new EOFException();
+        }
+        return buf.getLong();
+    }
+
+    public float readFloat() throws IOException {
+        return Float.intBitsToFloat(readInt());
+    }
+
+    public double readDouble() throws IOException {
+        return Double.longBitsToDouble(readLong());
+    }
+
+    /**
+     * Reads the next line of text from this file, as
+     * {@link RandomAccessFile#readLine RandomAccessFile.readLine} does.
+     *
+     * @return  the next line of text from this file, or null if end
+     *          of file is encountered before even one byte is read
+     * @throws  IOException if an I/O error occurs
+     */
+    public String readLine() throws IOException {
+        StringBuilder input = new StringBuilder();
+        int c = -1;
+        boolean eol = false;
+
+        while (!eol) {
+            switch (c = read()) {
+            case -1:
+            case '\n':
+                eol = true;
+                break;
+            case '\r':
+                eol = true;
+                long cur = getFilePointer();
+                if ((read()) != '\n') {
+                    seek(cur);
+                }
+                break;
+            default:
+                input.append((char)c);
+                break;
+            }
+        }
+
+        if ((c == -1) && (input.length() == 0)) {
+            return null;
+        }
+        return input.toString();
+    }
+
+    public String readUTF() throws IOException {
+        return DataInputStream.readUTF(this);
+    }
+
+    /**
+     * Unmaps the current region, if any, and closes the channel.
+     *
+     * @throws  IOException if an I/O error occurs
+     */
+    public void close() throws IOException {
+        reset(getFilePointer());
+        channel.close();
+    }
+
+    /**
+     * Refills the buffer, or maps the region, starting at the file pointer,
+     * and returns true if at least {@code n} bytes are then available.
+     */
+    private boolean fill(int n) throws IOException {
+        long pos = getFilePointer();
+        if (mapped) {
+            long len = Math.min(channel.size() - pos, MAX_MAP_SIZE);
+            if (len < n) {
+                return false;
+            }
+            reset(pos);
+            buf = channel.map(FileChannel.MapMode.READ_ONLY, pos, len);
+        } else {
+            buf.compact();
+            bufStart = pos;
+            while (buf.position() < n) {
+                if (channel.read(buf, bufStart + buf.position()) < 0) {
+                    break;
+                }
+            }
+            buf.flip();
+        }
+        buf.order(order);
+        return buf.remaining() >= n;
+    }
+
+    /**
+     * Discards the buffer or region and moves the file pointer to the given
+     * offset.
+     */
+    private void reset(long pos) {
+        if (mapped) {
+            unmap();
+            buf = EMPTY;
+        } else {
+            buf.clear().limit(0);
+        }
+        bufStart = pos;
+    }
+
+    /**
+     * Unmaps the current region, if any.
+     */
+    private void unmap() {
+        if (mapped && buf instanceof DirectBuffer) {
+            Cleaner cleaner = ((DirectBuffer) buf).cleaner();
+            if (cleaner != null) {
+                cleaner.clean();
+            }
+        }
+    }
+}
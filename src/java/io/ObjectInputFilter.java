@@ -30,15 +30,18 @@ import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.security.Security;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BinaryOperator;
-import java.util.function.Function;
 
 import jdk.internal.access.SharedSecrets;
 import jdk.internal.util.StaticProperty;
+import sun.security.action.GetPropertyAction;
 
 import static java.lang.System.Logger.Level.INFO;
 import static java.lang.System.Logger.Level.ERROR;
@@ -308,6 +311,25 @@ public interface ObjectInputFilter {
          */
         private static final BinaryOperator<ObjectInputFilter> serialFilterFactory;
 
+        /**
+         * The property name enabling filter statistics.
+         */
+        private static final String SERIAL_FILTER_STATISTICS_PROPNAME = "jdk.serialFilterStatistics";
+
+        /**
+         * True if filter invocations are counted and timed.
+         */
+        static final boolean collectStatistics =
+                Boolean.parseBoolean(GetPropertyAction.privilegedGetProperty(
+                        SERIAL_FILTER_STATISTICS_PROPNAME));
+
+        /**
+         * Filter statistics, updated by {@link #recordFilterCheck}.
+         */
+        private static final LongAdder filterInvocations = new LongAdder();
+        private static final LongAdder filterRejections = new LongAdder();
+        private static final LongAdder filterNanos = new LongAdder();
+
 
         static {
             /*
@@ -415,6 +437,61 @@ public interface ObjectInputFilter {
             }
         }
 
+        /**
+         * Returns the number of times the filters of all
+         * {@code ObjectInputStream}s have been invoked.  Filter statistics are
+         * only collected if the system property {@code jdk.serialFilterStatistics}
+         * is {@code true} at startup; otherwise this method returns zero.
+         *
+         * @return the number of filter invocations
+         * @since 12
+         */
+        public static long getFilterInvocationCount() {
+            return filterInvocations.sum();
+        }
+
+        /**
+         * Returns the number of times the filters of all
+         * {@code ObjectInputStream}s have rejected a class, array length or
+         * limit, returned {@code null} or thrown an exception.  Only counted if
+         * the system property {@code jdk.serialFilterStatistics} is
+         * {@code true} at startup.
+         *
+         * @return the number of filter rejections
+         * @since 12
+         */
+        public static long getFilterRejectionCount() {
+            return filterRejections.sum();
+        }
+
+        /**
+         * Returns the total time, in nanoseconds, spent in the filters of all
+         * {@code ObjectInputStream}s.  Only measured if the system property
+         * {@code jdk.serialFilterStatistics} is {@code true} at startup.
+         *
+         * @return the total time spent in filters in nanoseconds
+         * @since 12
+         */
+        public static long getFilterNanos() {
+            return filterNanos.sum();
+        }
+
+        /**
+         * Records one filter invocation; only called by
+         * {@link ObjectInputStream} if {@link #collectStatistics} is true.
+         *
+         * @param rejected true if the filter rejected the check
+         * @param nanos the time spent in the filter
+         */
+        /* package-private */
+        static void recordFilterCheck(boolean rejected, long nanos) {
+            filterInvocations.increment();
+            if (rejected) {
+                filterRejections.increment();
+            }
+            filterNanos.add(nanos);
+        }
+
         /*
          * Returns the serial filter factory singleton.
          * This package private method is *only* called by {@link ObjectInputStream#ObjectInputStream()},
@@ -524,9 +601,17 @@ public interface ObjectInputFilter {
              */
             private final String pattern;
             /**
-             * The list of class filters.
+             * The statuses of the class patterns, in pattern order.
+             */
+            private final Status[] statuses;
+            /**
+             * Matcher for the class patterns without a module name.
              */
-            private final List<Function<Class<?>, Status>> filters;
+            private final ClassMatcher matcher = new ClassMatcher();
+            /**
+             * Matchers for the class patterns with a module name, by module name.
+             */
+            private final Map<String, ClassMatcher> moduleMatchers = new HashMap<>();
             /**
              * Maximum allowed bytes in the stream.
              */
@@ -589,7 +674,7 @@ public interface ObjectInputFilter {
                 maxStreamBytes = Long.MAX_VALUE;
 
                 String[] patterns = pattern.split(";");
-                filters = new ArrayList<>(patterns.length);
+                List<Status> statusList = new ArrayList<>(patterns.length);
                 for (int i = 0; i < patterns.length; i++) {
                     String p = patterns[i];
                     int nameLen = p.length();
@@ -612,7 +697,10 @@ public interface ObjectInputFilter {
                     final String moduleName = (slash >= 0) ? p.substring(poffset, slash) : null;
                     poffset = (slash >= 0) ? slash + 1 : poffset;
 
-                    final Function<Class<?>, Status> patternFilter;
+                    // Patterns are numbered in order, the lowest number matching wins
+                    final int index = statusList.size();
+                    final ClassMatcher m = (moduleName == null) ? matcher
+                            : moduleMatchers.computeIfAbsent(moduleName, k -> new ClassMatcher());
                     if (p.endsWith("*")) {
                         // Wildcard cases
                         if (p.endsWith(".*")) {
@@ -621,36 +709,18 @@ public interface ObjectInputFilter {
                             if (pkg.isEmpty()) {
                                 throw new IllegalArgumentException("package missing in: \"" + pattern + "\"");
                             }
-                            if (negate) {
-                                // A Function that fails if the class starts with the pattern, otherwise don't care
-                                patternFilter = c -> matchesPackage(c, pkg) ? Status.REJECTED : Status.UNDECIDED;
-                            } else {
-                                // A Function that succeeds if the class starts with the pattern, otherwise don't care
-                                patternFilter = c -> matchesPackage(c, pkg) ? Status.ALLOWED : Status.UNDECIDED;
-                            }
+                            m.packages.putIfAbsent(pkg, index);
                         } else if (p.endsWith(".**")) {
                             // Pattern is a package prefix with a double wildcard
                             final String pkgs = p.substring(poffset, nameLen - 2);
                             if (pkgs.length() < 2) {
                                 throw new IllegalArgumentException("package missing in: \"" + pattern + "\"");
                             }
-                            if (negate) {
-                                // A Function that fails if the class starts with the pattern, otherwise don't care
-                                patternFilter = c -> c.getName().startsWith(pkgs) ? Status.REJECTED : Status.UNDECIDED;
-                            } else {
-                                // A Function that succeeds if the class starts with the pattern, otherwise don't care
-                                patternFilter = c -> c.getName().startsWith(pkgs) ? Status.ALLOWED : Status.UNDECIDED;
-                            }
+                            m.prefixes.add(pkgs, index);
                         } else {
                             // Pattern is a classname (possibly empty) with a trailing wildcard
                             final String className = p.substring(poffset, nameLen - 1);
-                            if (negate) {
-                                // A Function that fails if the class starts with the pattern, otherwise don't care
-                                patternFilter = c -> c.getName().startsWith(className) ? Status.REJECTED : Status.UNDECIDED;
-                            } else {
-                                // A Function that succeeds if the class starts with the pattern, otherwise don't care
-                                patternFilter = c -> c.getName().startsWith(className) ? Status.ALLOWED : Status.UNDECIDED;
-                            }
+                            m.prefixes.add(className, index);
                         }
                     } else {
                         final String name = p.substring(poffset);
@@ -658,22 +728,12 @@ public interface ObjectInputFilter {
                             throw new IllegalArgumentException("class or package missing in: \"" + pattern + "\"");
                         }
                         // Pattern is a class name
-                        if (negate) {
-                            // A Function that fails if the class equals the pattern, otherwise don't care
-                            patternFilter = c -> c.getName().equals(name) ? Status.REJECTED : Status.UNDECIDED;
-                        } else {
-                            // A Function that succeeds if the class equals the pattern, otherwise don't care
-                            patternFilter = c -> c.getName().equals(name) ? Status.ALLOWED : Status.UNDECIDED;
-                        }
-                    }
-                    // If there is a moduleName, combine the module name check with the package/class check
-                    if (moduleName == null) {
-                        filters.add(patternFilter);
-                    } else {
-                        filters.add(c -> moduleName.equals(c.getModule().getName()) ? patternFilter.apply(c) : Status.UNDECIDED);
+                        m.classes.putIfAbsent(name, index);
                     }
+                    statusList.add(negate ? Status.REJECTED : Status.ALLOWED);
                 }
-                if (filters.isEmpty() && !hasLimits) {
+                statuses = statusList.toArray(new Status[0]);
+                if (statuses.length == 0 && !hasLimits) {
                     throw new UnsupportedOperationException("no non-empty patterns");
                 }
             }
@@ -757,28 +817,119 @@ public interface ObjectInputFilter {
                         // Primitive types are undecided; let someone else decide
                         return Status.UNDECIDED;
                     } else {
-                        // Find any filter that allowed or rejected the class
-                        final Class<?> cl = clazz;
-                        Optional<Status> status = filters.stream()
-                                .map(f -> f.apply(cl))
-                                .filter(p -> p != Status.UNDECIDED)
-                                .findFirst();
-                        return status.orElse(Status.UNDECIDED);
+                        // Find the first pattern that allowed or rejected the class
+                        int index = matcher.match(clazz);
+                        if (!moduleMatchers.isEmpty()) {
+                            String moduleName = clazz.getModule().getName();
+                            ClassMatcher m = (moduleName == null) ? null : moduleMatchers.get(moduleName);
+                            if (m != null) {
+                                index = Math.min(index, m.match(clazz));
+                            }
+                        }
+                        return (index < statuses.length) ? statuses[index] : Status.UNDECIDED;
                     }
                 }
                 return Status.UNDECIDED;
             }
 
             /**
-             * Returns {@code true} if the class is in the package.
-             *
-             * @param c   a class
-             * @param pkg a package name
-             * @return {@code true} if the class is in the package,
-             * otherwise {@code false}
+             * The class patterns of a filter, compiled into hash tables of
+             * class and package names and a trie of name prefixes, each
+             * mapping to the lowest numbered pattern.  A class is matched
+             * with at most two hash lookups and one walk of its name,
+             * however many patterns there are.
              */
-            private static boolean matchesPackage(Class<?> c, String pkg) {
-                return pkg.equals(c.getPackageName());
+            private static final class ClassMatcher {
+                /** class name -> pattern number, for class name patterns */
+                final Map<String, Integer> classes = new HashMap<>();
+                /** package name -> pattern number, for ".*" patterns */
+                final Map<String, Integer> packages = new HashMap<>();
+                /** name prefixes, for ".**" and trailing "*" patterns */
+                final PrefixTrie prefixes = new PrefixTrie();
+
+                /**
+                 * Returns the number of the first pattern matching the class,
+                 * or {@code Integer.MAX_VALUE} if none matches.
+                 */
+                int match(Class<?> c) {
+                    String name = c.getName();
+                    int index = prefixes.match(name);
+                    if (!classes.isEmpty()) {
+                        Integer i = classes.get(name);
+                        if (i != null && i < index) {
+                            index = i;
+                        }
+                    }
+                    if (!packages.isEmpty()) {
+                        Integer i = packages.get(c.getPackageName());
+                        if (i != null && i < index) {
+                            index = i;
+                        }
+                    }
+                    return index;
+                }
+            }
+
+            /**
+             * A trie of name prefixes, each node holding the lowest pattern
+             * number of the prefixes ending at it.
+             */
+            private static final class PrefixTrie {
+                private static final PrefixTrie[] NO_CHILDREN = new PrefixTrie[0];
+
+                /** characters leading to the children, in insertion order */
+                private char[] chars = new char[0];
+                /** the children */
+                private PrefixTrie[] children = NO_CHILDREN;
+                /** lowest pattern number of the prefixes ending here */
+                private int index = Integer.MAX_VALUE;
+
+                /**
+                 * Adds a prefix for the given pattern number.
+                 */
+                void add(String prefix, int patternIndex) {
+                    PrefixTrie node = this;
+                    for (int i = 0; i < prefix.length(); i++) {
+                        char ch = prefix.charAt(i);
+                        PrefixTrie child = node.child(ch);
+                        if (child == null) {
+                            int n = node.chars.length;
+                            node.chars = Arrays.copyOf(node.chars, n + 1);
+                            node.children = Arrays.copyOf(node.children, n + 1);
+                            node.chars[n] = ch;
+                            node.children[n] = child = new PrefixTrie();
+                        }
+                        node = child;
+                    }
+                    node.index = Math.min(node.index, patternIndex);
+                }
+
+                /**
+                 * Returns the lowest pattern number of the prefixes of the
+                 * name, or {@code Integer.MAX_VALUE} if none.
+                 */
+                int match(String name) {
+                    PrefixTrie node = this;
+                    int best = index;
+                    for (int i = 0; i < name.length(); i++) {
+                        node = node.child(name.charAt(i));
+                        if (node == null) {
+                            break;
+                        }
+                        best = Math.min(best, node.index);
+                    }
+                    return best;
+                }
+
+                private PrefixTrie child(char ch) {
+                    char[] cs = chars;
+                    for (int i = 0; i < cs.length; i++) {
+                        if (cs[i] == ch) {
+                            return children[i];
+                        }
+                    }
+                    return null;
+                }
             }
 
             /**
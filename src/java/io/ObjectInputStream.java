@@ -39,6 +39,7 @@ import java.security.PrivilegedAction;
 import java.security.PrivilegedActionException;
 import java.security.PrivilegedExceptionAction;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
@@ -322,6 +323,8 @@ public class ObjectInputStream
 
     /** wire handle -> obj/exception map */
     private final HandleTable handles;
+    /** handle count beyond which object handles are discarded, or 0 */
+    private int handleLimit;
     /** scratch field for passing handle values up/down call stack */
     private int passHandle = NULL_HANDLE;
     /** flag set when at end of field value block with no TC_ENDBLOCKDATA */
@@ -715,6 +718,36 @@ public class ObjectInputStream
         vlist.register(obj, prio);
     }
 
+    /**
+     * Bounds the handle table of this stream, to read a stream written by an
+     * {@code ObjectOutputStream} whose
+     * {@link ObjectOutputStream#setHandleLimit setHandleLimit} method was
+     * called with the same limit.  Once more than {@code limit} handles have
+     * been assigned, the next top-level call to {@link #readObject readObject}
+     * or {@link #readUnshared readUnshared} first discards the handles of all
+     * objects read so far, so that the stream no longer retains them, and
+     * renumbers the handles of classes and class descriptors, which are kept,
+     * in the same way as the writing stream.  A limit of zero, the default,
+     * leaves the handle table unbounded.
+     *
+     * @param   limit the number of handles beyond which object handles are
+     *          discarded, or zero
+     * @throws  IllegalArgumentException if {@code limit} is negative
+     * @throws  IllegalStateException if any object has been read from this
+     *          stream since it was created or last reset
+     * @see     ObjectOutputStream#setHandleLimit(int)
+     * @since   12
+     */
+    public void setHandleLimit(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("negative limit: " + limit);
+        }
+        if (handles != null && handles.size() != 0) {
+            throw new IllegalStateException("stream has handles assigned");
+        }
+        handleLimit = limit;
+    }
+
     /**
      * Load the local class equivalent of the specified stream class
      * description.  Subclasses may implement this method to allow classes to
@@ -1343,6 +1376,7 @@ public class ObjectInputStream
             ObjectInputFilter.Status status;
             // Info about the stream is not available if overridden by subclass, return 0
             long bytesRead = (bin == null) ? 0 : bin.getBytesRead();
+            long start = Config.collectStatistics ? System.nanoTime() : 0L;
             try {
                 status = serialFilter.checkInput(new FilterValues(clazz, arrayLength,
                         totalObjectRefs, depth, bytesRead));
@@ -1351,6 +1385,11 @@ public class ObjectInputStream
                 status = ObjectInputFilter.Status.REJECTED;
                 ex = e;
             }
+            if (Config.collectStatistics) {
+                Config.recordFilterCheck(status == null ||
+                        status == ObjectInputFilter.Status.REJECTED,
+                        System.nanoTime() - start);
+            }
             if (Logging.filterLogger != null) {
                 // Debug logging of filter checks that fail; Tracing for those that succeed
                 Logging.filterLogger.log(status == null || status == ObjectInputFilter.Status.REJECTED
@@ -1643,6 +1682,10 @@ public class ObjectInputStream
             handleReset();
         }
 
+        if (depth == 0 && handleLimit > 0 && handles.size() > handleLimit) {
+            // mirrors the compaction done by the writing stream
+            handles.compact();
+        }
         depth++;
         totalObjectRefs++;
         try {
@@ -1835,7 +1878,7 @@ public class ObjectInputStream
         }
         ObjectStreamClass desc = readClassDesc(false);
         Class<?> cl = desc.forClass();
-        passHandle = handles.assign(unshared ? unsharedMarker : cl);
+        passHandle = assignDescHandle(cl, unshared);
 
         ClassNotFoundException resolveEx = desc.getResolveException();
         if (resolveEx != null) {
@@ -1885,6 +1928,18 @@ public class ObjectInputStream
                     != ObjectInputStream.class.getClassLoader();
     }
 
+    /**
+     * Assigns a handle to a class or class descriptor, which is kept by
+     * handle table compactions, and returns the assigned handle.
+     */
+    private int assignDescHandle(Object desc, boolean unshared) {
+        int handle = handles.assign(unshared ? unsharedMarker : desc);
+        if (handleLimit > 0 && !unshared) {
+            handles.retain(handle);
+        }
+        return handle;
+    }
+
     /**
      * Reads in and returns class descriptor for a dynamic proxy class.  Sets
      * passHandle to proxy class descriptor's assigned handle.  If proxy class
@@ -1899,7 +1954,7 @@ public class ObjectInputStream
         }
 
         ObjectStreamClass desc = new ObjectStreamClass();
-        int descHandle = handles.assign(unshared ? unsharedMarker : desc);
+        int descHandle = assignDescHandle(desc, unshared);
         passHandle = NULL_HANDLE;
 
         int numIfaces = bin.readInt();
@@ -1987,7 +2042,7 @@ public class ObjectInputStream
         }
 
         ObjectStreamClass desc = new ObjectStreamClass();
-        int descHandle = handles.assign(unshared ? unsharedMarker : desc);
+        int descHandle = assignDescHandle(desc, unshared);
         passHandle = NULL_HANDLE;
 
         ObjectStreamClass readDesc;
@@ -3851,6 +3906,8 @@ public class ObjectInputStream
         int lowDep = -1;
         /** number of handles in table */
         int size = 0;
+        /** handles kept by compact(), allocated on first use */
+        BitSet retained;
 
         /**
          * Creates handle table with the given initial capacity.
@@ -4047,6 +4104,42 @@ public class ObjectInputStream
             Arrays.fill(deps, 0, size, null);
             lowDep = -1;
             size = 0;
+            if (retained != null) {
+                retained.clear();
+            }
+        }
+
+        /**
+         * Marks given handle to be kept by compact().
+         */
+        void retain(int handle) {
+            if (retained == null) {
+                retained = new BitSet();
+            }
+            retained.set(handle);
+        }
+
+        /**
+         * Discards all handles except retained ones, which are renumbered in
+         * ascending order starting at 0.  All handles must be finished.
+         */
+        void compact() {
+            int n = 0;
+            if (retained != null) {
+                for (int i = retained.nextSetBit(0); i >= 0;
+                     i = retained.nextSetBit(i + 1)) {
+                    status[n] = status[i];
+                    entries[n] = entries[i];
+                    n++;
+                }
+                retained.clear();
+                retained.set(0, n);
+            }
+            Arrays.fill(status, n, size, (byte) 0);
+            Arrays.fill(entries, n, size, null);
+            Arrays.fill(deps, 0, size, null);
+            lowDep = -1;
+            size = n;
         }
 
         /**
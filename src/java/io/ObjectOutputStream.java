@@ -31,6 +31,7 @@ import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 import java.util.StringJoiner;
 import java.util.concurrent.ConcurrentHashMap;
@@ -184,6 +185,8 @@ public class ObjectOutputStream
     private int protocol = PROTOCOL_VERSION_2;
     /** recursion depth */
     private int depth;
+    /** handle count beyond which object handles are discarded, or 0 */
+    private int handleLimit;
 
     /** buffer for writing primitive field values */
     private byte[] primVals;
@@ -504,6 +507,43 @@ public class ObjectOutputStream
         bout.setBlockDataMode(true);
     }
 
+    /**
+     * Bounds the handle table of this stream, for long-lived streams which
+     * are never {@linkplain #reset reset}.  Once more than {@code limit}
+     * handles have been assigned, the next top-level call to
+     * {@link #writeObject writeObject} or {@link #writeUnshared writeUnshared}
+     * first discards the handles of all objects written so far, so that the
+     * stream no longer retains them and writes them in full if they are
+     * written again.  Unlike {@code reset}, the handles of classes and class
+     * descriptors are kept, so class descriptors are not written again.
+     * Handles are only discarded between top-level calls, so a single object
+     * graph larger than the limit is still written with all of its shared
+     * references.
+     *
+     * <p>As the handles that are kept are renumbered, the stream can only be
+     * read by an {@code ObjectInputStream} whose
+     * {@link ObjectInputStream#setHandleLimit setHandleLimit} method was
+     * called with the same limit at the corresponding point in the stream.
+     * A limit of zero, the default, leaves the handle table unbounded.
+     *
+     * @param   limit the number of handles beyond which object handles are
+     *          discarded, or zero
+     * @throws  IllegalArgumentException if {@code limit} is negative
+     * @throws  IllegalStateException if any object has been written to this
+     *          stream since it was created or last reset
+     * @see     ObjectInputStream#setHandleLimit(int)
+     * @since   12
+     */
+    public void setHandleLimit(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("negative limit: " + limit);
+        }
+        if (handles != null && handles.size() != 0) {
+            throw new IllegalStateException("stream has handles assigned");
+        }
+        handleLimit = limit;
+    }
+
     /**
      * Subclasses may implement this method to allow class data to be stored in
      * the stream. By default this method does nothing.  The corresponding
@@ -1106,6 +1146,11 @@ public class ObjectOutputStream
     private void writeObject0(Object obj, boolean unshared)
         throws IOException
     {
+        if (depth == 0 && handleLimit > 0 && handles.size() > handleLimit) {
+            // objects from earlier top-level calls are written anew
+            subs.clear();
+            handles.compact();
+        }
         boolean oldMode = bout.setBlockDataMode(false);
         depth++;
         try {
@@ -1212,7 +1257,7 @@ public class ObjectOutputStream
     private void writeClass(Class<?> cl, boolean unshared) throws IOException {
         bout.writeByte(TC_CLASS);
         writeClassDesc(ObjectStreamClass.lookup(cl, true), false);
-        handles.assign(unshared ? null : cl);
+        assignDescHandle(cl, unshared);
     }
 
     /**
@@ -1233,6 +1278,17 @@ public class ObjectOutputStream
         }
     }
 
+    /**
+     * Assigns a handle to a class or class descriptor, which is kept by
+     * handle table compactions.
+     */
+    private void assignDescHandle(Object desc, boolean unshared) {
+        int handle = handles.assign(unshared ? null : desc);
+        if (handleLimit > 0 && !unshared) {
+            handles.retain(handle);
+        }
+    }
+
     private boolean isCustomSubclass() {
         // Return true if this class is a custom subclass of ObjectOutputStream
         return getClass().getClassLoader()
@@ -1246,7 +1302,7 @@ public class ObjectOutputStream
         throws IOException
     {
         bout.writeByte(TC_PROXYCLASSDESC);
-        handles.assign(unshared ? null : desc);
+        assignDescHandle(desc, unshared);
 
         Class<?> cl = desc.forClass();
         Class<?>[] ifaces = cl.getInterfaces();
@@ -1274,7 +1330,7 @@ public class ObjectOutputStream
         throws IOException
     {
         bout.writeByte(TC_CLASSDESC);
-        handles.assign(unshared ? null : desc);
+        assignDescHandle(desc, unshared);
 
         if (protocol == PROTOCOL_VERSION_1) {
             // do not invoke class descriptor write hook with old protocol
@@ -2260,6 +2316,8 @@ public class ObjectOutputStream
         private int[] next;
         /* maps handle value -> associated object */
         private Object[] objs;
+        /* handles kept by compact(), allocated on first use */
+        private BitSet retained;
 
         /**
          * Creates new HandleTable with given capacity and load factor.
@@ -2312,6 +2370,41 @@ public class ObjectOutputStream
             Arrays.fill(spine, -1);
             Arrays.fill(objs, 0, size, null);
             size = 0;
+            if (retained != null) {
+                retained.clear();
+            }
+        }
+
+        /**
+         * Marks given handle to be kept by compact().
+         */
+        void retain(int handle) {
+            if (retained == null) {
+                retained = new BitSet();
+            }
+            retained.set(handle);
+        }
+
+        /**
+         * Discards all mappings except those of retained handles, which are
+         * renumbered in ascending order starting at 0.
+         */
+        void compact() {
+            int n = 0;
+            if (retained != null) {
+                for (int i = retained.nextSetBit(0); i >= 0;
+                     i = retained.nextSetBit(i + 1)) {
+                    objs[n++] = objs[i];
+                }
+                retained.clear();
+                retained.set(0, n);
+            }
+            Arrays.fill(objs, n, size, null);
+            size = n;
+            Arrays.fill(spine, -1);
+            for (int i = 0; i < size; i++) {
+                insert(objs[i], i);
+            }
         }
 
         /**
@@ -0,0 +1,375 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package java.io;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.IllegalBlockingModeException;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * An output stream in which the data is written into a chain of byte array
+ * segments.  Unlike {@link ByteArrayOutputStream}, which copies all of its
+ * data into a new array each time its buffer grows, this stream grows by
+ * adding segments, so written data is never copied until it is retrieved.
+ * The segments double in size up to a maximum of 1 MiB.
+ * <p>
+ * The data can be written to another stream or to a channel without first
+ * being copied into one array, using {@link #writeTo(OutputStream)} or, with
+ * gathering writes of a few segments at a time where the channel supports
+ * them, {@link #writeTo(WritableByteChannel)}.  It can also be retrieved as
+ * buffers sharing the segments, using {@link #toByteBuffers()}, which is
+ * the way to write the data to a channel in non-blocking mode, or copied
+ * into one array, using {@link #toByteArray()}.
+ * <p>
+ * This stream is not synchronized and is meant to be used by one thread at a
+ * time, typically to build a single large response or message.  Closing a
+ * {@code SegmentedByteArrayOutputStream} has no effect.
+ *
+ * @see     ByteArrayOutputStream
+ * @since   12
+ */
+public class SegmentedByteArrayOutputStream extends OutputStream {
+
+    /** the size of a segment beyond which segments stop doubling */
+    private static final int MAX_SEGMENT_SIZE = 1 << 20;
+
+    /**
+     * The maximum number of bytes passed to a single gathering write, other
+     * than a single segment.  Channels may copy heap buffers into temporary
+     * direct buffers, so this bounds the native memory used per write.
+     */
+    private static final int MAX_GATHER_SIZE = 4 << 20;
+
+    /**
+     * The maximum size of array to allocate, as in ByteArrayOutputStream.
+     */
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    /** the segments; only the first segmentCount are in use */
+    private byte[][] segments;
+
+    /** the number of segments in use */
+    private int segmentCount;
+
+    /** the last segment in use, which is written to */
+    private byte[] current;
+
+    /** the number of valid bytes in the current segment */
+    private int count;
+
+    /** the number of bytes in the segments before the current one */
+    private long priorSize;
+
+    /**
+     * Creates a new {@code SegmentedByteArrayOutputStream} whose first
+     * segment holds 256 bytes.
+     */
+    public SegmentedByteArrayOutputStream() {
+        this(256);
+    }
+
+    /**
+     * Creates a new {@code SegmentedByteArrayOutputStream} whose first
+     * segment has the specified size, in bytes.
+     *
+     * @param  size   the size of the first segment.
+     * @throws IllegalArgumentException if size is negative.
+     */
+    public SegmentedByteArrayOutputStream(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Negative initial size: "
+                                               + size);
+        }
+        current = new byte[size];
+        segments = new byte[8][];
+        segments[0] = current;
+        segmentCount = 1;
+    }
+
+    /**
+     * Adds a new segment, after the current one is full.
+     */
+    private void addSegment() {
+        int length = current.length;
+        int newLength = Math.max(16, Math.min(length << 1, MAX_SEGMENT_SIZE));
+        if (newLength < length) {
+            // keep an initial segment larger than the maximum size
+            newLength = length;
+        }
+        if (segmentCount == segments.length) {
+            segments = Arrays.copyOf(segments, segmentCount << 1);
+        }
+        priorSize += count;
+        current = new byte[newLength];
+        segments[segmentCount++] = current;
+        count = 0;
+    }
+
+    /**
+     * Writes the specified byte to this stream.
+     *
+     * @param   b   the byte to be written.
+     */
+    public void write(int b) {
+        if (count == current.length) {
+            addSegment();
+        }
+        current[count++] = (byte) b;
+    }
+
+    /**
+     * Writes {@code len} bytes from the specified byte array
+     * starting at offset {@code off} to this stream.
+     *
+     * @param   b     the data.
+     * @param   off   the start offset in the data.
+     * @param   len   the number of bytes to write.
+     * @throws  NullPointerException if {@code b} is {@code null}.
+     * @throws  IndexOutOfBoundsException if {@code off} is negative,
+     * {@code len} is negative, or {@code len} is greater than
+     * {@code b.length - off}
+     */
+    public void write(byte[] b, int off, int len) {
+        Objects.checkFromIndexSize(off, len, b.length);
+        while (len > 0) {
+            if (count == current.length) {
+                addSegment();
+            }
+            int n = Math.min(len, current.length - count);
+            System.arraycopy(b, off, current, count, n);
+            count += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    /**
+     * Writes the complete contents of the specified byte array
+     * to this stream.
+     *
+     * @param   b     the data.
+     * @throws  NullPointerException if {@code b} is {@code null}.
+     */
+    public void writeBytes(byte[] b) {
+        write(b, 0, b.length);
+    }
+
+    /**
+     * Writes the complete contents of this stream to the specified output
+     * stream, one write per segment, without copying them.
+     *
+     * @param   out   the output stream to which to write the data.
+     * @throws  NullPointerException if {@code out} is {@code null}.
+     * @throws  IOException if an I/O error occurs.
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        for (int i = 0; i < segmentCount; i++) {
+            byte[] segment = segments[i];
+            out.write(segment, 0, (segment == current) ? count : segment.length);
+        }
+    }
+
+    /**
+     * Writes the complete contents of this stream to the specified channel,
+     * without first copying them into one array.  If the channel is a
+     * {@link GatheringByteChannel}, the segments are written with gathering
+     * writes of at most a few MiB each; otherwise they are written one at a
+     * time.  This method normally returns once all bytes are written; if a
+     * write to the channel writes no bytes, it returns the number of bytes
+     * written so far.
+     * <p>
+     * A channel in non-blocking mode is not supported, as a partial write
+     * could not be resumed.  To write to such a channel, write the buffers
+     * returned by {@link #toByteBuffers()} as the channel becomes ready.
+     *
+     * @param   ch    the channel to which to write the data.
+     * @return  the number of bytes written, which is the size of this stream
+     *          unless the channel stopped accepting bytes.
+     * @throws  NullPointerException if {@code ch} is {@code null}.
+     * @throws  IllegalBlockingModeException if {@code ch} is a
+     *          {@link SelectableChannel} in non-blocking mode.
+     * @throws  IOException if an I/O error occurs.
+     */
+    public long writeTo(WritableByteChannel ch) throws IOException {
+        Objects.requireNonNull(ch);
+        if (ch instanceof SelectableChannel) {
+            SelectableChannel sc = (SelectableChannel) ch;
+            synchronized (sc.blockingLock()) {
+                if (!sc.isBlocking())
+                    throw new IllegalBlockingModeException();
+                return writeFully(ch);
+            }
+        } else {
+            return writeFully(ch);
+        }
+    }
+
+    /**
+     * Writes the contents of this stream to the given channel, stopping
+     * early if a write makes no progress.
+     */
+    private long writeFully(WritableByteChannel ch) throws IOException {
+        ByteBuffer[] bufs = toByteBuffers();
+        long total = 0;
+        if (ch instanceof GatheringByteChannel) {
+            GatheringByteChannel gch = (GatheringByteChannel) ch;
+            int first = 0;
+            while (first < bufs.length) {
+                int end = first + 1;
+                long size = bufs[first].remaining();
+                while (end < bufs.length
+                       && size + bufs[end].remaining() <= MAX_GATHER_SIZE) {
+                    size += bufs[end++].remaining();
+                }
+                long n = gch.write(bufs, first, end - first);
+                if (n <= 0)
+                    break;
+                total += n;
+                while (first < bufs.length && !bufs[first].hasRemaining()) {
+                    first++;
+                }
+            }
+        } else {
+            for (ByteBuffer bb : bufs) {
+                while (bb.hasRemaining()) {
+                    int n = ch.write(bb);
+                    if (n <= 0)
+                        return total;
+                    total += n;
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Returns the contents of this stream as read-only buffers, one per
+     * non-empty segment, in order.  The buffers share the segments; their
+     * contents are only valid until this stream is {@linkplain #reset reset},
+     * and bytes written after this method returns are not visible through
+     * them.
+     *
+     * @return  the contents of this stream, as buffers.
+     */
+    public ByteBuffer[] toByteBuffers() {
+        ByteBuffer[] bufs = new ByteBuffer[segmentCount];
+        int n = 0;
+        for (int i = 0; i < segmentCount; i++) {
+            byte[] segment = segments[i];
+            int len = (segment == current) ? count : segment.length;
+            if (len > 0) {
+                bufs[n++] = ByteBuffer.wrap(segment, 0, len).asReadOnlyBuffer();
+            }
+        }
+        return (n == bufs.length) ? bufs : Arrays.copyOf(bufs, n);
+    }
+
+    /**
+     * Resets this stream to be empty, keeping only the first segment, which
+     * is reused.
+     */
+    public void reset() {
+        Arrays.fill(segments, 1, segmentCount, null);
+        segmentCount = 1;
+        current = segments[0];
+        count = 0;
+        priorSize = 0;
+    }
+
+    /**
+     * Creates a newly allocated byte array, into which the contents of this
+     * stream are copied.
+     *
+     * @return  the current contents of this stream, as a byte array.
+     * @throws  OutOfMemoryError if the size of this stream exceeds the
+     *          maximum size of an array.
+     */
+    public byte[] toByteArray() {
+        long size = size();
+        if (size > MAX_ARRAY_SIZE) {
+            throw new OutOfMemoryError("Required array size too large");
+        }
+        byte[] result = new byte[(int) size];
+        int pos = 0;
+        for (int i = 0; i < segmentCount; i++) {
+            byte[] segment = segments[i];
+            int len = (segment == current) ? count : segment.length;
+            System.arraycopy(segment, 0, result, pos, len);
+            pos += len;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the current size of this stream.
+     *
+     * @return  the number of bytes written to this stream.
+     */
+    public long size() {
+        return priorSize + count;
+    }
+
+    /**
+     * Converts the contents of this stream into a string by decoding the
+     * bytes using the specified {@link java.nio.charset.Charset charset}.
+     * Malformed-input and unmappable-character sequences are replaced with
+     * the charset's default replacement string.
+     *
+     * @param      charset  the {@linkplain java.nio.charset.Charset charset}
+     *             to be used to decode the {@code bytes}
+     * @return     String decoded from the contents of this stream.
+     */
+    public String toString(Charset charset) {
+        if (segmentCount == 1) {
+            return new String(current, 0, count, charset);
+        }
+        return new String(toByteArray(), charset);
+    }
+
+    /**
+     * Converts the contents of this stream into a string by decoding the
+     * bytes using the platform's default character set.
+     *
+     * @return String decoded from the contents of this stream.
+     */
+    @Override
+    public String toString() {
+        return toString(Charset.defaultCharset());
+    }
+
+    /**
+     * Closing a {@code SegmentedByteArrayOutputStream} has no effect.  The
+     * methods in this class can be called after the stream has been closed
+     * without generating an {@code IOException}.
+     */
+    @Override
+    public void close() {
+    }
+}
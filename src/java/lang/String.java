@@ -28,6 +28,9 @@ package java.lang;
 import java.io.ObjectStreamField;
 import java.io.UnsupportedEncodingException;
 import java.lang.annotation.Native;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -964,6 +967,121 @@ public final class String
         return StringCoding.encode(charset, coder(), value);
      }
 
+    /**
+     * Returns the number of bytes that {@link #getBytes(Charset)} would
+     * return for this {@code String} and the given charset.
+     *
+     * <p> For the UTF-8, ISO-8859-1 and US-ASCII charsets the length is
+     * computed without encoding the string.  For other charsets this method
+     * may be as expensive as {@code getBytes(charset)}.
+     *
+     * @param  charset
+     *         The {@linkplain Charset} to be used to encode
+     *         the {@code String}
+     *
+     * @return  The number of bytes of the encoded string
+     *
+     * @since  12
+     */
+    public int encodedLength(Charset charset) {
+        if (charset == null) throw new NullPointerException();
+        return StringCoding.encodedLength(charset, coder(), value);
+    }
+
+    /**
+     * Encodes this {@code String} into a sequence of bytes using the given
+     * {@linkplain Charset charset}, storing the result into the given byte
+     * array starting at the given offset.
+     *
+     * <p> The bytes stored are the same as those returned by
+     * {@link #getBytes(Charset)}; malformed-input and unmappable-character
+     * sequences are replaced with this charset's default replacement byte
+     * array.  For the UTF-8, ISO-8859-1 and US-ASCII charsets the bytes are
+     * encoded directly into {@code dst}, without allocating an intermediate
+     * array.
+     *
+     * @param  charset
+     *         The {@linkplain Charset} to be used to encode
+     *         the {@code String}
+     *
+     * @param  dst
+     *         The destination array
+     *
+     * @param  dstOffset
+     *         The offset in the destination array of the first byte
+     *
+     * @return  The number of bytes stored
+     *
+     * @throws  IndexOutOfBoundsException
+     *          If {@code dstOffset} is negative or greater than
+     *          {@code dst.length}, or if the encoded string does not fit
+     *          in {@code dst} from {@code dstOffset}, in which case
+     *          {@code dst} is not modified
+     *
+     * @since  12
+     */
+    public int getBytes(Charset charset, byte[] dst, int dstOffset) {
+        if (charset == null) throw new NullPointerException();
+        checkOffset(dstOffset, dst.length);
+        int n = StringCoding.encode(charset, coder(), value,
+                                    dst, dstOffset, dst.length - dstOffset);
+        if (n < 0) {
+            throw new IndexOutOfBoundsException("encoded length " +
+                encodedLength(charset) + " exceeds the " +
+                (dst.length - dstOffset) + " bytes available");
+        }
+        return n;
+    }
+
+    /**
+     * Encodes this {@code String} into a sequence of bytes using the given
+     * {@linkplain Charset charset}, storing the result into the given buffer
+     * at its current position.  The position of the buffer is then
+     * incremented by the number of bytes stored.
+     *
+     * <p> The bytes stored are the same as those returned by
+     * {@link #getBytes(Charset)}.  If the buffer is backed by an accessible
+     * array then the bytes are encoded directly into the array, as by
+     * {@link #getBytes(Charset, byte[], int)}.
+     *
+     * @param  charset
+     *         The {@linkplain Charset} to be used to encode
+     *         the {@code String}
+     *
+     * @param  dst
+     *         The destination buffer
+     *
+     * @return  The number of bytes stored
+     *
+     * @throws  BufferOverflowException
+     *          If the encoded string does not fit in the remaining bytes of
+     *          the buffer, in which case the buffer is not modified
+     *
+     * @throws  ReadOnlyBufferException
+     *          If the buffer is read-only
+     *
+     * @since  12
+     */
+    public int getBytes(Charset charset, ByteBuffer dst) {
+        if (charset == null) throw new NullPointerException();
+        if (dst.isReadOnly()) {
+            throw new ReadOnlyBufferException();
+        }
+        int pos = dst.position();
+        if (dst.hasArray()) {
+            int n = StringCoding.encode(charset, coder(), value, dst.array(),
+                                        dst.arrayOffset() + pos, dst.limit() - pos);
+            if (n < 0) {
+                throw new BufferOverflowException();
+            }
+            dst.position(pos + n);
+            return n;
+        }
+        byte[] ba = StringCoding.encode(charset, coder(), value);
+        dst.put(ba);
+        return ba.length;
+    }
+
     /**
      * Encodes this {@code String} into a sequence of bytes using the
      * platform's default charset, storing the result into a new byte array.
@@ -41,6 +41,7 @@ import java.nio.charset.UnmappableCharacterException;
 import java.nio.charset.UnsupportedCharsetException;
 import java.util.Arrays;
 import jdk.internal.HotSpotIntrinsicCandidate;
+import jdk.internal.util.ArraysSupport;
 import sun.nio.cs.HistoricallyNamedCharset;
 import sun.nio.cs.ArrayDecoder;
 import sun.nio.cs.ArrayEncoder;
@@ -483,6 +484,79 @@ class StringCoding {
         return safeTrim(ba, bb.position(), isTrusted);
     }
 
+    /*
+     * Returns the length of encode(cs, coder, val).  The length is counted
+     * without encoding for the charsets with fast paths above.
+     */
+    static int encodedLength(Charset cs, byte coder, byte[] val) {
+        if (cs == UTF_8) {
+            if (coder == LATIN1) {
+                // every non-ASCII Latin1 char takes two bytes
+                int n = val.length;
+                int sp = 0;
+                while (sp < val.length) {
+                    sp += ArraysSupport.countPositives(val, sp, val.length - sp);
+                    if (sp < val.length) {
+                        sp++;
+                        n++;
+                    }
+                }
+                return n;
+            }
+            return encodedLengthUTF8_UTF16(val);
+        }
+        if (cs == ISO_8859_1 || cs == US_ASCII) {
+            if (coder == LATIN1) {
+                return val.length;
+            }
+            // a surrogate pair is replaced by a single '?'
+            int sl = val.length >> 1;
+            int n = sl;
+            for (int sp = 0; sp < sl - 1; sp++) {
+                if (Character.isHighSurrogate(StringUTF16.getChar(val, sp)) &&
+                    Character.isLowSurrogate(StringUTF16.getChar(val, sp + 1))) {
+                    sp++;
+                    n--;
+                }
+            }
+            return n;
+        }
+        return encode(cs, coder, val).length;
+    }
+
+    /*
+     * Encodes into dst[dp, dp + room) what encode(cs, coder, val) returns,
+     * and returns the number of bytes written.  Returns -1, and leaves dst
+     * untouched, if they do not fit.
+     */
+    static int encode(Charset cs, byte coder, byte[] val,
+                      byte[] dst, int dp, int room) {
+        int len = val.length >> coder;
+        if (cs == UTF_8) {
+            long max = (coder == LATIN1) ? (long)len << 1 : (long)len * 3;
+            if (room < max && encodedLength(cs, coder, val) > room) {
+                return -1;
+            }
+            int end = (coder == LATIN1) ? encodeUTF8_Latin1(val, dst, dp)
+                                        : encodeUTF8_UTF16(val, true, dst, dp);
+            return end - dp;
+        }
+        if (cs == ISO_8859_1 || cs == US_ASCII) {
+            if (room < len && encodedLength(cs, coder, val) > room) {
+                return -1;
+            }
+            int end = (cs == ISO_8859_1) ? encode8859_1(coder, val, true, dst, dp)
+                                         : encodeASCII(coder, val, dst, dp);
+            return end - dp;
+        }
+        byte[] ba = encode(cs, coder, val);
+        if (ba.length > room) {
+            return -1;
+        }
+        System.arraycopy(ba, 0, dst, dp, ba.length);
+        return ba.length;
+    }
+
     static byte[] encode(byte coder, byte[] val) {
         Charset cs = Charset.defaultCharset();
         if (cs == UTF_8) {
@@ -534,20 +608,26 @@ class StringCoding {
     }
 
     private static byte[] encodeASCII(byte coder, byte[] val) {
+        byte[] dst = new byte[val.length >> coder];
+        int dp = encodeASCII(coder, val, dst, 0);
+        if (dp == dst.length) {
+            return dst;
+        }
+        return Arrays.copyOf(dst, dp);
+    }
+
+    private static int encodeASCII(byte coder, byte[] val, byte[] dst, int dp) {
         if (coder == LATIN1) {
-            byte[] dst = new byte[val.length];
             for (int i = 0; i < val.length; i++) {
                 if (val[i] < 0) {
-                    dst[i] = '?';
+                    dst[dp++] = '?';
                 } else {
-                    dst[i] = val[i];
+                    dst[dp++] = val[i];
                 }
             }
-            return dst;
+            return dp;
         }
         int len = val.length >> 1;
-        byte[] dst = new byte[len];
-        int dp = 0;
         for (int i = 0; i < len; i++) {
             char c = StringUTF16.getChar(val, i);
             if (c < 0x80) {
@@ -560,10 +640,7 @@ class StringCoding {
             }
             dst[dp++] = '?';
         }
-        if (len == dp) {
-            return dst;
-        }
-        return Arrays.copyOf(dst, dp);
+        return dp;
     }
 
     ////////////////////////// latin1/8859_1 ///////////////////////////
@@ -598,9 +675,21 @@ class StringCoding {
         if (coder == LATIN1) {
             return Arrays.copyOf(val, val.length);
         }
+        byte[] dst = new byte[val.length >> 1];
+        int dp = encode8859_1(coder, val, doReplace, dst, 0);
+        if (dp == dst.length) {
+            return dst;
+        }
+        return Arrays.copyOf(dst, dp);
+    }
+
+    private static int encode8859_1(byte coder, byte[] val, boolean doReplace,
+                                    byte[] dst, int dp) {
+        if (coder == LATIN1) {
+            System.arraycopy(val, 0, dst, dp, val.length);
+            return dp + val.length;
+        }
         int len = val.length >> 1;
-        byte[] dst = new byte[len];
-        int dp = 0;
         int sp = 0;
         int sl = len;
         while (sp < sl) {
@@ -620,10 +709,7 @@ class StringCoding {
                 len = sl - sp;
             }
         }
-        if (dp == dst.length) {
-            return dst;
-        }
-        return Arrays.copyOf(dst, dp);
+        return dp;
     }
 
     //////////////////////////////// utf8 ////////////////////////////////////
@@ -723,8 +809,11 @@ class StringCoding {
             while (sp < sl) {
                 int b1 = src[sp];
                 if (b1 >= 0) {
-                    dst[dp++] = (byte)b1;
-                    sp++;
+                    // copy the whole ASCII run
+                    int n = ArraysSupport.countPositives(src, sp, sl - sp);
+                    System.arraycopy(src, sp, dst, dp, n);
+                    sp += n;
+                    dp += n;
                     continue;
                 }
                 if ((b1 == (byte)0xc2 || b1 == (byte)0xc3) &&
@@ -759,7 +848,11 @@ class StringCoding {
         while (sp < sl) {
             int b1 = src[sp++];
             if (b1 >= 0) {
-                putChar(dst, dp++, (char) b1);
+                // copy the whole ASCII run
+                int n = ArraysSupport.countPositives(src, sp - 1, sl - sp + 1);
+                StringLatin1.inflate(src, sp - 1, dst, dp, n);
+                sp += n - 1;
+                dp += n;
             } else if ((b1 >> 5) == -2 && (b1 & 0x1e) != 0) {
                 if (sp < sl) {
                     int b2 = src[sp++];
@@ -887,27 +980,67 @@ class StringCoding {
         if (!hasNegatives(val, 0, val.length))
             return Arrays.copyOf(val, val.length);
 
-        int dp = 0;
         byte[] dst = new byte[val.length << 1];
-        for (int sp = 0; sp < val.length; sp++) {
-            byte c = val[sp];
-            if (c < 0) {
+        int dp = encodeUTF8_Latin1(val, dst, 0);
+        if (dp == dst.length)
+            return dst;
+        return Arrays.copyOf(dst, dp);
+    }
+
+    private static int encodeUTF8_Latin1(byte[] val, byte[] dst, int dp) {
+        int sp = 0;
+        while (sp < val.length) {
+            // copy the whole ASCII run
+            int n = ArraysSupport.countPositives(val, sp, val.length - sp);
+            System.arraycopy(val, sp, dst, dp, n);
+            sp += n;
+            dp += n;
+            if (sp < val.length) {
+                byte c = val[sp++];
                 dst[dp++] = (byte)(0xc0 | ((c & 0xff) >> 6));
                 dst[dp++] = (byte)(0x80 | (c & 0x3f));
-            } else {
-                dst[dp++] = c;
             }
         }
-        if (dp == dst.length)
+        return dp;
+    }
+
+    private static byte[] encodeUTF8_UTF16(byte[] val, boolean doReplace) {
+        byte[] dst = new byte[(val.length >> 1) * 3];
+        int dp = encodeUTF8_UTF16(val, doReplace, dst, 0);
+        if (dp == dst.length) {
             return dst;
+        }
         return Arrays.copyOf(dst, dp);
     }
 
-    private static byte[] encodeUTF8_UTF16(byte[] val, boolean doReplace) {
-        int dp = 0;
+    private static int encodedLengthUTF8_UTF16(byte[] val) {
+        int sl = val.length >> 1;
+        int n = 0;
+        for (int sp = 0; sp < sl; ) {
+            char c = StringUTF16.getChar(val, sp++);
+            if (c < 0x80) {
+                n++;
+            } else if (c < 0x800) {
+                n += 2;
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && sp < sl &&
+                    Character.isLowSurrogate(StringUTF16.getChar(val, sp))) {
+                    sp++;
+                    n += 4;
+                } else {
+                    n++;    // replaced by '?'
+                }
+            } else {
+                n += 3;
+            }
+        }
+        return n;
+    }
+
+    private static int encodeUTF8_UTF16(byte[] val, boolean doReplace,
+                                        byte[] dst, int dp) {
         int sp = 0;
         int sl = val.length >> 1;
-        byte[] dst = new byte[sl * 3];
         char c;
         while (sp < sl && (c = StringUTF16.getChar(val, sp)) < '\u0080') {
             // ascii fast loop;
@@ -948,10 +1081,7 @@ class StringCoding {
                 dst[dp++] = (byte)(0x80 | (c & 0x3f));
             }
         }
-        if (dp == dst.length) {
-            return dst;
-        }
-        return Arrays.copyOf(dst, dp);
+        return dp;
     }
 
     ////////////////////// for j.u.z.ZipCoder //////////////////////////
@@ -1126,4 +1256,57 @@ class StringCoding {
         }
         return safeTrim(ba, bb.position(), isTrusted);
     }
+
+    ////////////////////// for s.n.c.StreamDecoder/StreamEncoder //////////////////////
+
+    /*
+     * Copies the leading run of ASCII bytes of sa[sp, sp + len) into da,
+     * inflated to chars, and returns its length.
+     */
+    static int decodeASCII(byte[] sa, int sp, char[] da, int dp, int len) {
+        if (!hasNegatives(sa, sp, len)) {
+            StringLatin1.inflate(sa, sp, da, dp, len);
+            return len;
+        }
+        int n = ArraysSupport.countPositives(sa, sp, len);
+        StringLatin1.inflate(sa, sp, da, dp, n);
+        return n;
+    }
+
+    /*
+     * Copies the leading run of ASCII chars of sa[sp, sp + len) into da,
+     * compressed to bytes, and returns its length.
+     */
+    static int encodeASCII(char[] sa, int sp, byte[] da, int dp, int len) {
+        if (StringUTF16.compress(sa, sp, da, dp, len) == len &&
+            !hasNegatives(da, dp, len)) {
+            return len;
+        }
+        int i = 0;
+        for (; i < len; i++) {
+            char c = sa[sp + i];
+            if (c >= '\u0080')
+                break;
+            da[dp + i] = (byte)c;
+        }
+        return i;
+    }
+
+    /*
+     * Copies the leading run of Latin-1 chars of sa[sp, sp + len) into da,
+     * compressed to bytes, and returns its length.
+     */
+    static int encodeLatin1(char[] sa, int sp, byte[] da, int dp, int len) {
+        if (StringUTF16.compress(sa, sp, da, dp, len) == len) {
+            return len;
+        }
+        int i = 0;
+        for (; i < len; i++) {
+            char c = sa[sp + i];
+            if (c > '\u00FF')
+                break;
+            da[dp + i] = (byte)c;
+        }
+        return i;
+    }
 }
@@ -1934,6 +1934,10 @@ public final class System {
      */
     private static void initPhase1() {
 
+        // register shared secrets - do this first, since the stream encoders
+        // and charset coders created below rely on JavaLangAccess
+        setJavaLangAccess();
+
         // VM might invoke JNU_NewStringPlatform() to set those encoding
         // sensitive properties (user.home, user.name, boot.class.path, etc.)
         // during "props" initialization, in which it may need access, via
@@ -1986,9 +1990,6 @@ public final class System {
         Thread current = Thread.currentThread();
         current.getThreadGroup().add(current);
 
-        // register shared secrets
-        setJavaLangAccess();
-
         // Subsystems that are invoked during initialization can invoke
         // VM.isBooted() in order to avoid doing things that should
         // wait until the VM is fully initialized. The initialization level
@@ -2205,6 +2206,22 @@ public final class System {
                 return StringCoding.getBytesUTF8NoRepl(s);
             }
 
+            public int decodeASCII(byte[] src, int srcOff, char[] dst, int dstOff, int len) {
+                return StringCoding.decodeASCII(src, srcOff, dst, dstOff, len);
+            }
+
+            public void inflateBytesToChars(byte[] src, int srcOff, char[] dst, int dstOff, int len) {
+                StringLatin1.inflate(src, srcOff, dst, dstOff, len);
+            }
+
+            public int encodeASCII(char[] src, int srcOff, byte[] dst, int dstOff, int len) {
+                return StringCoding.encodeASCII(src, srcOff, dst, dstOff, len);
+            }
+
+            public int encodeLatin1(char[] src, int srcOff, byte[] dst, int dstOff, int len) {
+                return StringCoding.encodeLatin1(src, srcOff, dst, dstOff, len);
+            }
+
         });
     }
 }
@@ -106,7 +106,7 @@ class Bits {                            // package-private
     // These methods should be called whenever direct memory is allocated or
     // freed.  They allow the user to control the amount of direct memory
     // which a process may access.  All sizes are specified in bytes.
-    static void reserveMemory(long size, int cap) {
+    static void reserveMemory(long size, long cap) {
 
         if (!MEMORY_LIMIT_SET && VM.initLevel() >= 1) {
             MAX_MEMORY = VM.maxDirectMemory();
@@ -182,7 +182,7 @@ class Bits {                            // package-private
         }
     }
 
-    private static boolean tryReserveMemory(long size, int cap) {
+    private static boolean tryReserveMemory(long size, long cap) {
 
         // -XX:MaxDirectMemorySize limits the total capacity rather than the
         // actual memory usage, which will differ when buffers are page
@@ -200,7 +200,7 @@ class Bits {                            // package-private
     }
 
 
-    static void unreserveMemory(long size, int cap) {
+    static void unreserveMemory(long size, long cap) {
         long cnt = COUNT.decrementAndGet();
         long reservedMem = RESERVED_MEMORY.addAndGet(-size);
         long totalCap = TOTAL_CAPACITY.addAndGet(-cap);
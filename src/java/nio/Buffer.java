@@ -212,6 +212,11 @@ public abstract class Buffer {
     // NOTE: hoisted here for speed in JNI GetDirectBufferAddress
     long address;
 
+    // The arena that releases the memory of this buffer when closed, or null.
+    // Only set for direct buffers allocated or mapped by a BufferArena, and
+    // for views of those buffers
+    BufferArena arena;
+
     // Creates a new buffer with the given mark, position, limit, and capacity,
     // after checking invariants.
     //
@@ -727,9 +732,23 @@ public abstract class Buffer {
                     return new DirectByteBuffer(addr, cap, ob);
                 }
                 @Override
+                public MappedSegment newMappedSegment(long addr, long size,
+                                                      boolean readOnly,
+                                                      Runnable unmapper) {
+                    return new MappedSegment(addr, size, readOnly, unmapper);
+                }
+                @Override
                 public void truncate(Buffer buf) {
                     buf.truncate();
                 }
+                @Override
+                public void reserveMemory(long size, long cap) {
+                    Bits.reserveMemory(size, cap);
+                }
+                @Override
+                public void unreserveMemory(long size, long cap) {
+                    Bits.unreserveMemory(size, cap);
+                }
             });
     }
 
@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.nio;
+
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Objects;
+
+import jdk.internal.ref.Cleaner;
+import sun.nio.ch.DirectBuffer;
+
+
+/**
+ * A scope for direct and mapped byte buffers whose memory is released
+ * deterministically when the arena is closed, rather than when the buffers
+ * become unreachable and their cleaners are run after garbage collection.
+ *
+ * <p> Buffers are allocated with {@link #allocateDirect allocateDirect} or
+ * mapped with {@link #map map}.  Closing the arena invalidates every buffer
+ * it allocated or mapped, together with every view of those buffers created
+ * by {@link ByteBuffer#slice slice}, {@link ByteBuffer#duplicate duplicate},
+ * {@link ByteBuffer#asReadOnlyBuffer asReadOnlyBuffer} or the
+ * {@code as}<i>X</i>{@code Buffer} methods, and then frees the memory of the
+ * direct buffers and unmaps the mapped buffers.  The native memory then
+ * counts against the maximum direct memory size only until the arena is
+ * closed, so that off-heap memory can be recycled without depending on the
+ * garbage collector.
+ *
+ * <p> An invalidated buffer has a capacity, limit and position of zero.  Any
+ * subsequent attempt to read or write its content fails with the exception
+ * thrown for an access beyond the limit of a buffer, such as {@link
+ * BufferUnderflowException}, {@link BufferOverflowException} or {@link
+ * IndexOutOfBoundsException}, rather than accessing released memory.  An
+ * arena does not synchronize with concurrent accesses to its buffers: the
+ * arena must not be closed while another thread may be accessing one of
+ * its buffers, as that access may then proceed on released memory.
+ *
+ * <p> An arena is thread-safe: buffers may be allocated, mapped and viewed
+ * by multiple threads, subject to the above restriction on closing.
+ *
+ * <pre>{@code
+ *     try (BufferArena arena = BufferArena.open()) {
+ *         ByteBuffer bb = arena.allocateDirect(1 << 20);
+ *         ...
+ *     } // memory of bb released here
+ * }</pre>
+ *
+ * @since 12
+ */
+
+public final class BufferArena implements AutoCloseable {
+
+    // Buffers whose memory is released by this arena
+    private final ArrayList<ByteBuffer> buffers = new ArrayList<>();
+
+    // Views of those buffers, invalidated on close but otherwise left to the
+    // garbage collector; cleared references are pruned as views are added
+    private final ArrayList<WeakReference<Buffer>> views = new ArrayList<>();
+    private int pruneThreshold = 16;
+
+    private boolean closed;
+
+    private BufferArena() { }
+
+    /**
+     * Opens a new arena.
+     *
+     * @return  A new, open arena
+     */
+    public static BufferArena open() {
+        return new BufferArena();
+    }
+
+    /**
+     * Allocates a new direct byte buffer whose memory is released when this
+     * arena is closed.  The buffer is otherwise as if allocated by {@link
+     * ByteBuffer#allocateDirect ByteBuffer.allocateDirect}.
+     *
+     * @param  capacity
+     *         The new buffer's capacity, in bytes
+     *
+     * @return  The new byte buffer
+     *
+     * @throws  IllegalArgumentException
+     *          If the {@code capacity} is a negative integer
+     *
+     * @throws  IllegalStateException
+     *          If this arena is closed
+     */
+    public ByteBuffer allocateDirect(int capacity) {
+        ensureOpen();
+        return add(new DirectByteBuffer(capacity));
+    }
+
+    /**
+     * Maps a region of a file into memory, as if by {@link FileChannel#map
+     * FileChannel.map}, such that the mapping is unmapped when this arena is
+     * closed.
+     *
+     * @param  channel
+     *         The file channel
+     *
+     * @param  mode
+     *         One of the constants {@link FileChannel.MapMode#READ_ONLY
+     *         READ_ONLY}, {@link FileChannel.MapMode#READ_WRITE READ_WRITE}, or
+     *         {@link FileChannel.MapMode#PRIVATE PRIVATE}
+     *
+     * @param  position
+     *         The position within the file at which the mapped region
+     *         is to start; must be non-negative
+     *
+     * @param  size
+     *         The size of the region to be mapped; must be non-negative and
+     *         no greater than {@link java.lang.Integer#MAX_VALUE}
+     *
+     * @return  The mapped byte buffer
+     *
+     * @throws  IOException
+     *          If {@code FileChannel.map} throws an I/O exception
+     *
+     * @throws  IllegalStateException
+     *          If this arena is closed
+     *
+     * @see FileChannel#map
+     */
+    public MappedByteBuffer map(FileChannel channel, FileChannel.MapMode mode,
+                                long position, long size)
+        throws IOException
+    {
+        Objects.requireNonNull(channel);
+        ensureOpen();
+        return add(channel.map(mode, position, size));
+    }
+
+    /**
+     * Tells whether or not this arena is open.
+     *
+     * @return  {@code true} if, and only if, this arena has not been closed
+     */
+    public synchronized boolean isOpen() {
+        return !closed;
+    }
+
+    /**
+     * Closes this arena, invalidating all of its buffers and their views and
+     * releasing their memory.  If this arena is already closed then invoking
+     * this method has no effect.
+     */
+    @Override
+    public void close() {
+        ArrayList<Buffer> invalid = new ArrayList<>();
+        synchronized (this) {
+            if (closed)
+                return;
+            closed = true;
+            for (WeakReference<Buffer> ref : views) {
+                Buffer b = ref.get();
+                if (b != null)
+                    invalid.add(b);
+            }
+            invalid.addAll(buffers);
+            views.clear();
+        }
+        for (Buffer b : invalid)
+            b.truncate();
+        for (ByteBuffer bb : buffers) {
+            Cleaner cleaner = ((DirectBuffer)bb).cleaner();
+            if (cleaner != null)
+                cleaner.clean();
+        }
+        buffers.clear();
+    }
+
+    private synchronized void ensureOpen() {
+        if (closed)
+            throw new IllegalStateException("Arena is closed");
+    }
+
+    // Registers a buffer whose memory is released by this arena, releasing
+    // it at once if the arena was closed concurrently
+    //
+    private <B extends ByteBuffer> B add(B bb) {
+        synchronized (this) {
+            if (!closed) {
+                bb.arena = this;
+                buffers.add(bb);
+                return bb;
+            }
+        }
+        bb.truncate();
+        Cleaner cleaner = ((DirectBuffer)bb).cleaner();
+        if (cleaner != null)
+            cleaner.clean();
+        throw new IllegalStateException("Arena is closed");
+    }
+
+    private void addView(Buffer view) {
+        synchronized (this) {
+            if (!closed) {
+                if (views.size() >= pruneThreshold) {
+                    views.removeIf(ref -> ref.get() == null);
+                    pruneThreshold = Math.max(16, views.size() << 1);
+                }
+                view.arena = this;
+                views.add(new WeakReference<>(view));
+                return;
+            }
+        }
+        view.truncate();
+    }
+
+    // Invoked by the constructors of views of direct buffers, so that views
+    // of buffers of an arena are invalidated with them
+    //
+    static void inherit(DirectBuffer parent, Buffer view) {
+        BufferArena a = ((Buffer)parent).arena;
+        if (a != null)
+            a.addView(view);
+    }
+}
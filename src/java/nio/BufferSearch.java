@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package java.nio;
+
+import java.lang.ref.Reference;
+
+import jdk.internal.misc.Unsafe;
+import jdk.internal.util.ArraysSupport;
+
+/**
+ * Search methods for buffers.
+ *
+ * <p> Buffers that cover a memory region are scanned a word at a time: each
+ * eight byte word is XORed with the key replicated into every lane, and the
+ * lowest lane that became zero is located with the usual
+ * {@code (x - 0x01..01) & ~x & 0x80..80} test.  A borrow can only propagate
+ * upwards from a lane that really is zero, so the lowest flagged lane is
+ * always the first match.  Words are always read in little-endian order so
+ * that the lowest lane is the first element in memory.
+ */
+final class BufferSearch {
+
+    private static final Unsafe UNSAFE = Unsafe.getUnsafe();
+
+    private static final long BYTE_ONES  = 0x0101010101010101L;
+    private static final long BYTE_HIGHS = 0x8080808080808080L;
+    private static final long CHAR_ONES  = 0x0001000100010001L;
+    private static final long CHAR_HIGHS = 0x8000800080008000L;
+
+    private BufferSearch() { }
+
+    /**
+     * Returns the index, relative to {@code off}, of the first occurrence of
+     * {@code b} in the {@code length} bytes of {@code a} starting at
+     * {@code off}, or -1 if there is none.
+     */
+    static int indexOf(ByteBuffer a, int off, int length, byte b) {
+        Object base = a.base();
+        long address = a.address + off;
+        int i = 0;
+        try {
+            if (length > 7) {
+                long key = (b & 0xffL) * BYTE_ONES;
+                for (; i <= length - 8; i += 8) {
+                    long x = UNSAFE.getLongUnaligned(base, address + i, false) ^ key;
+                    long t = (x - BYTE_ONES) & ~x & BYTE_HIGHS;
+                    if (t != 0)
+                        return i + (Long.numberOfTrailingZeros(t) >>> 3);
+                }
+            }
+            for (; i < length; i++) {
+                if (UNSAFE.getByte(base, address + i) == b)
+                    return i;
+            }
+            return -1;
+        } finally {
+            Reference.reachabilityFence(a);
+        }
+    }
+
+    /**
+     * Returns the index, relative to {@code off}, of the first occurrence of
+     * the bytes {@code pattern[pOff, pOff + pLength)} in the {@code length}
+     * bytes of {@code a} starting at {@code off}, or -1 if there is none.
+     */
+    static int indexOf(ByteBuffer a, int off, int length,
+                       byte[] pattern, int pOff, int pLength) {
+        if (pLength == 0)
+            return 0;
+        int last = length - pLength;
+        byte first = pattern[pOff];
+        int i = 0;
+        while (i <= last) {
+            int j = indexOf(a, off + i, last - i + 1, first);
+            if (j < 0)
+                return -1;
+            i += j;
+            if (matches(a, off + i + 1, pattern, pOff + 1, pLength - 1))
+                return i;
+            i++;
+        }
+        return -1;
+    }
+
+    private static boolean matches(ByteBuffer a, int off,
+                                   byte[] pattern, int pOff, int length) {
+        int i = 0;
+        if (length > 7) {
+            try {
+                i = ArraysSupport.vectorizedMismatch(
+                        a.base(), a.address + off,
+                        pattern, Unsafe.ARRAY_BYTE_BASE_OFFSET + pOff,
+                        length,
+                        ArraysSupport.LOG2_ARRAY_BYTE_INDEX_SCALE);
+            } finally {
+                Reference.reachabilityFence(a);
+            }
+            if (i >= 0)
+                return false;
+            i = length - ~i;
+        }
+        for (; i < length; i++) {
+            if (a.get(off + i) != pattern[pOff + i])
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the index, relative to {@code off}, of the first occurrence of
+     * {@code c} in the {@code length} chars of {@code a} starting at
+     * {@code off}, or -1 if there is none.
+     */
+    static int indexOf(CharBuffer a, int off, int length, char c) {
+        int i = 0;
+        // Only buffers that cover a memory region can be scanned a word at
+        // a time; the slow path is taken for a StringCharBuffer
+        ByteOrder order = a.charRegionOrder();
+        if (length > 3 && order != null) {
+            Object base = a.base();
+            long address = a.address + ((long)off << ArraysSupport.LOG2_ARRAY_CHAR_INDEX_SCALE);
+            // Words are read little-endian, so the lanes of a big-endian
+            // region hold byte-swapped chars
+            char k = (order == ByteOrder.BIG_ENDIAN) ? Character.reverseBytes(c) : c;
+            long key = k * CHAR_ONES;
+            try {
+                for (; i <= length - 4; i += 4) {
+                    long x = UNSAFE.getLongUnaligned(base, address + ((long)i << 1), false) ^ key;
+                    long t = (x - CHAR_ONES) & ~x & CHAR_HIGHS;
+                    if (t != 0)
+                        return i + (Long.numberOfTrailingZeros(t) >>> 4);
+                }
+            } finally {
+                Reference.reachabilityFence(a);
+            }
+        }
+        for (; i < length; i++) {
+            if (a.get(off + i) == c)
+                return i;
+        }
+        return -1;
+    }
+}
@@ -36,7 +36,7 @@ import java.lang.ref.Reference;
 
 
 
-
+import jdk.internal.misc.Unsafe;
 import jdk.internal.util.ArraysSupport;
 
 /**
@@ -771,6 +771,98 @@ public abstract class ByteBuffer
         return get(dst, 0, dst.length);
     }
 
+    /**
+     * Absolute bulk <i>get</i> method.
+     *
+     * <p> This method transfers {@code length} bytes from this
+     * buffer into the given array, starting at the given index in this
+     * buffer and at the given offset in the array.  The position of this
+     * buffer is unchanged.
+     *
+     * <p> An invocation of this method of the form
+     * <code>src.get(index,&nbsp;dst,&nbsp;offset,&nbsp;length)</code>
+     * has exactly the same effect as the following loop except that it first
+     * checks the consistency of the supplied parameters and it is potentially
+     * much more efficient:
+     *
+     * <pre>{@code
+     *     for (int i = offset, j = index; i < offset + length; i++, j++)
+     *         dst[i] = src.get(j);
+     * }</pre>
+     *
+     * @param  index
+     *         The index in this buffer from which the first byte will be
+     *         read; must be non-negative and less than {@code limit()}
+     *
+     * @param  dst
+     *         The destination array
+     *
+     * @param  offset
+     *         The offset within the array of the first byte to be
+     *         written; must be non-negative and less than
+     *         {@code dst.length}
+     *
+     * @param  length
+     *         The number of bytes to be written to the given array;
+     *         must be non-negative and no larger than the smaller of
+     *         {@code limit() - index} and {@code dst.length - offset}
+     *
+     * @return  This buffer
+     *
+     * @throws  IndexOutOfBoundsException
+     *          If the preconditions on the {@code index}, {@code offset}, and
+     *          {@code length} parameters do not hold
+     *
+     * @since 12
+     */
+    public ByteBuffer get(int index, byte[] dst, int offset, int length) {
+        checkBounds(index, length, limit());
+        checkBounds(offset, length, dst.length);
+        if (hb != null) {
+            System.arraycopy(hb, this.offset + index, dst, offset, length);
+        } else {
+            try {
+                UNSAFE.copyMemory(null, address + index,
+                                  dst, Unsafe.ARRAY_BYTE_BASE_OFFSET + offset,
+                                  length);
+            } finally {
+                Reference.reachabilityFence(this);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Absolute bulk <i>get</i> method.
+     *
+     * <p> This method transfers bytes from this buffer into the given
+     * destination array.  The position of this buffer is unchanged.  An
+     * invocation of this method of the form
+     * <code>src.get(index,&nbsp;dst)</code> behaves in exactly the same
+     * way as the invocation:
+     *
+     * <pre>
+     *     src.get(index, dst, 0, dst.length) </pre>
+     *
+     * @param  index
+     *         The index in this buffer from which the first byte will be
+     *         read; must be non-negative and less than {@code limit()}
+     *
+     * @param  dst
+     *         The destination array
+     *
+     * @return  This buffer
+     *
+     * @throws  IndexOutOfBoundsException
+     *          If {@code index} is negative, not smaller than {@code limit()},
+     *          or {@code limit() - index < dst.length}
+     *
+     * @since 12
+     */
+    public ByteBuffer get(int index, byte[] dst) {
+        return get(index, dst, 0, dst.length);
+    }
+
 
     // -- Bulk put operations --
 
@@ -978,6 +1070,103 @@ public abstract class ByteBuffer
         return put(src, 0, src.length);
     }
 
+    /**
+     * Absolute bulk <i>put</i> method&nbsp;&nbsp;<i>(optional operation)</i>.
+     *
+     * <p> This method transfers {@code length} bytes from the given
+     * array, starting at the given offset in the array and at the given index
+     * in this buffer.  The position of this buffer is unchanged.
+     *
+     * <p> An invocation of this method of the form
+     * <code>dst.put(index,&nbsp;src,&nbsp;offset,&nbsp;length)</code>
+     * has exactly the same effect as the following loop except that it first
+     * checks the consistency of the supplied parameters and it is potentially
+     * much more efficient:
+     *
+     * <pre>{@code
+     *     for (int i = offset, j = index; i < offset + length; i++, j++)
+     *         dst.put(j, src[i]);
+     * }</pre>
+     *
+     * @param  index
+     *         The index in this buffer at which the first byte will be
+     *         written; must be non-negative and less than {@code limit()}
+     *
+     * @param  src
+     *         The array from which bytes are to be read
+     *
+     * @param  offset
+     *         The offset within the array of the first byte to be read;
+     *         must be non-negative and less than {@code src.length}
+     *
+     * @param  length
+     *         The number of bytes to be read from the given array;
+     *         must be non-negative and no larger than the smaller of
+     *         {@code limit() - index} and {@code src.length - offset}
+     *
+     * @return  This buffer
+     *
+     * @throws  IndexOutOfBoundsException
+     *          If the preconditions on the {@code index}, {@code offset}, and
+     *          {@code length} parameters do not hold
+     *
+     * @throws  ReadOnlyBufferException
+     *          If this buffer is read-only
+     *
+     * @since 12
+     */
+    public ByteBuffer put(int index, byte[] src, int offset, int length) {
+        if (isReadOnly())
+            throw new ReadOnlyBufferException();
+        checkBounds(index, length, limit());
+        checkBounds(offset, length, src.length);
+        if (hb != null) {
+            System.arraycopy(src, offset, hb, this.offset + index, length);
+        } else {
+            try {
+                UNSAFE.copyMemory(src, Unsafe.ARRAY_BYTE_BASE_OFFSET + offset,
+                                  null, address + index,
+                                  length);
+            } finally {
+                Reference.reachabilityFence(this);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Absolute bulk <i>put</i> method&nbsp;&nbsp;<i>(optional operation)</i>.
+     *
+     * <p> This method copies bytes into this buffer from the given source
+     * array.  The position of this buffer is unchanged.  An invocation of this
+     * method of the form <code>dst.put(index,&nbsp;src)</code>
+     * behaves in exactly the same way as the invocation:
+     *
+     * <pre>
+     *     dst.put(index, src, 0, src.length); </pre>
+     *
+     * @param  index
+     *         The index in this buffer at which the first byte will be
+     *         written; must be non-negative and less than {@code limit()}
+     *
+     * @param  src
+     *         The array from which bytes are to be read
+     *
+     * @return  This buffer
+     *
+     * @throws  IndexOutOfBoundsException
+     *          If {@code index} is negative, not smaller than {@code limit()},
+     *          or {@code limit() - index < src.length}
+     *
+     * @throws  ReadOnlyBufferException
+     *          If this buffer is read-only
+     *
+     * @since 12
+     */
+    public ByteBuffer put(int index, byte[] src) {
+        return put(index, src, 0, src.length);
+    }
+
 
 
 
@@ -1488,6 +1677,59 @@ public abstract class ByteBuffer
         return (r == -1 && thisRem != thatRem) ? length : r;
     }
 
+    /**
+     * Finds and returns the relative index of the first occurrence of the
+     * given byte in this buffer.  The index is relative to the
+     * {@link #position() position} of this buffer and, if the byte is found,
+     * will be in the range of 0 (inclusive) up to the number of
+     * {@link #remaining() remaining} bytes (exclusive).  The position of this
+     * buffer is unchanged.
+     *
+     * <p> The remaining bytes are examined several at a time, which is
+     * typically much faster than a loop over {@link #get(int)}.
+     *
+     * @param  b
+     *         The byte to search for
+     *
+     * @return  The relative index of the first occurrence of the byte in the
+     *          remaining bytes of this buffer, otherwise -1 if it does not
+     *          occur.
+     *
+     * @since 12
+     */
+    public int indexOf(byte b) {
+        int pos = position();
+        int rem = limit() - pos;
+        if (rem <= 0)
+            return -1;
+        return BufferSearch.indexOf(this, pos, rem, b);
+    }
+
+    /**
+     * Finds and returns the relative index of the first occurrence of the
+     * given sequence of bytes in this buffer.  The index is relative to the
+     * {@link #position() position} of this buffer and, if the sequence is
+     * found, is the index of its first byte.  The position of this buffer is
+     * unchanged.  An empty sequence is found at index 0.
+     *
+     * @param  pattern
+     *         The sequence of bytes to search for
+     *
+     * @return  The relative index of the first occurrence of the sequence in
+     *          the remaining bytes of this buffer, otherwise -1 if it does not
+     *          occur.
+     *
+     * @since 12
+     */
+    public int indexOf(byte[] pattern) {
+        int pos = position();
+        int rem = limit() - pos;
+        if (pattern.length > rem)
+            return -1;
+        return BufferSearch.indexOf(this, pos, rem,
+                                    pattern, 0, pattern.length);
+    }
+
     // -- Other char stuff --
 
 
@@ -36,7 +36,7 @@ import java.util.Spliterator;
 import java.util.stream.StreamSupport;
 import java.util.stream.IntStream;
 
-
+import jdk.internal.misc.Unsafe;
 import jdk.internal.util.ArraysSupport;
 
 /**
@@ -771,6 +771,101 @@ public abstract class CharBuffer
         return get(dst, 0, dst.length);
     }
 
+    /**
+     * Absolute bulk <i>get</i> method.
+     *
+     * <p> This method transfers {@code length} chars from this
+     * buffer into the given array, starting at the given index in this
+     * buffer and at the given offset in the array.  The position of this
+     * buffer is unchanged.
+     *
+     * <p> An invocation of this method of the form
+     * <code>src.get(index,&nbsp;dst,&nbsp;offset,&nbsp;length)</code>
+     * has exactly the same effect as the following loop except that it first
+     * checks the consistency of the supplied parameters and it is potentially
+     * much more efficient:
+     *
+     * <pre>{@code
+     *     for (int i = offset, j = index; i < offset + length; i++, j++)
+     *         dst[i] = src.get(j);
+     * }</pre>
+     *
+     * @param  index
+     *         The index in this buffer from which the first char will be
+     *         read; must be non-negative and less than {@code limit()}
+     *
+     * @param  dst
+     *         The destination array
+     *
+     * @param  offset
+     *         The offset within the array of the first char to be
+     *         written; must be non-negative and less than
+     *         {@code dst.length}
+     *
+     * @param  length
+     *         The number of chars to be written to the given array;
+     *         must be non-negative and no larger than the smaller of
+     *         {@code limit() - index} and {@code dst.length - offset}
+     *
+     * @return  This buffer
+     *
+     * @throws  IndexOutOfBoundsException
+     *          If the preconditions on the {@code index}, {@code offset}, and
+     *          {@code length} parameters do not hold
+     *
+     * @since 12
+     */
+    public CharBuffer get(int index, char[] dst, int offset, int length) {
+        checkBounds(index, length, limit());
+        checkBounds(offset, length, dst.length);
+        if (hb != null) {
+            System.arraycopy(hb, this.offset + index, dst, offset, length);
+        } else if (charRegionOrder() == ByteOrder.nativeOrder()) {
+            try {
+                UNSAFE.copyMemory(base(), address + ((long)index << 1),
+                                  dst, Unsafe.ARRAY_CHAR_BASE_OFFSET + ((long)offset << 1),
+                                  (long)length << 1);
+            } finally {
+                Reference.reachabilityFence(this);
+            }
+        } else {
+            for (int i = offset, j = index; i < offset + length; i++, j++)
+                dst[i] = get(j);
+        }
+        return this;
+    }
+
+    /**
+     * Absolute bulk <i>get</i> method.
+     *
+     * <p> This method transfers chars from this buffer into the given
+     * destination array.  The position of this buffer is unchanged.  An
+     * invocation of this method of the form
+     * <code>src.get(index,&nbsp;dst)</code> behaves in exactly the same
+     * way as the invocation:
+     *
+     * <pre>
+     *     src.get(index, dst, 0, dst.length) </pre>
+     *
+     * @param  index
+     *         The index in this buffer from which the first char will be
+     *         read; must be non-negative and less than {@code limit()}
+     *
+     * @param  dst
+     *         The destination array
+     *
+     * @return  This buffer
+     *
+     * @throws  IndexOutOfBoundsException
+     *          If {@code index} is negative, not smaller than {@code limit()},
+     *          or {@code limit() - index < dst.length}
+     *
+     * @since 12
+     */
+    public CharBuffer get(int index, char[] dst) {
+        return get(index, dst, 0, dst.length);
+    }
+
 
     // -- Bulk put operations --
 
@@ -978,6 +1073,106 @@ public abstract class CharBuffer
         return put(src, 0, src.length);
     }
 
+    /**
+     * Absolute bulk <i>put</i> method&nbsp;&nbsp;<i>(optional operation)</i>.
+     *
+     * <p> This method transfers {@code length} chars from the given
+     * array, starting at the given offset in the array and at the given index
+     * in this buffer.  The position of this buffer is unchanged.
+     *
+     * <p> An invocation of this method of the form
+     * <code>dst.put(index,&nbsp;src,&nbsp;offset,&nbsp;length)</code>
+     * has exactly the same effect as the following loop except that it first
+     * checks the consistency of the supplied parameters and it is potentially
+     * much more efficient:
+     *
+     * <pre>{@code
+     *     for (int i = offset, j = index; i < offset + length; i++, j++)
+     *         dst.put(j, src[i]);
+     * }</pre>
+     *
+     * @param  index
+     *         The index in this buffer at which the first char will be
+     *         written; must be non-negative and less than {@code limit()}
+     *
+     * @param  src
+     *         The array from which chars are to be read
+     *
+     * @param  offset
+     *         The offset within the array of the first char to be read;
+     *         must be non-negative and less than {@code src.length}
+     *
+     * @param  length
+     *         The number of chars to be read from the given array;
+     *         must be non-negative and no larger than the smaller of
+     *         {@code limit() - index} and {@code src.length - offset}
+     *
+     * @return  This buffer
+     *
+     * @throws  IndexOutOfBoundsException
+     *          If the preconditions on the {@code index}, {@code offset}, and
+     *          {@code length} parameters do not hold
+     *
+     * @throws  ReadOnlyBufferException
+     *          If this buffer is read-only
+     *
+     * @since 12
+     */
+    public CharBuffer put(int index, char[] src, int offset, int length) {
+        if (isReadOnly())
+            throw new ReadOnlyBufferException();
+        checkBounds(index, length, limit());
+        checkBounds(offset, length, src.length);
+        if (hb != null) {
+            System.arraycopy(src, offset, hb, this.offset + index, length);
+        } else if (charRegionOrder() == ByteOrder.nativeOrder()) {
+            try {
+                UNSAFE.copyMemory(src, Unsafe.ARRAY_CHAR_BASE_OFFSET + ((long)offset << 1),
+                                  base(), address + ((long)index << 1),
+                                  (long)length << 1);
+            } finally {
+                Reference.reachabilityFence(this);
+            }
+        } else {
+            for (int i = offset, j = index; i < offset + length; i++, j++)
+                put(j, src[i]);
+        }
+        return this;
+    }
+
+    /**
+     * Absolute bulk <i>put</i> method&nbsp;&nbsp;<i>(optional operation)</i>.
+     *
+     * <p> This method copies chars into this buffer from the given source
+     * array.  The position of this buffer is unchanged.  An invocation of this
+     * method of the form <code>dst.put(index,&nbsp;src)</code>
+     * behaves in exactly the same way as the invocation:
+     *
+     * <pre>
+     *     dst.put(index, src, 0, src.length); </pre>
+     *
+     * @param  index
+     *         The index in this buffer at which the first char will be
+     *         written; must be non-negative and less than {@code limit()}
+     *
+     * @param  src
+     *         The array from which chars are to be read
+     *
+     * @return  This buffer
+     *
+     * @throws  IndexOutOfBoundsException
+     *          If {@code index} is negative, not smaller than {@code limit()},
+     *          or {@code limit() - index < src.length}
+     *
+     * @throws  ReadOnlyBufferException
+     *          If this buffer is read-only
+     *
+     * @since 12
+     */
+    public CharBuffer put(int index, char[] src) {
+        return put(index, src, 0, src.length);
+    }
+
 
 
     /**
@@ -1488,6 +1683,35 @@ public abstract class CharBuffer
         return (r == -1 && thisRem != thatRem) ? length : r;
     }
 
+    /**
+     * Finds and returns the relative index of the first occurrence of the
+     * given char in this buffer.  The index is relative to the
+     * {@link #position() position} of this buffer and, if the char is found,
+     * will be in the range of 0 (inclusive) up to the number of
+     * {@link #remaining() remaining} chars (exclusive).  The position of this
+     * buffer is unchanged.
+     *
+     * <p> The remaining chars of a buffer that covers a memory region are
+     * examined several at a time, which is typically much faster than a loop
+     * over {@link #get(int)}.
+     *
+     * @param  c
+     *         The char to search for
+     *
+     * @return  The relative index of the first occurrence of the char in the
+     *          remaining chars of this buffer, otherwise -1 if it does not
+     *          occur.
+     *
+     * @since 12
+     */
+    public int indexOf(char c) {
+        int pos = position();
+        int rem = limit() - pos;
+        if (rem <= 0)
+            return -1;
+        return BufferSearch.indexOf(this, pos, rem, c);
+    }
+
     // -- Other char stuff --
 
 
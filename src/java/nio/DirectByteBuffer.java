@@ -195,6 +195,7 @@ class DirectByteBuffer
         cleaner = null;
 
         att = db;
+        BufferArena.inherit(db, this);
 
 
 
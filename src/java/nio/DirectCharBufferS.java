@@ -195,6 +195,7 @@ class DirectCharBufferS
 
 
         att = db;
+        BufferArena.inherit(db, this);
 
 
 
@@ -195,6 +195,7 @@ class DirectCharBufferU
 
 
         att = db;
+        BufferArena.inherit(db, this);
 
 
 
@@ -195,6 +195,7 @@ class DirectDoubleBufferS
 
 
         att = db;
+        BufferArena.inherit(db, this);
 
 
 
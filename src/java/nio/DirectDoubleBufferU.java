@@ -195,6 +195,7 @@ class DirectDoubleBufferU
 
 
         att = db;
+        BufferArena.inherit(db, this);
 
 
 
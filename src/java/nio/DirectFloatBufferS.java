@@ -195,6 +195,7 @@ class DirectFloatBufferS
 
 
         att = db;
+        BufferArena.inherit(db, this);
 
 
 
@@ -195,6 +195,7 @@ class DirectFloatBufferU
 
 
         att = db;
+        BufferArena.inherit(db, this);
 
 
 
@@ -195,6 +195,7 @@ class DirectIntBufferS
 
 
         att = db;
+        BufferArena.inherit(db, this);
 
 
 
@@ -195,6 +195,7 @@ class DirectIntBufferU
 
 
         att = db;
+        BufferArena.inherit(db, this);
 
 
 
@@ -195,6 +195,7 @@ class DirectLongBufferS
 
 
         att = db;
+        BufferArena.inherit(db, this);
 
 
 
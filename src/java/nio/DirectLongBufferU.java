@@ -195,6 +195,7 @@ class DirectLongBufferU
 
 
         att = db;
+        BufferArena.inherit(db, this);
 
 
 
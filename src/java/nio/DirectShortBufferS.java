@@ -195,6 +195,7 @@ class DirectShortBufferS
 
 
         att = db;
+        BufferArena.inherit(db, this);
 
 
 
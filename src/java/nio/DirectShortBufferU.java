@@ -195,6 +195,7 @@ class DirectShortBufferU
 
 
         att = db;
+        BufferArena.inherit(db, this);
 
 
 
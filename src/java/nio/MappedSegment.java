@@ -0,0 +1,787 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.nio;
+
+import java.nio.channels.FileChannel;
+import java.util.Objects;
+
+import jdk.internal.misc.Unsafe;
+import jdk.internal.ref.Cleaner;
+
+
+/**
+ * A memory-mapped region of a file that is addressed with {@code long}
+ * offsets, and so is not limited to the {@link Integer#MAX_VALUE} bytes of
+ * a {@link MappedByteBuffer}.
+ *
+ * <p> A mapped segment is created by the {@link FileChannel#mapSegment
+ * FileChannel.mapSegment} method.  Its content is accessed with absolute
+ * <i>get</i> and <i>put</i> methods for each primitive type, which take the
+ * byte offset of the value within the segment and check that the value lies
+ * entirely within the segment.  Multi-byte values are read and written in
+ * the segment's {@link #order() byte order}, which is initially {@link
+ * ByteOrder#BIG_ENDIAN BIG_ENDIAN}, and need not be aligned.
+ *
+ * <p> The {@code int} and {@code long} values of a segment may also be
+ * accessed with volatile and atomic update semantics, in the manner of the
+ * access modes of the {@link java.lang.invoke.VarHandle VarHandle} views
+ * created by {@link java.lang.invoke.MethodHandles#byteBufferViewVarHandle
+ * MethodHandles.byteBufferViewVarHandle}.  These methods always use the
+ * {@link ByteOrder#nativeOrder native byte order}, and require the offset to
+ * be aligned to the size of the value, failing with {@link
+ * IllegalStateException} otherwise.
+ *
+ * <p> A segment remains mapped until it is {@link #close closed}, or until
+ * it becomes unreachable and is cleaned up by the garbage collector.
+ * Closing a segment unmaps it immediately.  Any subsequent access fails
+ * with {@link IllegalStateException}.  A segment does not synchronize its
+ * accesses with closing: a segment must not be closed while another thread
+ * may be accessing it, as that access may then proceed on unmapped memory.
+ *
+ * <p> A segment that was mapped {@link FileChannel.MapMode#READ_ONLY
+ * read-only} rejects every attempt to modify its content with {@link
+ * ReadOnlyBufferException}.
+ *
+ * @since 12
+ */
+
+public final class MappedSegment implements AutoCloseable {
+
+    private static final Unsafe UNSAFE = Unsafe.getUnsafe();
+
+    // Address of the first byte of the segment, zero if the segment is empty
+    private final long address;
+
+    // Set once the segment is closed
+    private volatile boolean closed;
+
+    private final long size;
+    private final boolean readOnly;
+    private final Cleaner cleaner;
+    private boolean bigEndian = true;
+
+    MappedSegment(long address, long size, boolean readOnly, Runnable unmapper) {
+        this.address = address;
+        this.size = size;
+        this.readOnly = readOnly;
+        this.cleaner = (unmapper == null) ? null : Cleaner.create(this, unmapper);
+    }
+
+    /**
+     * Returns the size of this segment in bytes.
+     *
+     * @return  The size of this segment
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Tells whether or not this segment is read-only.
+     *
+     * @return  {@code true} if, and only if, this segment is read-only
+     */
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    /**
+     * Tells whether or not this segment is still mapped.
+     *
+     * @return  {@code true} if, and only if, this segment has not been closed
+     */
+    public boolean isOpen() {
+        return !closed;
+    }
+
+    /**
+     * Retrieves this segment's byte order.
+     *
+     * @return  This segment's byte order
+     */
+    public ByteOrder order() {
+        return bigEndian ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+    }
+
+    /**
+     * Modifies this segment's byte order.  The byte order applies to the
+     * multi-byte <i>get</i> and <i>put</i> methods, but not to the volatile
+     * and atomic access methods.
+     *
+     * @param  bo
+     *         The new byte order
+     *
+     * @return  This segment
+     */
+    public MappedSegment order(ByteOrder bo) {
+        bigEndian = (Objects.requireNonNull(bo) == ByteOrder.BIG_ENDIAN);
+        return this;
+    }
+
+    /**
+     * Unmaps this segment.  If the segment is already closed then invoking
+     * this method has no effect.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed)
+                return;
+            closed = true;
+        }
+        if (cleaner != null)
+            cleaner.clean();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getName()
+            + "[size=" + size
+            + (readOnly ? ", read-only" : "")
+            + (isOpen() ? "" : ", closed")
+            + "]";
+    }
+
+    // -- Address checks --
+
+    private long address(long offset, int nb) {
+        if (closed)
+            throw new IllegalStateException("Segment is closed");
+        if (offset < 0 || offset > size - nb)
+            throw new IndexOutOfBoundsException("Offset " + offset
+                + " out of bounds for segment of size " + size);
+        return address + offset;
+    }
+
+    private long writableAddress(long offset, int nb) {
+        if (readOnly)
+            throw new ReadOnlyBufferException();
+        return address(offset, nb);
+    }
+
+    private static long aligned(long a, int nb) {
+        if ((a & (nb - 1)) != 0)
+            throw new IllegalStateException("Misaligned access at address: " + a);
+        return a;
+    }
+
+    // -- Plain accessors --
+
+    /**
+     * Reads the byte at the given offset.
+     *
+     * @param  offset
+     *         The offset of the byte within this segment
+     *
+     * @return  The byte at the given offset
+     *
+     * @throws  IndexOutOfBoundsException
+     *          If {@code offset} is negative or not smaller than the size
+     *          of this segment
+     *
+     * @throws  IllegalStateException
+     *          If this segment is closed
+     */
+    public byte get(long offset) {
+        return UNSAFE.getByte(address(offset, 1));
+    }
+
+    /**
+     * Writes the given byte at the given offset.
+     *
+     * @param  offset
+     *         The offset of the byte within this segment
+     *
+     * @param  b
+     *         The byte value to be written
+     *
+     * @return  This segment
+     *
+     * @throws  IndexOutOfBoundsException
+     *          If {@code offset} is negative or not smaller than the size
+     *          of this segment
+     *
+     * @throws  ReadOnlyBufferException
+     *          If this segment is read-only
+     *
+     * @throws  IllegalStateException
+     *          If this segment is closed
+     */
+    public MappedSegment put(long offset, byte b) {
+        UNSAFE.putByte(writableAddress(offset, 1), b);
+        return this;
+    }
+
+    /**
+     * Reads the char value at the given offset, in this segment's byte
+     * order.
+     *
+     * @param  offset
+     *         The offset of the value within this segment
+     *
+     * @return  The char value at the given offset
+     *
+     * @throws  IndexOutOfBoundsException
+     *          If {@code offset} is negative or not smaller than the size
+     *          of this segment, minus one
+     *
+     * @throws  IllegalStateException
+     *          If this segment is closed
+     */
+    public char getChar(long offset) {
+        return UNSAFE.getCharUnaligned(null, address(offset, 2), bigEndian);
+    }
+
+    /**
+     * Writes the given char value at the given offset, in this segment's
+     * byte order.
+     *
+     * @param  offset
+     *         The offset of the value within this segment
+     *
+     * @param  value
+     *         The char value to be written
+     *
+     * @return  This segment
+     *
+     * @throws  IndexOutOfBoundsException
+     *          If {@code offset} is negative or not smaller than the size
+     *          of this segment, minus one
+     *
+     * @throws  ReadOnlyBufferException
+     *          If this segment is read-only
+     *
+     * @throws  IllegalStateException
+     *          If this segment is closed
+     */
+    public MappedSegment putChar(long offset, char value) {
+        UNSAFE.putCharUnaligned(null, writableAddress(offset, 2), value, bigEndian);
+        return this;
+    }
+
+    /**
+     * Reads the short value at the given offset, in this segment's byte
+     * order.
+     *
+     * @param  offset
+     *         The offset of the value within this segment
+     *
+     * @return  The short value at the given offset
+     *
+     * @throws  IndexOutOfBoundsException
+     *          If {@code offset} is negative or not smaller than the size
+     *          of this segment, minus one
+     *
+     * @throws  IllegalStateException
+     *          If this segment is closed
+     */
+    public short getShort(long offset) {
+        return UNSAFE.getShortUnaligned(null, address(offset, 2), bigEndian);
+    }
+
+    /**
+     * Writes the given short value at the given offset, in this segment's
+     * byte order.
+     *
+     * @param  offset
+     *         The offset of the value within this segment
+     *
+     * @param  value
+     *         The short value to be written
+     *
+     * @return  This segment
+     *
+     * @throws  IndexOutOfBoundsException
+     *          If {@code offset} is negative or not smaller than the size
+     *          of this segment, minus one
+     *
+     * @throws  ReadOnlyBufferException
+     *          If this segment is read-only
+     *
+     * @throws  IllegalStateException
+     *          If this segment is closed
+     */
+    public MappedSegment putShort(long offset, short value) {
+        UNSAFE.putShortUnaligned(null, writableAddress(offset, 2), value, bigEndian);
+        return this;
+    }
+
+    /**
+     * Reads the int value at the given offset, in this segment's byte order.
+     *
+     * @param  offset
+     *         The offset of the value within this segment
+     *
+     * @return  The int value at the given offset
+     *
+     * @throws  IndexOutOfBoundsException
+     *          If {@code offset} is negative or not smaller than the size
+     *          of this segment, minus three
+     *
+     * @throws  IllegalStateException
+     *          If this segment is closed
+     */
+    public int getInt(long offset) {
+        return UNSAFE.getIntUnaligned(null, address(offset, 4), bigEndian);
+    }
+
+    /**
+     * Writes the given int value at the given offset, in this segment's byte
+     * order.
+     *
+     * @param  offset
+     *         The offset of the value within this segment
+     *
+     * @param  value
+     *         The int value to be written
+     *
+     * @return  This segment
+     *
+     * @throws  IndexOutOfBoundsException
+     *          If {@code offset} is negative or not smaller than the size
+     *          of this segment, minus three
+     *
+     * @throws  ReadOnlyBufferException
+     *          If this segment is read-only
+     *
+     * @throws  IllegalStateException
+     *          If this segment is closed
+     */
+    public MappedSegment putInt(long offset, int value) {
+        UNSAFE.putIntUnaligned(null, writableAddress(offset, 4), value, bigEndian);
+        return this;
+    }
+
+    /**
+     * Reads the long value at the given offset, in this segment's byte
+     * order.
+     *
+     * @param  offset
+     *         The offset of the value within this segment
+     *
+     * @return  The long value at the given offset
+     *
+     * @throws  IndexOutOfBoundsException
+     *          If {@code offset} is negative or not smaller than the size
+     *          of this segment, minus seven
+     *
+     * @throws  IllegalStateException
+     *          If this segment is closed
+     */
+    public long getLong(long offset) {
+        return UNSAFE.getLongUnaligned(null, address(offset, 8), bigEndian);
+    }
+
+    /**
+     * Writes the given long value at the given offset, in this segment's
+     * byte order.
+     *
+     * @param  offset
+     *         The offset of the value within this segment
+     *
+     * @param  value
+     *         The long value to be written
+     *
+     * @return  This segment
+     *
+     * @throws  IndexOutOfBoundsException
+     *          If {@code offset} is negative or not smaller than the size
+     *          of this segment, minus seven
+     *
+     * @throws  ReadOnlyBufferException
+     *          If this segment is read-only
+     *
+     * @throws  IllegalStateException
+     *          If this segment is closed
+     */
+    public MappedSegment putLong(long offset, long value) {
+        UNSAFE.putLongUnaligned(null, writableAddress(offset, 8), value, bigEndian);
+        return this;
+    }
+
+    /**
+     * Reads the float value at the given offset, in this segment's byte
+     * order.
+     *
+     * @param  offset
+     *         The offset of the value within this segment
+     *
+     * @return  The float value at the given offset
+     *
+     * @throws  IndexOutOfBoundsException
+     *          If {@code offset} is negative or not smaller than the size
+     *          of this segment, minus three
+     *
+     * @throws  IllegalStateException
+     *          If this segment is closed
+     */
+    public float getFloat(long offset) {
+        return Float.intBitsToFloat(getInt(offset));
+    }
+
+    /**
+     * Writes the given float value at the given offset, in this segment's
+     * byte order.
+     *
+     * @param  offset
+     *         The offset of the value within this segment
+     *
+     * @param  value
+     *         The float value to be written
+     *
+     * @return  This segment
+     *
+     * @throws  IndexOutOfBoundsException
+     *          If {@code offset} is negative or not smaller than the size
+     *          of this segment, minus three
+     *
+     * @throws  ReadOnlyBufferException
+     *          If this segment is read-only
+     *
+     * @throws  IllegalStateException
+     *          If this segment is closed
+     */
+    public MappedSegment putFloat(long offset, float value) {
+        return putInt(offset, Float.floatToRawIntBits(value));
+    }
+
+    /**
+     * Reads the double value at the given offset, in this segment's byte
+     * order.
+     *
+     * @param  offset
+     *         The offset of the value within this segment
+     *
+     * @return  The double value at the given offset
+     *
+     * @throws  IndexOutOfBoundsException
+     *          If {@code offset} is negative or not smaller than the size
+     *          of this segment, minus seven
+     *
+     * @throws  IllegalStateException
+     *          If this segment is closed
+     */
+    public double getDouble(long offset) {
+        return Double.longBitsToDouble(getLong(offset));
+    }
+
+    /**
+     * Writes the given double value at the given offset, in this segment's
+     * byte order.
+     *
+     * @param  offset
+     *         The offset of the value within this segment
+     *
+     * @param  value
+     *         The double value to be written
+     *
+     * @return  This segment
+     *
+     * @throws  IndexOutOfBoundsException
+     *          If {@code offset} is negative or not smaller than the size
+     *          of this segment, minus seven
+     *
+     * @throws  ReadOnlyBufferException
+     *          If this segment is read-only
+     *
+     * @throws  IllegalStateException
+     *          If this segment is closed
+     */
+    public MappedSegment putDouble(long offset, double value) {
+        return putLong(offset, Double.doubleToRawLongBits(value));
+    }
+
+    // -- Bulk accessors --
+
+    /**
+     * Copies bytes of this segment, starting at the given offset, into the
+     * given array.
+     *
+     * @param  offset
+     *         The offset within this segment of the first byte to be copied
+     *
+     * @param  dst
+     *         The array into which bytes are to be written
+     *
+     * @param  off
+     *         The offset within the array of the first byte to be written
+     *
+     * @param  len
+     *         The number of bytes to be copied
+     *
+     * @return  This segment
+     *
+     * @throws  IndexOutOfBoundsException
+     *          If the preconditions on the {@code offset}, {@code off} and
+     *          {@code len} parameters do not hold
+     *
+     * @throws  IllegalStateException
+     *          If this segment is closed
+     */
+    public MappedSegment get(long offset, byte[] dst, int off, int len) {
+        Objects.checkFromIndexSize(off, len, dst.length);
+        long a = address(offset, len);
+        UNSAFE.copyMemory(null, a, dst, Unsafe.ARRAY_BYTE_BASE_OFFSET + off, len);
+        return this;
+    }
+
+    /**
+     * Copies bytes from the given array into this segment, starting at the
+     * given offset.
+     *
+     * @param  offset
+     *         The offset within this segment of the first byte to be written
+     *
+     * @param  src
+     *         The array from which bytes are to be read
+     *
+     * @param  off
+     *         The offset within the array of the first byte to be read
+     *
+     * @param  len
+     *         The number of bytes to be copied
+     *
+     * @return  This segment
+     *
+     * @throws  IndexOutOfBoundsException
+     *          If the preconditions on the {@code offset}, {@code off} and
+     *          {@code len} parameters do not hold
+     *
+     * @throws  ReadOnlyBufferException
+     *          If this segment is read-only
+     *
+     * @throws  IllegalStateException
+     *          If this segment is closed
+     */
+    public MappedSegment put(long offset, byte[] src, int off, int len) {
+        Objects.checkFromIndexSize(off, len, src.length);
+        long a = writableAddress(offset, len);
+        UNSAFE.copyMemory(src, Unsafe.ARRAY_BYTE_BASE_OFFSET + off, null, a, len);
+        return this;
+    }
+
+    // -- Volatile and atomic accessors --
+
+    /**
+     * Reads the int value at the given offset, in native byte order, with
+     * volatile memory semantics.
+     *
+     * @param  offset
+     *         The offset of the value within this segment, which must be
+     *         aligned to four bytes
+     *
+     * @return  The int value at the given offset
+     *
+     * @throws  IndexOutOfBoundsException
+     *          If {@code offset} is out of bounds
+     *
+     * @throws  IllegalStateException
+     *          If this segment is closed or the access is misaligned
+     */
+    public int getIntVolatile(long offset) {
+        return UNSAFE.getIntVolatile(null, aligned(address(offset, 4), 4));
+    }
+
+    /**
+     * Writes the given int value at the given offset, in native byte order,
+     * with volatile memory semantics.
+     *
+     * @param  offset
+     *         The offset of the value within this segment, which must be
+     *         aligned to four bytes
+     *
+     * @param  value
+     *         The int value to be written
+     *
+     * @throws  IndexOutOfBoundsException
+     *          If {@code offset} is out of bounds
+     *
+     * @throws  ReadOnlyBufferException
+     *          If this segment is read-only
+     *
+     * @throws  IllegalStateException
+     *          If this segment is closed or the access is misaligned
+     */
+    public void putIntVolatile(long offset, int value) {
+        UNSAFE.putIntVolatile(null, aligned(writableAddress(offset, 4), 4), value);
+    }
+
+    /**
+     * Atomically sets the int value at the given offset, in native byte
+     * order, to the given value if it currently equals the expected value.
+     *
+     * @param  offset
+     *         The offset of the value within this segment, which must be
+     *         aligned to four bytes
+     *
+     * @param  expected
+     *         The expected value
+     *
+     * @param  value
+     *         The new value
+     *
+     * @return  {@code true} if successful
+     *
+     * @throws  IndexOutOfBoundsException
+     *          If {@code offset} is out of bounds
+     *
+     * @throws  ReadOnlyBufferException
+     *          If this segment is read-only
+     *
+     * @throws  IllegalStateException
+     *          If this segment is closed or the access is misaligned
+     */
+    public boolean compareAndSetInt(long offset, int expected, int value) {
+        return UNSAFE.compareAndSetInt(null, aligned(writableAddress(offset, 4), 4),
+                                       expected, value);
+    }
+
+    /**
+     * Atomically adds the given delta to the int value at the given offset,
+     * in native byte order.
+     *
+     * @param  offset
+     *         The offset of the value within this segment, which must be
+     *         aligned to four bytes
+     *
+     * @param  delta
+     *         The value to be added
+     *
+     * @return  The previous value
+     *
+     * @throws  IndexOutOfBoundsException
+     *          If {@code offset} is out of bounds
+     *
+     * @throws  ReadOnlyBufferException
+     *          If this segment is read-only
+     *
+     * @throws  IllegalStateException
+     *          If this segment is closed or the access is misaligned
+     */
+    public int getAndAddInt(long offset, int delta) {
+        return UNSAFE.getAndAddInt(null, aligned(writableAddress(offset, 4), 4), delta);
+    }
+
+    /**
+     * Reads the long value at the given offset, in native byte order, with
+     * volatile memory semantics.
+     *
+     * @param  offset
+     *         The offset of the value within this segment, which must be
+     *         aligned to eight bytes
+     *
+     * @return  The long value at the given offset
+     *
+     * @throws  IndexOutOfBoundsException
+     *          If {@code offset} is out of bounds
+     *
+     * @throws  IllegalStateException
+     *          If this segment is closed or the access is misaligned
+     */
+    public long getLongVolatile(long offset) {
+        return UNSAFE.getLongVolatile(null, aligned(address(offset, 8), 8));
+    }
+
+    /**
+     * Writes the given long value at the given offset, in native byte order,
+     * with volatile memory semantics.
+     *
+     * @param  offset
+     *         The offset of the value within this segment, which must be
+     *         aligned to eight bytes
+     *
+     * @param  value
+     *         The long value to be written
+     *
+     * @throws  IndexOutOfBoundsException
+     *          If {@code offset} is out of bounds
+     *
+     * @throws  ReadOnlyBufferException
+     *          If this segment is read-only
+     *
+     * @throws  IllegalStateException
+     *          If this segment is closed or the access is misaligned
+     */
+    public void putLongVolatile(long offset, long value) {
+        UNSAFE.putLongVolatile(null, aligned(writableAddress(offset, 8), 8), value);
+    }
+
+    /**
+     * Atomically sets the long value at the given offset, in native byte
+     * order, to the given value if it currently equals the expected value.
+     *
+     * @param  offset
+     *         The offset of the value within this segment, which must be
+     *         aligned to eight bytes
+     *
+     * @param  expected
+     *         The expected value
+     *
+     * @param  value
+     *         The new value
+     *
+     * @return  {@code true} if successful
+     *
+     * @throws  IndexOutOfBoundsException
+     *          If {@code offset} is out of bounds
+     *
+     * @throws  ReadOnlyBufferException
+     *          If this segment is read-only
+     *
+     * @throws  IllegalStateException
+     *          If this segment is closed or the access is misaligned
+     */
+    public boolean compareAndSetLong(long offset, long expected, long value) {
+        return UNSAFE.compareAndSetLong(null, aligned(writableAddress(offset, 8), 8),
+                                        expected, value);
+    }
+
+    /**
+     * Atomically adds the given delta to the long value at the given offset,
+     * in native byte order.
+     *
+     * @param  offset
+     *         The offset of the value within this segment, which must be
+     *         aligned to eight bytes
+     *
+     * @param  delta
+     *         The value to be added
+     *
+     * @return  The previous value
+     *
+     * @throws  IndexOutOfBoundsException
+     *          If {@code offset} is out of bounds
+     *
+     * @throws  ReadOnlyBufferException
+     *          If this segment is read-only
+     *
+     * @throws  IllegalStateException
+     *          If this segment is closed or the access is misaligned
+     */
+    public long getAndAddLong(long offset, long delta) {
+        return UNSAFE.getAndAddLong(null, aligned(writableAddress(offset, 8), 8), delta);
+    }
+}
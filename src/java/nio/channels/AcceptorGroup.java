@@ -0,0 +1,410 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.nio.channels;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.net.SocketOption;
+import java.net.StandardSocketOptions;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A group of listening sockets that distributes the connections it accepts
+ * over a set of selectors.
+ *
+ * <p> An acceptor group is created by invoking the {@link #open open} method
+ * with the selectors of the event loops that are to handle the accepted
+ * connections.  When the group is {@link #bind bound}, it opens one or more
+ * server-socket channels and accepts connections on them with dedicated
+ * acceptor threads.  Each accepted {@link SocketChannel} is configured
+ * non-blocking and registered, with the interest set and attachment given
+ * when the group was opened, with one of the selectors, which is then
+ * {@link Selector#wakeup woken up} so that the new key takes effect.  The
+ * event loops therefore neither accept connections themselves nor contend
+ * with each other to do so.
+ *
+ * <p> By default the group opens a single listening socket, and the
+ * selector of each accepted connection is chosen according to the group's
+ * {@link Policy}.  If the {@link StandardSocketOptions#SO_REUSEPORT
+ * SO_REUSEPORT} socket option is {@link #setOption set} to {@code true},
+ * the group instead opens one listening socket per selector, all bound to
+ * the same address, and the connections accepted on each socket are
+ * registered with its own selector; the operating system then balances
+ * incoming connections over the sockets.  Setting this option fails with
+ * {@code UnsupportedOperationException} on platforms that do not support
+ * it.
+ *
+ * <p> Closing the group closes its listening sockets and stops its acceptor
+ * threads.  It does not close the selectors, nor the channels already
+ * accepted.
+ *
+ * @since 12
+ */
+
+public final class AcceptorGroup implements Closeable {
+
+    /**
+     * The policy used to choose the selector of an accepted connection when
+     * the group has a single listening socket.
+     *
+     * @since 12
+     */
+    public enum Policy {
+        /**
+         * Chooses the open selectors in turn.
+         */
+        ROUND_ROBIN,
+        /**
+         * Chooses the open selector with the fewest registered keys.
+         */
+        LEAST_LOADED
+    }
+
+    // Delay before accepting again after an accept failed, in milliseconds
+    private static final long ACCEPT_RETRY_DELAY = 10L;
+
+    private final Selector[] selectors;
+    private final Policy policy;
+    private final int ops;
+    private final Function<? super SocketChannel, ?> attachmentFactory;
+    private final Map<SocketOption<?>, Object> options = new LinkedHashMap<>();
+    private final LongAdder acceptedCount = new LongAdder();
+
+    // Listening channels, created when bound; guarded by this
+    private final List<ServerSocketChannel> channels = new ArrayList<>();
+    private boolean closed;
+
+    // Index of the next selector for the ROUND_ROBIN policy; only accessed
+    // by the acceptor thread of the single listening socket
+    private int next;
+
+    private AcceptorGroup(Selector[] selectors, Policy policy, int ops,
+                          Function<? super SocketChannel, ?> attachmentFactory)
+    {
+        this.selectors = selectors;
+        this.policy = policy;
+        this.ops = ops;
+        this.attachmentFactory = attachmentFactory;
+    }
+
+    /**
+     * Opens an unbound acceptor group.
+     *
+     * @param  selectors
+     *         The selectors with which accepted channels are registered
+     *
+     * @param  policy
+     *         The policy used to choose the selector of an accepted channel
+     *
+     * @param  ops
+     *         The interest set with which accepted channels are registered
+     *
+     * @param  attachmentFactory
+     *         The function invoked by an acceptor thread, with each accepted
+     *         channel, to create the attachment of its key; if the function
+     *         throws an exception then the channel is closed.  May be
+     *         {@code null} to register channels without an attachment
+     *
+     * @return  A new acceptor group
+     *
+     * @throws  IllegalArgumentException
+     *          If {@code selectors} is empty, or if {@code ops} contains
+     *          operations not supported by socket channels
+     */
+    public static AcceptorGroup open(List<? extends Selector> selectors,
+                                     Policy policy, int ops,
+                                     Function<? super SocketChannel, ?> attachmentFactory)
+    {
+        Selector[] sels = selectors.toArray(new Selector[0]);
+        if (sels.length == 0)
+            throw new IllegalArgumentException("No selectors");
+        for (Selector sel : sels)
+            Objects.requireNonNull(sel);
+        Objects.requireNonNull(policy);
+        int valid = SelectionKey.OP_READ | SelectionKey.OP_WRITE
+                    | SelectionKey.OP_CONNECT;
+        if ((ops & ~valid) != 0)
+            throw new IllegalArgumentException("Invalid interest set");
+        return new AcceptorGroup(sels, policy, ops, attachmentFactory);
+    }
+
+    /**
+     * Sets the value of a socket option of the listening sockets.  The
+     * option is applied to each listening socket when the group is bound.
+     *
+     * @param   <T>
+     *          The type of the socket option value
+     * @param   name
+     *          The socket option
+     * @param   value
+     *          The value of the socket option
+     *
+     * @return  This group
+     *
+     * @throws  UnsupportedOperationException
+     *          If the socket option is not supported by server-socket
+     *          channels
+     * @throws  IllegalStateException
+     *          If the group is already bound
+     * @throws  ClosedChannelException
+     *          If the group is closed
+     * @throws  IOException
+     *          If an I/O error occurs
+     */
+    public <T> AcceptorGroup setOption(SocketOption<T> name, T value)
+        throws IOException
+    {
+        Objects.requireNonNull(name);
+        try (ServerSocketChannel ssc = ServerSocketChannel.open()) {
+            if (!ssc.supportedOptions().contains(name))
+                throw new UnsupportedOperationException("'" + name + "' not supported");
+        }
+        synchronized (this) {
+            if (closed)
+                throw new ClosedChannelException();
+            if (!channels.isEmpty())
+                throw new IllegalStateException("Already bound");
+            options.put(name, value);
+        }
+        return this;
+    }
+
+    /**
+     * Binds the group to a local address and starts accepting connections.
+     *
+     * @param   local
+     *          The address to bind the listening sockets to, or {@code null}
+     *          to bind to an automatically assigned socket address
+     * @param   backlog
+     *          The maximum number of pending connections of each listening
+     *          socket
+     *
+     * @return  This group
+     *
+     * @throws  AlreadyBoundException
+     *          If the group is already bound
+     * @throws  ClosedChannelException
+     *          If the group is closed
+     * @throws  IOException
+     *          If some other I/O error occurs
+     */
+    public AcceptorGroup bind(SocketAddress local, int backlog)
+        throws IOException
+    {
+        synchronized (this) {
+            if (closed)
+                throw new ClosedChannelException();
+            if (!channels.isEmpty())
+                throw new AlreadyBoundException();
+            boolean reusePort =
+                Boolean.TRUE.equals(options.get(StandardSocketOptions.SO_REUSEPORT));
+            int n = reusePort ? selectors.length : 1;
+            try {
+                for (int i = 0; i < n; i++) {
+                    ServerSocketChannel ssc = ServerSocketChannel.open();
+                    channels.add(ssc);
+                    setOptions(ssc);
+                    // the other sockets are bound to the address of the first,
+                    // which may have been assigned automatically
+                    ssc.bind((i == 0) ? local : channels.get(0).getLocalAddress(),
+                             backlog);
+                }
+            } catch (IOException | RuntimeException e) {
+                try {
+                    closeChannels();
+                } catch (IOException x) {
+                    e.addSuppressed(x);
+                }
+                channels.clear();
+                throw e;
+            }
+            for (int i = 0; i < n; i++) {
+                ServerSocketChannel ssc = channels.get(i);
+                Selector sel = reusePort ? selectors[i] : null;
+                Thread t = new Thread(null, () -> acceptLoop(ssc, sel),
+                                      "AcceptorGroup-" + i, 0, false);
+                t.setDaemon(true);
+                t.start();
+            }
+        }
+        return this;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void setOptions(ServerSocketChannel ssc) throws IOException {
+        for (Map.Entry<SocketOption<?>, Object> e : options.entrySet())
+            ssc.setOption((SocketOption<Object>)e.getKey(), e.getValue());
+    }
+
+    /**
+     * Returns the local address of the listening sockets.
+     *
+     * @return  The local address, or {@code null} if the group is not bound
+     *
+     * @throws  ClosedChannelException
+     *          If the group is closed
+     * @throws  IOException
+     *          If an I/O error occurs
+     */
+    public synchronized SocketAddress getLocalAddress() throws IOException {
+        if (closed)
+            throw new ClosedChannelException();
+        return channels.isEmpty() ? null : channels.get(0).getLocalAddress();
+    }
+
+    /**
+     * Returns the number of connections accepted and registered by the
+     * group.
+     *
+     * @return  The number of accepted connections
+     */
+    public long acceptedCount() {
+        return acceptedCount.sum();
+    }
+
+    /**
+     * Tells whether or not this group is open.
+     *
+     * @return  {@code true} if, and only if, this group is open
+     */
+    public synchronized boolean isOpen() {
+        return !closed;
+    }
+
+    /**
+     * Closes this group.  If the group is already closed then invoking this
+     * method has no effect.
+     *
+     * @throws  IOException
+     *          If an I/O error occurs
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed)
+                return;
+            closed = true;
+        }
+        closeChannels();
+    }
+
+    private void closeChannels() throws IOException {
+        List<ServerSocketChannel> chs;
+        synchronized (this) {
+            chs = new ArrayList<>(channels);
+        }
+        IOException ioe = null;
+        for (ServerSocketChannel ssc : chs) {
+            try {
+                ssc.close();
+            } catch (IOException e) {
+                if (ioe == null)
+                    ioe = e;
+                else
+                    ioe.addSuppressed(e);
+            }
+        }
+        if (ioe != null)
+            throw ioe;
+    }
+
+    /**
+     * Accepts connections on the given channel until it is closed, and
+     * registers them with the given selector, or with the selector chosen
+     * by the policy if null.
+     */
+    private void acceptLoop(ServerSocketChannel ssc, Selector sel) {
+        while (ssc.isOpen()) {
+            SocketChannel sc;
+            try {
+                sc = ssc.accept();
+            } catch (ClosedChannelException e) {
+                break;
+            } catch (IOException e) {
+                // the failure may be transient, such as running out of file
+                // descriptors, so retry after a delay rather than spinning
+                try {
+                    Thread.sleep(ACCEPT_RETRY_DELAY);
+                } catch (InterruptedException ie) {
+                    break;
+                }
+                continue;
+            }
+            try {
+                register(sc, (sel != null) ? sel : chooseSelector());
+            } catch (IOException | RuntimeException e) {
+                try {
+                    sc.close();
+                } catch (IOException ignore) { }
+            }
+        }
+    }
+
+    private void register(SocketChannel sc, Selector sel) throws IOException {
+        sc.configureBlocking(false);
+        Object att = (attachmentFactory != null) ? attachmentFactory.apply(sc) : null;
+        sc.register(sel, ops, att);
+        acceptedCount.increment();
+        sel.wakeup();
+    }
+
+    private Selector chooseSelector() {
+        Selector[] sels = selectors;
+        if (policy == Policy.ROUND_ROBIN) {
+            int i = next;
+            for (int n = 0; n < sels.length; n++) {
+                Selector s = sels[i];
+                i = (i + 1 < sels.length) ? i + 1 : 0;
+                if (s.isOpen()) {
+                    next = i;
+                    return s;
+                }
+            }
+            return sels[next];
+        }
+        Selector best = sels[0];
+        int min = Integer.MAX_VALUE;
+        for (Selector s : sels) {
+            if (s.isOpen()) {
+                try {
+                    int n = s.keys().size();
+                    if (n < min) {
+                        min = n;
+                        best = s;
+                    }
+                } catch (ClosedSelectorException ignore) { }
+            }
+        }
+        return best;
+    }
+}
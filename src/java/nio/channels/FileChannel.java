@@ -28,6 +28,7 @@ package java.nio.channels;
 import java.io.*;
 import java.nio.ByteBuffer;
 import java.nio.MappedByteBuffer;
+import java.nio.MappedSegment;
 import java.nio.channels.spi.AbstractInterruptibleChannel;
 import java.nio.file.*;
 import java.nio.file.attribute.FileAttribute;
@@ -926,6 +927,61 @@ public abstract class FileChannel
                                          long position, long size)
         throws IOException;
 
+    /**
+     * Maps a region of this channel's file directly into memory as a
+     * {@link MappedSegment}, which is addressed with {@code long} offsets
+     * and so may be larger than {@link Integer#MAX_VALUE} bytes.
+     *
+     * <p> The mode, the handling of a region that extends beyond the end of
+     * the file, and the exceptions thrown are as specified for the {@link
+     * #map map} method.  Unlike a mapped byte buffer, the segment may be
+     * unmapped explicitly by {@link MappedSegment#close closing} it.
+     *
+     * @implSpec The default implementation of this method throws {@code
+     * UnsupportedOperationException}.
+     *
+     * @param  mode
+     *         One of the constants {@link MapMode#READ_ONLY READ_ONLY}, {@link
+     *         MapMode#READ_WRITE READ_WRITE}, or {@link MapMode#PRIVATE
+     *         PRIVATE} defined in the {@link MapMode} class, according to
+     *         whether the file is to be mapped read-only, read/write, or
+     *         privately (copy-on-write), respectively
+     *
+     * @param  position
+     *         The position within the file at which the mapped region
+     *         is to start; must be non-negative
+     *
+     * @param  size
+     *         The size of the region to be mapped; must be non-negative
+     *
+     * @return  The mapped segment
+     *
+     * @throws NonReadableChannelException
+     *         If the {@code mode} is {@link MapMode#READ_ONLY READ_ONLY} but
+     *         this channel was not opened for reading
+     *
+     * @throws NonWritableChannelException
+     *         If the {@code mode} is {@link MapMode#READ_WRITE READ_WRITE} or
+     *         {@link MapMode#PRIVATE PRIVATE} but this channel was not opened
+     *         for both reading and writing
+     *
+     * @throws IllegalArgumentException
+     *         If the preconditions on the parameters do not hold
+     *
+     * @throws UnsupportedOperationException
+     *         If this channel does not support mapped segments
+     *
+     * @throws IOException
+     *         If some other I/O error occurs
+     *
+     * @since 12
+     */
+    public MappedSegment mapSegment(MapMode mode, long position, long size)
+        throws IOException
+    {
+        throw new UnsupportedOperationException();
+    }
+
 
     // -- Locks --
 
@@ -553,6 +553,94 @@ public abstract class Selector implements Closeable {
         return doSelect(Objects.requireNonNull(action), -1);
     }
 
+    /**
+     * Selects the keys whose corresponding channels are ready for I/O
+     * operations, and stores them in the given array.
+     *
+     * <p> This method performs a blocking <a href="#selop">selection
+     * operation</a> in the manner of the {@link #select(Consumer, long)
+     * select(Consumer, long)} method, with an action that stores each key in
+     * the next element of the array, starting at index {@code 0}.  Keys are
+     * not added to the selected-key set.  If more keys are selected than the
+     * array can hold then the keys that do not fit are not stored; their
+     * channels, if still ready, are selected again by a subsequent selection
+     * operation.  As the array is reused across selection operations by the
+     * caller, this method allows a selection loop to run without allocating
+     * objects for each selection operation.
+     *
+     * @implSpec The default implementation invokes the {@link
+     * #select(Consumer, long) select(Consumer, long)} method with an action
+     * that stores keys in the array.
+     *
+     * @param  keys     The array into which keys are to be stored
+     *
+     * @param  timeout  If positive, block for up to {@code timeout}
+     *                  milliseconds, more or less, while waiting for a
+     *                  channel to become ready; if zero, block indefinitely;
+     *                  must not be negative
+     *
+     * @return  The number of keys stored in the array, possibly zero
+     *
+     * @throws  IOException
+     *          If an I/O error occurs
+     *
+     * @throws  ClosedSelectorException
+     *          If this selector is closed
+     *
+     * @throws  IllegalArgumentException
+     *          If the value of the timeout argument is negative
+     *
+     * @since 12
+     */
+    public int select(SelectionKey[] keys, long timeout) throws IOException {
+        Objects.requireNonNull(keys);
+        int[] count = new int[1];
+        select(k -> {
+            if (count[0] < keys.length)
+                keys[count[0]++] = k;
+        }, timeout);
+        return count[0];
+    }
+
+    /**
+     * Selects the keys whose corresponding channels are ready for I/O
+     * operations, and stores them in the given array.
+     *
+     * <p> This method performs a non-blocking <a href="#selop">selection
+     * operation</a> in the manner of the {@link #selectNow(Consumer)
+     * selectNow(Consumer)} method, storing keys in the array as specified by
+     * the {@link #select(SelectionKey[], long) select(SelectionKey[], long)}
+     * method.
+     *
+     * <p> Invoking this method clears the effect of any previous invocations
+     * of the {@link #wakeup wakeup} method.  </p>
+     *
+     * @implSpec The default implementation invokes the {@link
+     * #selectNow(Consumer) selectNow(Consumer)} method with an action that
+     * stores keys in the array.
+     *
+     * @param  keys     The array into which keys are to be stored
+     *
+     * @return  The number of keys stored in the array, possibly zero
+     *
+     * @throws  IOException
+     *          If an I/O error occurs
+     *
+     * @throws  ClosedSelectorException
+     *          If this selector is closed
+     *
+     * @since 12
+     */
+    public int selectNow(SelectionKey[] keys) throws IOException {
+        Objects.requireNonNull(keys);
+        int[] count = new int[1];
+        selectNow(k -> {
+            if (count[0] < keys.length)
+                keys[count[0]++] = k;
+        });
+        return count[0];
+    }
+
     /**
      * Default implementation of select(Consumer) and selectNow(Consumer).
      */
@@ -296,6 +296,59 @@ public abstract class SocketChannel
      */
     public abstract SocketChannel shutdownOutput() throws IOException;
 
+    /**
+     * Confines the read and write operations of this channel to the current
+     * thread, or removes the confinement.
+     *
+     * <p> While a channel is confined, its read and write operations may only
+     * be invoked by the thread that confined it, and that thread may perform
+     * them in non-blocking mode without the locking that otherwise allows
+     * other threads to initiate concurrent operations.  An event loop that
+     * owns a non-blocking channel can confine the channel to reduce the cost
+     * of each read and write.  An attempt by another thread to read, write,
+     * change the blocking mode or change the confinement of a confined
+     * channel fails with {@link IllegalStateException}.  A confined channel
+     * may be closed by any thread.
+     *
+     * @implSpec The default implementation of this method throws {@code
+     * UnsupportedOperationException}.
+     *
+     * @param  confined
+     *         {@code true} to confine this channel to the current thread;
+     *         {@code false} to remove the confinement
+     *
+     * @return  This channel
+     *
+     * @throws  IllegalStateException
+     *          If this channel is confined to another thread
+     * @throws  ClosedChannelException
+     *          If this channel is closed
+     * @throws  UnsupportedOperationException
+     *          If this channel does not support confinement
+     * @throws  IOException
+     *          If some other I/O error occurs
+     *
+     * @since 12
+     */
+    public SocketChannel setConfined(boolean confined) throws IOException {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Tells whether or not this channel is confined to a thread.
+     *
+     * @implSpec The default implementation of this method returns {@code
+     * false}.
+     *
+     * @return  {@code true} if, and only if, this channel is confined to a
+     *          thread by {@link #setConfined setConfined}
+     *
+     * @since 12
+     */
+    public boolean isConfined() {
+        return false;
+    }
+
     /**
      * Retrieves a socket associated with this channel.
      *
@@ -145,8 +145,11 @@ import java.io.IOException;
  *
  * @implNote
  * The spliterators returned by the spliterator method of the collections
- * returned by all of this class's collection view methods are created from
- * the iterators of the corresponding collections.
+ * returned by all of this class's collection view methods traverse the
+ * doubly-linked list of entries directly.  They report
+ * {@link Spliterator#SIZED} and {@link Spliterator#SUBSIZED}, and split by
+ * walking half of the remaining entries, so that each split costs time
+ * linear in the size of the spliterator being split.
  *
  * @param <K> the type of keys maintained by this map
  * @param <V> the type of mapped values
@@ -521,9 +524,9 @@ public class LinkedHashMap<K,V>
      * {@code removeAll}, {@code retainAll}, and {@code clear}
      * operations.  It does not support the {@code add} or {@code addAll}
      * operations.
-     * Its {@link Spliterator} typically provides faster sequential
-     * performance but much poorer parallel performance than that of
-     * {@code HashMap}.
+     * Its {@link Spliterator} reports {@link Spliterator#SIZED} and
+     * {@link Spliterator#SUBSIZED}, and splits the encounter order into
+     * exactly sized halves.
      *
      * @return a set view of the keys contained in this map
      */
@@ -547,9 +550,7 @@ public class LinkedHashMap<K,V>
             return removeNode(hash(key), key, null, false, true) != null;
         }
         public final Spliterator<K> spliterator()  {
-            return Spliterators.spliterator(this, Spliterator.SIZED |
-                                            Spliterator.ORDERED |
-                                            Spliterator.DISTINCT);
+            return new LinkedKeySpliterator<>(LinkedHashMap.this, null, null, -1, 0);
         }
         public final void forEach(Consumer<? super K> action) {
             if (action == null)
@@ -574,9 +575,9 @@ public class LinkedHashMap<K,V>
      * {@code Collection.remove}, {@code removeAll},
      * {@code retainAll} and {@code clear} operations.  It does not
      * support the {@code add} or {@code addAll} operations.
-     * Its {@link Spliterator} typically provides faster sequential
-     * performance but much poorer parallel performance than that of
-     * {@code HashMap}.
+     * Its {@link Spliterator} reports {@link Spliterator#SIZED} and
+     * {@link Spliterator#SUBSIZED}, and splits the encounter order into
+     * exactly sized halves.
      *
      * @return a view of the values contained in this map
      */
@@ -597,8 +598,7 @@ public class LinkedHashMap<K,V>
         }
         public final boolean contains(Object o) { return containsValue(o); }
         public final Spliterator<V> spliterator() {
-            return Spliterators.spliterator(this, Spliterator.SIZED |
-                                            Spliterator.ORDERED);
+            return new LinkedValueSpliterator<>(LinkedHashMap.this, null, null, -1, 0);
         }
         public final void forEach(Consumer<? super V> action) {
             if (action == null)
@@ -624,9 +624,9 @@ public class LinkedHashMap<K,V>
      * {@code Set.remove}, {@code removeAll}, {@code retainAll} and
      * {@code clear} operations.  It does not support the
      * {@code add} or {@code addAll} operations.
-     * Its {@link Spliterator} typically provides faster sequential
-     * performance but much poorer parallel performance than that of
-     * {@code HashMap}.
+     * Its {@link Spliterator} reports {@link Spliterator#SIZED} and
+     * {@link Spliterator#SUBSIZED}, and splits the encounter order into
+     * exactly sized halves.
      *
      * @return a set view of the mappings contained in this map
      */
@@ -659,9 +659,7 @@ public class LinkedHashMap<K,V>
             return false;
         }
         public final Spliterator<Map.Entry<K,V>> spliterator() {
-            return Spliterators.spliterator(this, Spliterator.SIZED |
-                                            Spliterator.ORDERED |
-                                            Spliterator.DISTINCT);
+            return new LinkedEntrySpliterator<>(LinkedHashMap.this, null, null, -1, 0);
         }
         public final void forEach(Consumer<? super Map.Entry<K,V>> action) {
             if (action == null)
@@ -751,5 +749,229 @@ public class LinkedHashMap<K,V>
         public final Map.Entry<K,V> next() { return nextNode(); }
     }
 
+    // Spliterators
+
+    /**
+     * Base class for the spliterators of the collection views.  A
+     * spliterator covers the entries from current (inclusive) up to fence
+     * (exclusive, or the end of the list if null), and est is the exact
+     * number of those entries, or -1 until the spliterator is bound to the
+     * map on first use.  Splitting walks half of the remaining entries, so
+     * both halves remain exactly sized.
+     */
+    static class LinkedHashMapSpliterator<K,V> {
+        final LinkedHashMap<K,V> map;
+        LinkedHashMap.Entry<K,V> current; // next entry to traverse
+        final LinkedHashMap.Entry<K,V> fence; // one past last, or null
+        int est;                          // exact size, or -1 if unbound
+        int expectedModCount;             // for comodification checks
+
+        LinkedHashMapSpliterator(LinkedHashMap<K,V> map,
+                                 LinkedHashMap.Entry<K,V> origin,
+                                 LinkedHashMap.Entry<K,V> fence,
+                                 int est, int expectedModCount) {
+            this.map = map;
+            this.current = origin;
+            this.fence = fence;
+            this.est = est;
+            this.expectedModCount = expectedModCount;
+        }
+
+        final int getEstimate() { // bind to the map on first use
+            int s;
+            if ((s = est) < 0) {
+                LinkedHashMap<K,V> m = map;
+                expectedModCount = m.modCount;
+                current = m.head;
+                s = est = m.size;
+            }
+            return s;
+        }
+
+        /**
+         * Returns the entry that starts the second half of the remaining
+         * entries, or null if there are too few entries to split.
+         */
+        final LinkedHashMap.Entry<K,V> splitPoint() {
+            int n = getEstimate() >>> 1;
+            LinkedHashMap.Entry<K,V> e = current, f = fence;
+            if (n == 0 || e == null || e == f)
+                return null;
+            do {
+                if ((e = e.after) == null || e == f)
+                    throw new ConcurrentModificationException();
+            } while (--n > 0);
+            if (map.modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            return e;
+        }
+
+        public final long estimateSize() {
+            return (long) getEstimate();
+        }
+    }
+
+    static final class LinkedKeySpliterator<K,V>
+        extends LinkedHashMapSpliterator<K,V>
+        implements Spliterator<K> {
+        LinkedKeySpliterator(LinkedHashMap<K,V> map,
+                             LinkedHashMap.Entry<K,V> origin,
+                             LinkedHashMap.Entry<K,V> fence,
+                             int est, int expectedModCount) {
+            super(map, origin, fence, est, expectedModCount);
+        }
+
+        public LinkedKeySpliterator<K,V> trySplit() {
+            LinkedHashMap.Entry<K,V> s = splitPoint();
+            if (s == null)
+                return null;
+            int h = est >>> 1;
+            est -= h;
+            return new LinkedKeySpliterator<>(map, current, current = s, h,
+                                              expectedModCount);
+        }
+
+        public void forEachRemaining(Consumer<? super K> action) {
+            if (action == null)
+                throw new NullPointerException();
+            getEstimate();
+            LinkedHashMap.Entry<K,V> e = current, f = fence;
+            current = f; // exhaust
+            est = 0;
+            for (; e != null && e != f; e = e.after)
+                action.accept(e.key);
+            if (map.modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        }
+
+        public boolean tryAdvance(Consumer<? super K> action) {
+            LinkedHashMap.Entry<K,V> e;
+            if (action == null)
+                throw new NullPointerException();
+            getEstimate();
+            if ((e = current) == null || e == fence)
+                return false;
+            current = e.after;
+            --est;
+            if (map.modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            action.accept(e.key);
+            return true;
+        }
+
+        public int characteristics() {
+            return Spliterator.SIZED | Spliterator.SUBSIZED |
+                Spliterator.ORDERED | Spliterator.DISTINCT;
+        }
+    }
+
+    static final class LinkedValueSpliterator<K,V>
+        extends LinkedHashMapSpliterator<K,V>
+        implements Spliterator<V> {
+        LinkedValueSpliterator(LinkedHashMap<K,V> map,
+                               LinkedHashMap.Entry<K,V> origin,
+                               LinkedHashMap.Entry<K,V> fence,
+                               int est, int expectedModCount) {
+            super(map, origin, fence, est, expectedModCount);
+        }
+
+        public LinkedValueSpliterator<K,V> trySplit() {
+            LinkedHashMap.Entry<K,V> s = splitPoint();
+            if (s == null)
+                return null;
+            int h = est >>> 1;
+            est -= h;
+            return new LinkedValueSpliterator<>(map, current, current = s, h,
+                                                expectedModCount);
+        }
+
+        public void forEachRemaining(Consumer<? super V> action) {
+            if (action == null)
+                throw new NullPointerException();
+            getEstimate();
+            LinkedHashMap.Entry<K,V> e = current, f = fence;
+            current = f; // exhaust
+            est = 0;
+            for (; e != null && e != f; e = e.after)
+                action.accept(e.value);
+            if (map.modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        }
+
+        public boolean tryAdvance(Consumer<? super V> action) {
+            LinkedHashMap.Entry<K,V> e;
+            if (action == null)
+                throw new NullPointerException();
+            getEstimate();
+            if ((e = current) == null || e == fence)
+                return false;
+            current = e.after;
+            --est;
+            if (map.modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            action.accept(e.value);
+            return true;
+        }
+
+        public int characteristics() {
+            return Spliterator.SIZED | Spliterator.SUBSIZED |
+                Spliterator.ORDERED;
+        }
+    }
+
+    static final class LinkedEntrySpliterator<K,V>
+        extends LinkedHashMapSpliterator<K,V>
+        implements Spliterator<Map.Entry<K,V>> {
+        LinkedEntrySpliterator(LinkedHashMap<K,V> map,
+                               LinkedHashMap.Entry<K,V> origin,
+                               LinkedHashMap.Entry<K,V> fence,
+                               int est, int expectedModCount) {
+            super(map, origin, fence, est, expectedModCount);
+        }
+
+        public LinkedEntrySpliterator<K,V> trySplit() {
+            LinkedHashMap.Entry<K,V> s = splitPoint();
+            if (s == null)
+                return null;
+            int h = est >>> 1;
+            est -= h;
+            return new LinkedEntrySpliterator<>(map, current, current = s, h,
+                                                expectedModCount);
+        }
+
+        public void forEachRemaining(Consumer<? super Map.Entry<K,V>> action) {
+            if (action == null)
+                throw new NullPointerException();
+            getEstimate();
+            LinkedHashMap.Entry<K,V> e = current, f = fence;
+            current = f; // exhaust
+            est = 0;
+            for (; e != null && e != f; e = e.after)
+                action.accept(e);
+            if (map.modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        }
+
+        public boolean tryAdvance(Consumer<? super Map.Entry<K,V>> action) {
+            LinkedHashMap.Entry<K,V> e;
+            if (action == null)
+                throw new NullPointerException();
+            getEstimate();
+            if ((e = current) == null || e == fence)
+                return false;
+            current = e.after;
+            --est;
+            if (map.modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            action.accept(e);
+            return true;
+        }
+
+        public int characteristics() {
+            return Spliterator.SIZED | Spliterator.SUBSIZED |
+                Spliterator.ORDERED | Spliterator.DISTINCT;
+        }
+    }
+
 
 }
@@ -1051,7 +1051,7 @@ public class TreeMap<K,V>
         }
 
         public Spliterator<V> spliterator() {
-            return new ValueSpliterator<>(TreeMap.this, null, null, 0, -1, 0);
+            return new ValueSpliterator<>(TreeMap.this, null, null, -1, 0);
         }
     }
 
@@ -1091,7 +1091,7 @@ public class TreeMap<K,V>
         }
 
         public Spliterator<Map.Entry<K,V>> spliterator() {
-            return new EntrySpliterator<>(TreeMap.this, null, null, 0, -1, 0);
+            return new EntrySpliterator<>(TreeMap.this, null, null, -1, 0);
         }
     }
 
@@ -2629,27 +2629,27 @@ public class TreeMap<K,V>
     }
 
     final Spliterator<K> keySpliterator() {
-        return new KeySpliterator<>(this, null, null, 0, -1, 0);
+        return new KeySpliterator<>(this, null, null, -1, 0);
     }
 
     final Spliterator<K> descendingKeySpliterator() {
-        return new DescendingKeySpliterator<>(this, null, null, 0, -2, 0);
+        return new DescendingKeySpliterator<>(this, null, null, -2, 0);
     }
 
     /**
      * Base class for spliterators.  Iteration starts at a given
      * origin and continues up to but not including a given fence (or
-     * null for end).  At top-level, for ascending cases, the first
-     * split uses the root as left-fence/right-origin. From there,
-     * right-hand splits replace the current fence with its left
-     * child, also serving as origin for the split-off spliterator.
-     * Left-hands are symmetric. Descending versions place the origin
-     * at the end and invert ascending split rules.  This base class
-     * is non-committal about directionality, or whether the top-level
-     * spliterator covers the whole tree. This means that the actual
-     * split mechanics are located in subclasses. Some of the subclass
-     * trySplit methods are identical (except for return types), but
-     * not nicely factorable.
+     * null for end).  Splits follow the tree structure: the split
+     * point, used as left-fence/right-origin, is the entry of the
+     * range, other than the origin, that is closest to the root.  It
+     * is found by descending from the root toward the range, taking
+     * O(log n) steps, and, as the tree is balanced, divides the range
+     * roughly in half.  The size is exact only at top-level; the
+     * estimate of a split range is divided between its halves, neither
+     * of which is empty, and decremented as elements are traversed.
+     * Descending versions place the origin at the end and invert the
+     * ascending rules.  Some of the subclass trySplit methods are
+     * identical (except for return types), but not nicely factorable.
      *
      * Currently, subclass versions exist only for the full map
      * (including descending keys via its descendingMap).  Others are
@@ -2665,19 +2665,20 @@ public class TreeMap<K,V>
         final TreeMap<K,V> tree;
         Entry<K,V> current; // traverser; initially first node in range
         Entry<K,V> fence;   // one past last, or null
-        int side;                   // 0: top, -1: is a left split, +1: right
         int est;                    // size estimate (exact only for top-level)
         int expectedModCount;       // for CME checks
+        boolean split;              // true if split, so est is inexact
 
         TreeMapSpliterator(TreeMap<K,V> tree,
                            Entry<K,V> origin, Entry<K,V> fence,
-                           int side, int est, int expectedModCount) {
+                           int est, int expectedModCount) {
             this.tree = tree;
             this.current = origin;
             this.fence = fence;
-            this.side = side;
             this.est = est;
             this.expectedModCount = expectedModCount;
+            this.split = (est >= 0); // only split-off halves are constructed
+                                     // with a non-negative estimate
         }
 
         final int getEstimate() { // force initialization
@@ -2695,7 +2696,49 @@ public class TreeMap<K,V>
         }
 
         public final long estimateSize() {
-            return (long)getEstimate();
+            int s = getEstimate();
+            return (current == fence) ? 0L : (long)Math.max(s, 1);
+        }
+
+        /**
+         * Returns the entry at which to split the remaining range, which
+         * is the origin of the right half of the split, or null if the
+         * range holds fewer than two entries.  This is the entry of the
+         * range, other than the origin, that is closest to the root.
+         */
+        final Entry<K,V> splitPoint(boolean descending) {
+            if (est < 0)
+                getEstimate(); // force initialization
+            Entry<K,V> e = current, f = fence;
+            if (e == null || e == f)
+                return null;
+            TreeMap<K,V> t = tree;
+            Entry<K,V> s = t.root;
+            while (s != null) {
+                int c = t.compare(s.key, e.key);
+                if (descending ? c >= 0 : c <= 0)       // not past origin
+                    s = descending ? s.left : s.right;
+                else if (f != null &&
+                         ((c = t.compare(s.key, f.key)) == 0 ||
+                          (c < 0) == descending))       // at or past fence
+                    s = descending ? s.right : s.left;
+                else
+                    break;
+            }
+            if (t.modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            return s;
+        }
+
+        /**
+         * Divides the size estimate between the halves of a split, and
+         * returns the estimate of the left half.
+         */
+        final int splitEstimate() {
+            int h = Math.max(est >>> 1, 1);
+            est = Math.max(est - h, 1);
+            split = true;
+            return h;
         }
     }
 
@@ -2704,27 +2747,17 @@ public class TreeMap<K,V>
         implements Spliterator<K> {
         KeySpliterator(TreeMap<K,V> tree,
                        Entry<K,V> origin, Entry<K,V> fence,
-                       int side, int est, int expectedModCount) {
-            super(tree, origin, fence, side, est, expectedModCount);
+                       int est, int expectedModCount) {
+            super(tree, origin, fence, est, expectedModCount);
         }
 
         public KeySpliterator<K,V> trySplit() {
-            if (est < 0)
-                getEstimate(); // force initialization
-            int d = side;
-            Entry<K,V> e = current, f = fence,
-                s = ((e == null || e == f) ? null :      // empty
-                     (d == 0)              ? tree.root : // was top
-                     (d >  0)              ? e.right :   // was right
-                     (d <  0 && f != null) ? f.left :    // was left
-                     null);
-            if (s != null && s != e && s != f &&
-                tree.compare(e.key, s.key) < 0) {        // e not already past s
-                side = 1;
-                return new KeySpliterator<>
-                    (tree, e, current = s, -1, est >>>= 1, expectedModCount);
-            }
-            return null;
+            Entry<K,V> s = splitPoint(false);
+            if (s == null)
+                return null;
+            int h = splitEstimate();
+            return new KeySpliterator<>
+                (tree, current, current = s, h, expectedModCount);
         }
 
         public void forEachRemaining(Consumer<? super K> action) {
@@ -2735,6 +2768,7 @@ public class TreeMap<K,V>
             Entry<K,V> f = fence, e, p, pl;
             if ((e = current) != null && e != f) {
                 current = f; // exhaust
+                est = 0;
                 do {
                     action.accept(e.key);
                     if ((p = e.right) != null) {
@@ -2760,6 +2794,8 @@ public class TreeMap<K,V>
             if ((e = current) == null || e == fence)
                 return false;
             current = successor(e);
+            if (est > 0)
+                --est;
             action.accept(e.key);
             if (tree.modCount != expectedModCount)
                 throw new ConcurrentModificationException();
@@ -2767,7 +2803,7 @@ public class TreeMap<K,V>
         }
 
         public int characteristics() {
-            return (side == 0 ? Spliterator.SIZED : 0) |
+            return (split ? 0 : Spliterator.SIZED) |
                 Spliterator.DISTINCT | Spliterator.SORTED | Spliterator.ORDERED;
         }
 
@@ -2782,27 +2818,17 @@ public class TreeMap<K,V>
         implements Spliterator<K> {
         DescendingKeySpliterator(TreeMap<K,V> tree,
                                  Entry<K,V> origin, Entry<K,V> fence,
-                                 int side, int est, int expectedModCount) {
-            super(tree, origin, fence, side, est, expectedModCount);
+                                 int est, int expectedModCount) {
+            super(tree, origin, fence, est, expectedModCount);
         }
 
         public DescendingKeySpliterator<K,V> trySplit() {
-            if (est < 0)
-                getEstimate(); // force initialization
-            int d = side;
-            Entry<K,V> e = current, f = fence,
-                    s = ((e == null || e == f) ? null :      // empty
-                         (d == 0)              ? tree.root : // was top
-                         (d <  0)              ? e.left :    // was left
-                         (d >  0 && f != null) ? f.right :   // was right
-                         null);
-            if (s != null && s != e && s != f &&
-                tree.compare(e.key, s.key) > 0) {       // e not already past s
-                side = 1;
-                return new DescendingKeySpliterator<>
-                        (tree, e, current = s, -1, est >>>= 1, expectedModCount);
-            }
-            return null;
+            Entry<K,V> s = splitPoint(true);
+            if (s == null)
+                return null;
+            int h = splitEstimate();
+            return new DescendingKeySpliterator<>
+                (tree, current, current = s, h, expectedModCount);
         }
 
         public void forEachRemaining(Consumer<? super K> action) {
@@ -2813,6 +2839,7 @@ public class TreeMap<K,V>
             Entry<K,V> f = fence, e, p, pr;
             if ((e = current) != null && e != f) {
                 current = f; // exhaust
+                est = 0;
                 do {
                     action.accept(e.key);
                     if ((p = e.left) != null) {
@@ -2838,6 +2865,8 @@ public class TreeMap<K,V>
             if ((e = current) == null || e == fence)
                 return false;
             current = predecessor(e);
+            if (est > 0)
+                --est;
             action.accept(e.key);
             if (tree.modCount != expectedModCount)
                 throw new ConcurrentModificationException();
@@ -2845,7 +2874,7 @@ public class TreeMap<K,V>
         }
 
         public int characteristics() {
-            return (side == 0 ? Spliterator.SIZED : 0) |
+            return (split ? 0 : Spliterator.SIZED) |
                 Spliterator.DISTINCT | Spliterator.ORDERED;
         }
     }
@@ -2855,27 +2884,17 @@ public class TreeMap<K,V>
             implements Spliterator<V> {
         ValueSpliterator(TreeMap<K,V> tree,
                          Entry<K,V> origin, Entry<K,V> fence,
-                         int side, int est, int expectedModCount) {
-            super(tree, origin, fence, side, est, expectedModCount);
+                         int est, int expectedModCount) {
+            super(tree, origin, fence, est, expectedModCount);
         }
 
         public ValueSpliterator<K,V> trySplit() {
-            if (est < 0)
-                getEstimate(); // force initialization
-            int d = side;
-            Entry<K,V> e = current, f = fence,
-                    s = ((e == null || e == f) ? null :      // empty
-                         (d == 0)              ? tree.root : // was top
-                         (d >  0)              ? e.right :   // was right
-                         (d <  0 && f != null) ? f.left :    // was left
-                         null);
-            if (s != null && s != e && s != f &&
-                tree.compare(e.key, s.key) < 0) {        // e not already past s
-                side = 1;
-                return new ValueSpliterator<>
-                        (tree, e, current = s, -1, est >>>= 1, expectedModCount);
-            }
-            return null;
+            Entry<K,V> s = splitPoint(false);
+            if (s == null)
+                return null;
+            int h = splitEstimate();
+            return new ValueSpliterator<>
+                (tree, current, current = s, h, expectedModCount);
         }
 
         public void forEachRemaining(Consumer<? super V> action) {
@@ -2886,6 +2905,7 @@ public class TreeMap<K,V>
             Entry<K,V> f = fence, e, p, pl;
             if ((e = current) != null && e != f) {
                 current = f; // exhaust
+                est = 0;
                 do {
                     action.accept(e.value);
                     if ((p = e.right) != null) {
@@ -2911,6 +2931,8 @@ public class TreeMap<K,V>
             if ((e = current) == null || e == fence)
                 return false;
             current = successor(e);
+            if (est > 0)
+                --est;
             action.accept(e.value);
             if (tree.modCount != expectedModCount)
                 throw new ConcurrentModificationException();
@@ -2918,7 +2940,7 @@ public class TreeMap<K,V>
         }
 
         public int characteristics() {
-            return (side == 0 ? Spliterator.SIZED : 0) | Spliterator.ORDERED;
+            return (split ? 0 : Spliterator.SIZED) | Spliterator.ORDERED;
         }
     }
 
@@ -2927,27 +2949,17 @@ public class TreeMap<K,V>
         implements Spliterator<Map.Entry<K,V>> {
         EntrySpliterator(TreeMap<K,V> tree,
                          Entry<K,V> origin, Entry<K,V> fence,
-                         int side, int est, int expectedModCount) {
-            super(tree, origin, fence, side, est, expectedModCount);
+                         int est, int expectedModCount) {
+            super(tree, origin, fence, est, expectedModCount);
         }
 
         public EntrySpliterator<K,V> trySplit() {
-            if (est < 0)
-                getEstimate(); // force initialization
-            int d = side;
-            Entry<K,V> e = current, f = fence,
-                    s = ((e == null || e == f) ? null :      // empty
-                         (d == 0)              ? tree.root : // was top
-                         (d >  0)              ? e.right :   // was right
-                         (d <  0 && f != null) ? f.left :    // was left
-                         null);
-            if (s != null && s != e && s != f &&
-                tree.compare(e.key, s.key) < 0) {        // e not already past s
-                side = 1;
-                return new EntrySpliterator<>
-                        (tree, e, current = s, -1, est >>>= 1, expectedModCount);
-            }
-            return null;
+            Entry<K,V> s = splitPoint(false);
+            if (s == null)
+                return null;
+            int h = splitEstimate();
+            return new EntrySpliterator<>
+                (tree, current, current = s, h, expectedModCount);
         }
 
         public void forEachRemaining(Consumer<? super Map.Entry<K, V>> action) {
@@ -2958,6 +2970,7 @@ public class TreeMap<K,V>
             Entry<K,V> f = fence, e, p, pl;
             if ((e = current) != null && e != f) {
                 current = f; // exhaust
+                est = 0;
                 do {
                     action.accept(e);
                     if ((p = e.right) != null) {
@@ -2983,6 +2996,8 @@ public class TreeMap<K,V>
             if ((e = current) == null || e == fence)
                 return false;
             current = successor(e);
+            if (est > 0)
+                --est;
             action.accept(e);
             if (tree.modCount != expectedModCount)
                 throw new ConcurrentModificationException();
@@ -2990,7 +3005,7 @@ public class TreeMap<K,V>
         }
 
         public int characteristics() {
-            return (side == 0 ? Spliterator.SIZED : 0) |
+            return (split ? 0 : Spliterator.SIZED) |
                     Spliterator.DISTINCT | Spliterator.SORTED | Spliterator.ORDERED;
         }
 
@@ -3093,13 +3093,25 @@ public class ConcurrentSkipListMap<K,V> extends AbstractMap<K,V>
      * internal classes.)
      *
      * The basic split strategy is to recursively descend from top
-     * level, row by row, descending to next row when either split
-     * off, or the end of row is encountered. Control of the number of
-     * splits relies on some statistical estimation: The expected
-     * remaining number of elements of a skip list when advancing
-     * either across or down decreases by about 25%.
+     * level, row by row, until reaching a row holding at least
+     * MIN_SPLIT_INDICES indices within range (or any index within
+     * range on the bottom index level), and to split at the median
+     * of those indices.  Because indices are placed at each level
+     * with a fixed probability, the median index of a row divides
+     * the remaining elements roughly in half, so the size estimate
+     * is halved on each split.  Splitting only at the first index of
+     * a row instead tends to peel off small prefixes, leaving most
+     * of the elements in the suffix.
      */
     abstract static class CSLMSpliterator<K,V> {
+        /**
+         * The minimum number of in-range indices of a row for it to be
+         * split at its median rather than descending to the next row.
+         * Sparse upper rows have too few indices for their median to
+         * be close to the middle of the elements.
+         */
+        static final int MIN_SPLIT_INDICES = 4;
+
         final Comparator<? super K> comparator;
         final K fence;     // exclusive upper bound for keys, or null if to end
         Index<K,V> row;    // the level to split out
@@ -3112,6 +3124,60 @@ public class ConcurrentSkipListMap<K,V> extends AbstractMap<K,V>
         }
 
         public final long estimateSize() { return est; }
+
+        /**
+         * Finds the split point for a spliterator currently at a node
+         * with key ek, which is null for the base header node of a
+         * spliterator over the whole map.  On success, advances
+         * current and row past the split point, halves the estimate,
+         * and returns the row for the prefix, which then ends at
+         * current.key.  Returns null if no index lies within range.
+         */
+        final Index<K,V> split(K ek) {
+            Comparator<? super K> cmp = comparator;
+            K f = fence;
+            for (Index<K,V> q = row; q != null; q = row = q.down) {
+                int c = 0;
+                for (Index<K,V> s = q.right; s != null; s = s.right) {
+                    Node<K,V> b, n; K sk;
+                    if ((b = s.node) == null || (n = b.next) == null ||
+                        (sk = n.key) == null ||
+                        (ek != null && cpr(cmp, sk, ek) <= 0))
+                        continue;
+                    if (f != null && cpr(cmp, sk, f) >= 0)
+                        break;
+                    if (n.val != null)
+                        ++c;
+                }
+                if (c == 0 || (c < MIN_SPLIT_INDICES && q.down != null))
+                    continue;
+                // rescan to the median, keeping the last valid index
+                // in case the row changed concurrently
+                Index<K,V> m = null; Node<K,V> mn = null;
+                for (Index<K,V> s = q.right; s != null && c >= 0;
+                     s = s.right) {
+                    Node<K,V> b, n; K sk;
+                    if ((b = s.node) == null || (n = b.next) == null ||
+                        (sk = n.key) == null ||
+                        (ek != null && cpr(cmp, sk, ek) <= 0))
+                        continue;
+                    if (f != null && cpr(cmp, sk, f) >= 0)
+                        break;
+                    if (n.val != null) {
+                        m = s;
+                        mn = n;
+                        c -= 2;
+                    }
+                }
+                if (m != null) {
+                    current = mn;
+                    row = (m.right != null) ? m : m.down;
+                    est >>>= 1;
+                    return q.down;
+                }
+            }
+            return null;
+        }
     }
 
     static final class KeySpliterator<K,V> extends CSLMSpliterator<K,V>
@@ -3122,24 +3188,10 @@ public class ConcurrentSkipListMap<K,V> extends AbstractMap<K,V>
         }
 
         public KeySpliterator<K,V> trySplit() {
-            Node<K,V> e; K ek;
-            Comparator<? super K> cmp = comparator;
-            K f = fence;
-            if ((e = current) != null && (ek = e.key) != null) {
-                for (Index<K,V> q = row; q != null; q = row = q.down) {
-                    Index<K,V> s; Node<K,V> b, n; K sk;
-                    if ((s = q.right) != null && (b = s.node) != null &&
-                        (n = b.next) != null && n.val != null &&
-                        (sk = n.key) != null && cpr(cmp, sk, ek) > 0 &&
-                        (f == null || cpr(cmp, sk, f) < 0)) {
-                        current = n;
-                        Index<K,V> r = q.down;
-                        row = (s.right != null) ? s : s.down;
-                        est -= est >>> 2;
-                        return new KeySpliterator<K,V>(cmp, r, e, sk, est);
-                    }
-                }
-            }
+            Node<K,V> e; Index<K,V> r;
+            if ((e = current) != null && (r = split(e.key)) != null)
+                return new KeySpliterator<K,V>(comparator, r, e,
+                                               current.key, est);
             return null;
         }
 
@@ -3212,24 +3264,10 @@ public class ConcurrentSkipListMap<K,V> extends AbstractMap<K,V>
         }
 
         public ValueSpliterator<K,V> trySplit() {
-            Node<K,V> e; K ek;
-            Comparator<? super K> cmp = comparator;
-            K f = fence;
-            if ((e = current) != null && (ek = e.key) != null) {
-                for (Index<K,V> q = row; q != null; q = row = q.down) {
-                    Index<K,V> s; Node<K,V> b, n; K sk;
-                    if ((s = q.right) != null && (b = s.node) != null &&
-                        (n = b.next) != null && n.val != null &&
-                        (sk = n.key) != null && cpr(cmp, sk, ek) > 0 &&
-                        (f == null || cpr(cmp, sk, f) < 0)) {
-                        current = n;
-                        Index<K,V> r = q.down;
-                        row = (s.right != null) ? s : s.down;
-                        est -= est >>> 2;
-                        return new ValueSpliterator<K,V>(cmp, r, e, sk, est);
-                    }
-                }
-            }
+            Node<K,V> e; Index<K,V> r;
+            if ((e = current) != null && (r = split(e.key)) != null)
+                return new ValueSpliterator<K,V>(comparator, r, e,
+                                                 current.key, est);
             return null;
         }
 
@@ -3298,24 +3336,10 @@ public class ConcurrentSkipListMap<K,V> extends AbstractMap<K,V>
         }
 
         public EntrySpliterator<K,V> trySplit() {
-            Node<K,V> e; K ek;
-            Comparator<? super K> cmp = comparator;
-            K f = fence;
-            if ((e = current) != null && (ek = e.key) != null) {
-                for (Index<K,V> q = row; q != null; q = row = q.down) {
-                    Index<K,V> s; Node<K,V> b, n; K sk;
-                    if ((s = q.right) != null && (b = s.node) != null &&
-                        (n = b.next) != null && n.val != null &&
-                        (sk = n.key) != null && cpr(cmp, sk, ek) > 0 &&
-                        (f == null || cpr(cmp, sk, f) < 0)) {
-                        current = n;
-                        Index<K,V> r = q.down;
-                        row = (s.right != null) ? s : s.down;
-                        est -= est >>> 2;
-                        return new EntrySpliterator<K,V>(cmp, r, e, sk, est);
-                    }
-                }
-            }
+            Node<K,V> e; Index<K,V> r;
+            if ((e = current) != null && (r = split(e.key)) != null)
+                return new EntrySpliterator<K,V>(comparator, r, e,
+                                                 current.key, est);
             return null;
         }
 
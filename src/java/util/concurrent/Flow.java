@@ -35,6 +35,9 @@
 
 package java.util.concurrent;
 
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
 /**
  * Interrelated interfaces and static methods for establishing
  * flow-controlled components in which {@link Publisher Publishers}
@@ -301,6 +304,77 @@ public final class Flow {
     public static interface Processor<T,R> extends Subscriber<T>, Publisher<R> {
     }
 
+    /**
+     * Returns a Publisher that issues the elements of a stream to each
+     * subscriber, pulling elements from the stream only as far as the
+     * subscriber has requested them.  Each subscriber receives the
+     * elements of a new stream obtained from the given supplier when
+     * the subscriber is first signalled.  The stream is closed when its
+     * elements are exhausted, an exception is thrown while issuing them,
+     * or the subscription is cancelled.
+     *
+     * <p>Signals to each subscriber are issued by tasks run by the
+     * given executor.  A task issues as many items as have been
+     * requested before exiting, so a subscriber requesting items in
+     * batches costs one task per batch rather than one task per item.
+     *
+     * @param source the supplier of the stream for each subscriber
+     * @param executor the executor to use for async delivery
+     * @param <T> the published item type
+     * @return a Publisher of the elements of the supplied streams
+     * @throws NullPointerException if source or executor is null
+     * @since 12
+     */
+    public static <T> Publisher<T> publisherOf(
+        Supplier<? extends Stream<? extends T>> source, Executor executor) {
+        return FlowStreams.publisherOf(source, executor);
+    }
+
+    /**
+     * Returns a Publisher that issues the elements of a stream to each
+     * subscriber, as if by {@link #publisherOf(Supplier, Executor)},
+     * using the same default executor as {@link SubmissionPublisher}.
+     *
+     * @param source the supplier of the stream for each subscriber
+     * @param <T> the published item type
+     * @return a Publisher of the elements of the supplied streams
+     * @throws NullPointerException if source is null
+     * @since 12
+     */
+    public static <T> Publisher<T> publisherOf(
+        Supplier<? extends Stream<? extends T>> source) {
+        return FlowStreams.publisherOf(source, SubmissionPublisher.ASYNC_POOL);
+    }
+
+    /**
+     * Returns a sequential Stream of the items issued by the given
+     * Publisher.  The publisher is subscribed to when the stream is
+     * first traversed.  At most {@code bufferCapacity} items are
+     * requested ahead of the consumer of the stream, and further items
+     * are requested in batches of half that capacity as the consumer
+     * takes them, so a fast publisher is throttled to the pace of the
+     * consumer.  Traversal blocks while no item is available.  Closing
+     * the stream cancels the subscription.
+     *
+     * <p>If the publisher signals {@link Subscriber#onError onError},
+     * or the consuming thread is interrupted while waiting for an item,
+     * traversal throws a {@link CompletionException} with the error or
+     * {@link InterruptedException} as its cause.  A publisher issuing
+     * more items than requested is an error.
+     *
+     * @param publisher the publisher
+     * @param bufferCapacity the maximum number of buffered items
+     * @param <T> the item type
+     * @return a Stream of the items of the publisher
+     * @throws NullPointerException if publisher is null
+     * @throws IllegalArgumentException if bufferCapacity not positive
+     * @since 12
+     */
+    public static <T> Stream<T> streamOf(Publisher<? extends T> publisher,
+                                         int bufferCapacity) {
+        return FlowStreams.streamOf(publisher, bufferCapacity);
+    }
+
     static final int DEFAULT_BUFFER_SIZE = 256;
 
     /**
@@ -0,0 +1,420 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package java.util.concurrent;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import static java.util.concurrent.Flow.Publisher;
+import static java.util.concurrent.Flow.Subscriber;
+import static java.util.concurrent.Flow.Subscription;
+
+/**
+ * Adapters between {@link Stream Streams} and {@link Publisher
+ * Publishers}, supporting methods {@link Flow#publisherOf} and
+ * {@link Flow#streamOf}.
+ *
+ * @since 12
+ */
+final class FlowStreams {
+    private FlowStreams() {}
+
+    /**
+     * A cold publisher issuing the elements of a new stream to each
+     * subscriber.
+     */
+    static final class StreamPublisher<T> implements Publisher<T> {
+        final Supplier<? extends Stream<? extends T>> source;
+        final Executor executor;
+
+        StreamPublisher(Supplier<? extends Stream<? extends T>> source,
+                        Executor executor) {
+            this.source = source;
+            this.executor = executor;
+        }
+
+        public void subscribe(Subscriber<? super T> subscriber) {
+            if (subscriber == null)
+                throw new NullPointerException();
+            new StreamSubscription<T>(subscriber, source, executor).signal();
+        }
+    }
+
+    /**
+     * A subscription pulling elements from the spliterator of a stream
+     * only as far as requested.  All signals to the subscriber are
+     * issued by a drain task, of which at most one runs at a time: the
+     * thread that raises wip from zero starts the task, and the task
+     * loops until it has seen all signals that raised wip.  A task
+     * issues as many items as there is demand before exiting, so a
+     * subscriber requesting items in batches costs one task per batch
+     * rather than one per item.
+     */
+    static final class StreamSubscription<T>
+        implements Subscription, Runnable, Consumer<T> {
+        final Subscriber<? super T> subscriber;
+        final Supplier<? extends Stream<? extends T>> source;
+        final Executor executor;
+        volatile long demand;           // unfilled requests
+        volatile int wip;               // pending signals
+        volatile boolean cancelled;
+        volatile Throwable pendingError; // set on bad request
+        // fields below are only accessed by the drain task
+        boolean subscribed;
+        boolean done;
+        Stream<? extends T> stream;
+        Spliterator<? extends T> spliterator;
+
+        StreamSubscription(Subscriber<? super T> subscriber,
+                           Supplier<? extends Stream<? extends T>> source,
+                           Executor executor) {
+            this.subscriber = subscriber;
+            this.source = source;
+            this.executor = executor;
+        }
+
+        public void request(long n) {
+            if (n <= 0L)
+                pendingError = new IllegalArgumentException(
+                    "non-positive subscription request");
+            else {
+                for (;;) {
+                    long p = demand, d = p + n;  // saturate
+                    if (DEMAND.compareAndSet(this, p, d < p ? Long.MAX_VALUE : d))
+                        break;
+                }
+            }
+            signal();
+        }
+
+        public void cancel() {
+            cancelled = true;
+            signal();
+        }
+
+        /**
+         * Starts the drain task unless it is already running.  If the
+         * executor rejects the task, the caller owns the drain and
+         * terminates the subscription itself.
+         */
+        final void signal() {
+            if ((int)WIP.getAndAdd(this, 1) == 0) {
+                try {
+                    executor.execute(this);
+                } catch (RuntimeException | Error ex) {
+                    terminate(ex);  // wip stays positive; no more drains
+                }
+            }
+        }
+
+        public void run() {
+            int missed = 1;
+            do {
+                drain();
+            } while ((missed = (int)WIP.getAndAdd(this, -missed) - missed) != 0);
+        }
+
+        /** Issues signals while there is demand and no terminal state. */
+        final void drain() {
+            if (done)
+                return;
+            Subscriber<? super T> s = subscriber;
+            if (!subscribed) {
+                subscribed = true;
+                try {
+                    s.onSubscribe(this);
+                } catch (Throwable ex) {
+                    cancelled = true;
+                }
+            }
+            Spliterator<? extends T> sp;
+            try {
+                if ((sp = spliterator) == null && !cancelled) {
+                    stream = source.get();
+                    spliterator = sp = stream.spliterator();
+                }
+                long d = demand, emitted = 0L;
+                for (;;) {
+                    Throwable ex;
+                    if (cancelled) {
+                        terminate(null);
+                        break;
+                    }
+                    else if ((ex = pendingError) != null) {
+                        terminate(ex);
+                        break;
+                    }
+                    else if (emitted == d) {
+                        if (d == Long.MAX_VALUE)
+                            emitted = 0L;
+                        else if ((d = (long)DEMAND.getAndAdd(this, -emitted)
+                                  - emitted) != 0L)
+                            emitted = 0L;
+                        else {              // complete without demand if known empty
+                            if (sp.getExactSizeIfKnown() == 0L)
+                                complete();
+                            break;
+                        }
+                    }
+                    else if (sp.tryAdvance(this))
+                        ++emitted;
+                    else {
+                        complete();
+                        break;
+                    }
+                }
+            } catch (Throwable ex) {
+                terminate(ex);
+            }
+        }
+
+        /** Issues an item from the spliterator to the subscriber. */
+        public void accept(T item) {
+            subscriber.onNext(item);
+        }
+
+        /** Closes the stream and signals onComplete. */
+        final void complete() {
+            terminate(null);
+            try {
+                subscriber.onComplete();
+            } catch (Throwable ignore) {
+            }
+        }
+
+        /**
+         * Closes the stream, and signals onError unless the error is
+         * null.  Called only by the owner of the drain.
+         */
+        final void terminate(Throwable error) {
+            if (!done) {
+                done = true;
+                cancelled = true;
+                spliterator = null;
+                Stream<? extends T> st = stream;
+                stream = null;
+                try {
+                    if (st != null)
+                        st.close();
+                } catch (Throwable ex) {
+                    if (error == null)
+                        error = ex;
+                }
+                if (error != null) {
+                    Subscriber<? super T> s = subscriber;
+                    try {
+                        if (!subscribed) {
+                            subscribed = true;
+                            s.onSubscribe(this);
+                        }
+                        s.onError(error);
+                    } catch (Throwable ignore) {
+                    }
+                }
+            }
+        }
+
+        // VarHandle mechanics
+        static final VarHandle DEMAND;
+        static final VarHandle WIP;
+
+        static {
+            try {
+                MethodHandles.Lookup l = MethodHandles.lookup();
+                DEMAND = l.findVarHandle(StreamSubscription.class, "demand",
+                                         long.class);
+                WIP = l.findVarHandle(StreamSubscription.class, "wip",
+                                      int.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+    }
+
+    /**
+     * A subscriber buffering at most capacity items, consumed as the
+     * elements of a sequential stream.  The publisher is subscribed on
+     * the first traversal.  Items are requested in batches of half the
+     * capacity as the consumer takes them, so the publisher is
+     * throttled to the pace of the consumer.
+     */
+    static final class BufferedSubscriber<T>
+        implements Subscriber<T>, Spliterator<T> {
+        /** Queued after the last item when the publisher terminates */
+        static final Object END = new Object();
+
+        final Publisher<? extends T> publisher;
+        final int capacity;
+        final int limit;                // batch size for requests
+        final BlockingQueue<Object> queue;
+        volatile Subscription subscription;
+        volatile boolean cancelled;
+        volatile Throwable error;       // set before queueing END
+        // fields below are only accessed by the consuming thread
+        boolean subscribed;
+        boolean ended;
+        int consumed;                   // items taken since last request
+
+        BufferedSubscriber(Publisher<? extends T> publisher, int capacity) {
+            this.publisher = publisher;
+            this.capacity = capacity;
+            this.limit = Math.max(1, capacity >>> 1);
+            this.queue = new ArrayBlockingQueue<Object>(capacity + 1); // + END
+        }
+
+        public void onSubscribe(Subscription s) {
+            if (s == null)
+                throw new NullPointerException();
+            if (subscription != null)
+                s.cancel();             // already subscribed
+            else {
+                subscription = s;
+                if (cancelled)
+                    s.cancel();
+                else
+                    s.request(capacity);
+            }
+        }
+
+        public void onNext(T item) {
+            if (item == null)
+                throw new NullPointerException();
+            if (queue.size() < capacity)
+                queue.offer(item);
+            else {
+                cancel();
+                onError(new IllegalStateException(
+                            "Publisher exceeded demand"));
+            }
+        }
+
+        public void onError(Throwable ex) {
+            error = (ex == null) ? new NullPointerException() : ex;
+            queue.offer(END);
+        }
+
+        public void onComplete() {
+            queue.offer(END);
+        }
+
+        /** Cancels the subscription; invoked when the stream is closed. */
+        final void cancel() {
+            cancelled = true;
+            Subscription s = subscription;
+            if (s != null)
+                s.cancel();
+        }
+
+        /**
+         * Returns the next item, waiting for it if necessary, or null if
+         * the publisher has completed.
+         *
+         * @throws CompletionException if the publisher signalled an
+         *         error, or the thread was interrupted while waiting
+         */
+        final Object take() {
+            if (ended)
+                return null;
+            if (!subscribed) {
+                subscribed = true;
+                publisher.subscribe(this);
+            }
+            Object x;
+            try {
+                x = queue.take();
+            } catch (InterruptedException ie) {
+                cancel();
+                Thread.currentThread().interrupt();
+                throw new CompletionException(ie);
+            }
+            if (x == END) {
+                ended = true;
+                Throwable ex;
+                if ((ex = error) != null)
+                    throw new CompletionException(ex);
+                return null;
+            }
+            if (++consumed == limit) {
+                consumed = 0;
+                subscription.request(limit);
+            }
+            return x;
+        }
+
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (action == null)
+                throw new NullPointerException();
+            Object x;
+            if ((x = take()) == null)
+                return false;
+            @SuppressWarnings("unchecked") T t = (T) x;
+            action.accept(t);
+            return true;
+        }
+
+        public void forEachRemaining(Consumer<? super T> action) {
+            if (action == null)
+                throw new NullPointerException();
+            for (Object x; (x = take()) != null; ) {
+                @SuppressWarnings("unchecked") T t = (T) x;
+                action.accept(t);
+            }
+        }
+
+        public Spliterator<T> trySplit() {
+            return null;
+        }
+
+        public long estimateSize() {
+            return Long.MAX_VALUE;
+        }
+
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.NONNULL;
+        }
+    }
+
+    static <T> Publisher<T> publisherOf(
+        Supplier<? extends Stream<? extends T>> source, Executor executor) {
+        if (source == null || executor == null)
+            throw new NullPointerException();
+        return new StreamPublisher<T>(source, executor);
+    }
+
+    static <T> Stream<T> streamOf(Publisher<? extends T> publisher,
+                                  int bufferCapacity) {
+        if (publisher == null)
+            throw new NullPointerException();
+        if (bufferCapacity <= 0)
+            throw new IllegalArgumentException("capacity must be positive");
+        BufferedSubscriber<T> s =
+            new BufferedSubscriber<T>(publisher, bufferCapacity);
+        return StreamSupport.stream(s, false).onClose(s::cancel);
+    }
+}
@@ -39,6 +39,7 @@ import java.lang.invoke.MethodHandles;
 import java.lang.invoke.VarHandle;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.locks.LockSupport;
 import java.util.function.BiConsumer;
@@ -209,7 +210,7 @@ public class SubmissionPublisher<T> implements Publisher<T>,
      * Default executor -- ForkJoinPool.commonPool() unless it cannot
      * support parallelism.
      */
-    private static final Executor ASYNC_POOL =
+    static final Executor ASYNC_POOL =
         (ForkJoinPool.getCommonPoolParallelism() > 1) ?
         ForkJoinPool.commonPool() : new ThreadPerTaskExecutor();
 
@@ -389,37 +390,17 @@ public class SubmissionPublisher<T> implements Publisher<T>,
                         BiPredicate<Subscriber<? super T>, ? super T> onDrop) {
         if (item == null) throw new NullPointerException();
         int lag = 0;
-        boolean complete, unowned;
+        boolean complete;
         synchronized (this) {
             Thread t = Thread.currentThread(), o;
-            BufferedSubscription<T> b = clients;
+            boolean unowned;
             if ((unowned = ((o = owner) != t)) && o != null)
                 owner = null;                     // disable bias
-            if (b == null)
+            if (clients == null)
                 complete = closed;
             else {
                 complete = false;
-                boolean cleanMe = false;
-                BufferedSubscription<T> retries = null, rtail = null, next;
-                do {
-                    next = b.next;
-                    int stat = b.offer(item, unowned);
-                    if (stat == 0) {              // saturated; add to retry list
-                        b.nextRetry = null;       // avoid garbage on exceptions
-                        if (rtail == null)
-                            retries = b;
-                        else
-                            rtail.nextRetry = b;
-                        rtail = b;
-                    }
-                    else if (stat < 0)            // closed
-                        cleanMe = true;           // remove later
-                    else if (stat > lag)
-                        lag = stat;
-                } while ((b = next) != null);
-
-                if (retries != null || cleanMe)
-                    lag = retryOffer(item, nanos, onDrop, retries, lag, cleanMe);
+                lag = offerToClients(item, nanos, onDrop, unowned);
             }
         }
         if (complete)
@@ -428,6 +409,73 @@ public class SubmissionPublisher<T> implements Publisher<T>,
             return lag;
     }
 
+    /**
+     * Common implementation for submitAll and offerAll. Acts as
+     * submitAll if nanos == Long.MAX_VALUE, else offerAll.
+     */
+    private int doOfferAll(Collection<? extends T> items, long nanos,
+                           BiPredicate<Subscriber<? super T>, ? super T> onDrop) {
+        Object[] a = items.toArray();             // snapshot
+        for (Object x : a)
+            if (x == null) throw new NullPointerException();
+        int lag = 0, drops = 0;
+        boolean complete = false;
+        synchronized (this) {
+            Thread t = Thread.currentThread(), o;
+            boolean unowned;
+            if ((unowned = ((o = owner) != t)) && o != null)
+                owner = null;                     // disable bias
+            for (Object x : a) {
+                if (clients == null) {
+                    complete = closed;
+                    break;
+                }
+                @SuppressWarnings("unchecked") T item = (T) x;
+                int stat = offerToClients(item, nanos, onDrop, unowned);
+                if (stat < 0)
+                    drops -= stat;
+                else if (stat > lag)
+                    lag = stat;
+            }
+        }
+        if (complete)
+            throw new IllegalStateException("Closed");
+        else
+            return (drops > 0) ? -drops : lag;
+    }
+
+    /**
+     * Offers item to each current subscriber, retrying saturated
+     * buffers as needed. Call only while holding lock.
+     * @return lag, or negative drops
+     */
+    private int offerToClients(T item, long nanos,
+                               BiPredicate<Subscriber<? super T>, ? super T> onDrop,
+                               boolean unowned) {
+        int lag = 0;
+        boolean cleanMe = false;
+        BufferedSubscription<T> retries = null, rtail = null, next;
+        for (BufferedSubscription<T> b = clients; b != null; b = next) {
+            next = b.next;
+            int stat = b.offer(item, unowned);
+            if (stat == 0) {              // saturated; add to retry list
+                b.nextRetry = null;       // avoid garbage on exceptions
+                if (rtail == null)
+                    retries = b;
+                else
+                    rtail.nextRetry = b;
+                rtail = b;
+            }
+            else if (stat < 0)            // closed
+                cleanMe = true;           // remove later
+            else if (stat > lag)
+                lag = stat;
+        }
+        if (retries != null || cleanMe)
+            lag = retryOffer(item, nanos, onDrop, retries, lag, cleanMe);
+        return lag;
+    }
+
     /**
      * Helps, (timed) waits for, and/or drops buffers on list; returns
      * lag or negative drops (for use in offer).
@@ -601,6 +649,67 @@ public class SubmissionPublisher<T> implements Publisher<T>,
         return doOffer(item, nanos, onDrop);
     }
 
+    /**
+     * Publishes all of the given items, in iteration order, to each
+     * current subscriber as if by {@link #submit(Object) submit},
+     * blocking uninterruptibly while resources for any subscriber are
+     * unavailable.  The items are published while holding the lock of
+     * this publisher only once, so that items from other threads are
+     * not interleaved with them, and a subscriber whose consumer task
+     * is active receives them without starting further tasks.  This
+     * method returns an estimate of the maximum lag among all current
+     * subscribers after publishing the items.
+     *
+     * <p>If the Executor for this publisher throws a
+     * RejectedExecutionException (or any other RuntimeException or
+     * Error) when attempting to asynchronously notify subscribers,
+     * then this exception is rethrown, in which case not all items
+     * will have been issued to all subscribers.
+     *
+     * @param items the (non-null) items to publish
+     * @return the estimated maximum lag among subscribers
+     * @throws IllegalStateException if closed
+     * @throws NullPointerException if items or any of its elements is null
+     * @throws RejectedExecutionException if thrown by Executor
+     * @since 12
+     */
+    public int submitAll(Collection<? extends T> items) {
+        return doOfferAll(items, Long.MAX_VALUE, null);
+    }
+
+    /**
+     * Publishes all of the given items, in iteration order, to each
+     * current subscriber if possible, as if by {@link #offer(Object,
+     * BiPredicate) offer}, but holding the lock of this publisher only
+     * once for all of the items.
+     *
+     * <p>This method returns a status indicator: If negative, it
+     * represents the (negative) total number of drops over all items.
+     * Otherwise it is an estimate of the maximum lag among all current
+     * subscribers after publishing the items.
+     *
+     * <p>If the Executor for this publisher throws a
+     * RejectedExecutionException (or any other RuntimeException or
+     * Error) when attempting to asynchronously notify subscribers, or
+     * the drop handler throws an exception when processing a dropped
+     * item, then this exception is rethrown.
+     *
+     * @param items the (non-null) items to publish
+     * @param onDrop if non-null, the handler invoked upon a drop to a
+     * subscriber, with arguments of the subscriber and item; if it
+     * returns true, an offer is re-attempted (once)
+     * @return if negative, the (negative) number of drops; otherwise
+     * an estimate of maximum lag
+     * @throws IllegalStateException if closed
+     * @throws NullPointerException if items or any of its elements is null
+     * @throws RejectedExecutionException if thrown by Executor
+     * @since 12
+     */
+    public int offerAll(Collection<? extends T> items,
+                        BiPredicate<Subscriber<? super T>, ? super T> onDrop) {
+        return doOfferAll(items, 0L, onDrop);
+    }
+
     /**
      * Unless already closed, issues {@link
      * Subscriber#onComplete() onComplete} signals to current
@@ -910,6 +1019,94 @@ public class SubmissionPublisher<T> implements Publisher<T>,
         }
     }
 
+    /**
+     * Processes all published items in batches using the given
+     * Consumer function, as if by {@link #consume(Consumer)}, except
+     * that items are delivered as lists of up to {@code maxBatchSize}
+     * items.  A batch is delivered when it is full, or when no further
+     * item is immediately available to the consumer task, so a partial
+     * batch does not wait for more items to be published.
+     *
+     * @param maxBatchSize the maximum number of items in each batch
+     * @param consumer the function applied to each batch of items
+     * @return a CompletableFuture that is completed normally
+     * when the publisher signals onComplete, and exceptionally
+     * upon any error or cancellation
+     * @throws NullPointerException if consumer is null
+     * @throws IllegalArgumentException if maxBatchSize not positive
+     * @since 12
+     */
+    public CompletableFuture<Void> consumeBatches(
+        int maxBatchSize, Consumer<? super List<T>> consumer) {
+        if (consumer == null)
+            throw new NullPointerException();
+        if (maxBatchSize <= 0)
+            throw new IllegalArgumentException("maxBatchSize must be positive");
+        CompletableFuture<Void> status = new CompletableFuture<>();
+        subscribe(new BatchConsumerSubscriber<T>(status, consumer,
+                                                 maxBatchSize));
+        return status;
+    }
+
+    /**
+     * Subscriber for method consumeBatches. Items are collected by
+     * onNext, and the consumer task of the subscription calls flush
+     * whenever it runs out of items.
+     */
+    static final class BatchConsumerSubscriber<T> implements Subscriber<T> {
+        final CompletableFuture<Void> status;
+        final Consumer<? super List<T>> consumer;
+        final int maxBatchSize;
+        ArrayList<T> batch;
+        Subscription subscription;
+        BatchConsumerSubscriber(CompletableFuture<Void> status,
+                                Consumer<? super List<T>> consumer,
+                                int maxBatchSize) {
+            this.status = status; this.consumer = consumer;
+            this.maxBatchSize = maxBatchSize;
+        }
+        public final void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            status.whenComplete((v, e) -> subscription.cancel());
+            if (!status.isDone())
+                subscription.request(Long.MAX_VALUE);
+        }
+        public final void onError(Throwable ex) {
+            batch = null;
+            status.completeExceptionally(ex);
+        }
+        public final void onComplete() {
+            if (flush())
+                status.complete(null);
+        }
+        public final void onNext(T item) {
+            ArrayList<T> b;
+            if ((b = batch) == null)
+                batch = b = new ArrayList<T>(Math.min(maxBatchSize, 64));
+            b.add(item);
+            if (b.size() >= maxBatchSize)
+                flush();
+        }
+        /**
+         * Delivers the pending batch, if any.
+         * @return false if the consumer threw an exception
+         */
+        final boolean flush() {
+            ArrayList<T> b;
+            if ((b = batch) != null && !b.isEmpty()) {
+                batch = null;
+                try {
+                    consumer.accept(b);
+                } catch (Throwable ex) {
+                    subscription.cancel();
+                    status.completeExceptionally(ex);
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
     /**
      * A task for consuming buffer items and signals, created and
      * executed whenever they become available. A task consumes as
@@ -1264,6 +1461,8 @@ public class SubmissionPublisher<T> implements Publisher<T>,
                             break;
                         }
                         else if (empty || d == 0L) {
+                            if (empty && s instanceof BatchConsumerSubscriber)
+                                ((BatchConsumerSubscriber<?>)s).flush();
                             int bit = ((c & ACTIVE) != 0) ? ACTIVE : RUN;
                             if (weakCasCtl(c, c & ~bit) && bit == RUN)
                                 break;               // un-keep-alive or exit
@@ -24,8 +24,10 @@
  */
 package java.util.stream;
 
+import java.lang.invoke.MethodHandle;
 import java.util.Objects;
 import java.util.Spliterator;
+import java.util.function.Consumer;
 import java.util.function.IntFunction;
 import java.util.function.Supplier;
 
@@ -148,6 +150,31 @@ abstract class AbstractPipeline<E_IN, E_OUT, S extends BaseStream<E_OUT, S>>
      */
     private boolean parallel;
 
+    /**
+     * Target leaf size for parallel evaluation, or 0 if the leaf size is to be
+     * derived from the source size estimate; only valid for the source stage.
+     */
+    private long targetLeafSize;
+
+    /**
+     * Listener notified of the statistics of parallel task trees, or null;
+     * only valid for the source stage.
+     */
+    private Consumer<? super ParallelTaskStatistics> taskStatisticsListener;
+
+    /**
+     * True if runs of stateless operations are to be fused into single sinks
+     * when evaluating the pipeline; only valid for the source stage.
+     */
+    private boolean fuseStages;
+
+    /**
+     * The run of fusible stages ending at this stage, or null if not yet
+     * determined.  Cached so that the leaf tasks of a parallel evaluation
+     * share one composed method handle.
+     */
+    private FusedStages.Run fusedRun;
+
     /**
      * Constructor for the head of a stream pipeline.
      *
@@ -373,6 +400,32 @@ abstract class AbstractPipeline<E_IN, E_OUT, S extends BaseStream<E_OUT, S>>
         return sourceStage.parallel;
     }
 
+    /**
+     * Sets the target leaf size for parallel evaluation of the pipeline.
+     *
+     * @param targetLeafSize the target leaf size, or {@code 0} to derive the
+     *        leaf size from the source size estimate
+     */
+    final void setTargetLeafSize(long targetLeafSize) {
+        if (linkedOrConsumed)
+            throw new IllegalStateException(MSG_STREAM_LINKED);
+        if (targetLeafSize < 0)
+            throw new IllegalArgumentException(Long.toString(targetLeafSize));
+        sourceStage.targetLeafSize = targetLeafSize;
+    }
+
+    /**
+     * Sets the listener notified of the statistics of the parallel task trees
+     * evaluating the pipeline.
+     *
+     * @param listener the listener, or {@code null} to disable statistics
+     */
+    final void setTaskStatisticsListener(Consumer<? super ParallelTaskStatistics> listener) {
+        if (linkedOrConsumed)
+            throw new IllegalStateException(MSG_STREAM_LINKED);
+        sourceStage.taskStatisticsListener = listener;
+    }
+
 
     /**
      * Returns the composition of stream flags of the stream source and all
@@ -409,6 +462,14 @@ abstract class AbstractPipeline<E_IN, E_OUT, S extends BaseStream<E_OUT, S>>
             throw new IllegalStateException(MSG_CONSUMED);
         }
 
+        if (FusedStages.ENABLED) {
+            // Only fuse stages if the cost of composing and compiling the
+            // fused steps can be amortized over the elements of the source
+            long size = spliterator.estimateSize();
+            sourceStage.fuseStages = size >= FusedStages.MIN_SOURCE_SIZE
+                                     && size != Long.MAX_VALUE;
+        }
+
         if (isParallel() && sourceStage.sourceAnyStateful) {
             // Adapt the source spliterator, evaluating each stateful op
             // in the pipeline up to and including this pipeline stage.
@@ -509,6 +570,17 @@ abstract class AbstractPipeline<E_IN, E_OUT, S extends BaseStream<E_OUT, S>>
         return combinedFlags;
     }
 
+    @Override
+    final long getTargetLeafSize() {
+        return sourceStage.targetLeafSize;
+    }
+
+    @Override
+    final ParallelTaskStatistics.Recorder newTaskRecorder() {
+        Consumer<? super ParallelTaskStatistics> listener = sourceStage.taskStatisticsListener;
+        return (listener == null) ? null : new ParallelTaskStatistics.Recorder(listener);
+    }
+
     final boolean isOrdered() {
         return StreamOpFlag.ORDERED.isKnown(combinedFlags);
     }
@@ -519,11 +591,47 @@ abstract class AbstractPipeline<E_IN, E_OUT, S extends BaseStream<E_OUT, S>>
         Objects.requireNonNull(sink);
 
         for ( @SuppressWarnings("rawtypes") AbstractPipeline p=AbstractPipeline.this; p.depth > 0; p=p.previousStage) {
+            if (sourceStage.fuseStages) {
+                FusedStages.Run run = p.fusedRun();
+                if (run.first != p) {
+                    sink = FusedStages.sink(run.step, run.sized, sink);
+                    p = run.first;
+                    continue;
+                }
+            }
             sink = p.opWrapSink(p.previousStage.combinedFlags, sink);
         }
         return (Sink<P_IN>) sink;
     }
 
+    /**
+     * Returns the longest run of consecutive fusible stages, within the
+     * current slice of the pipeline, that ends at this stage.
+     *
+     * @return the run ending at this stage, whose first stage is this stage
+     *         if it cannot be fused with its predecessor
+     */
+    private FusedStages.Run fusedRun() {
+        FusedStages.Run run = fusedRun;
+        if (run == null) {
+            AbstractPipeline<?, ?, ?> first = this;
+            MethodHandle step = opFusionStep();
+            boolean sized = !StreamOpFlag.SIZED.isCleared(sourceOrOpFlags);
+            if (step != null) {
+                for (AbstractPipeline<?, ?, ?> p = previousStage; p.depth > 0; p = p.previousStage) {
+                    MethodHandle s = p.opFusionStep();
+                    if (s == null)
+                        break;
+                    step = FusedStages.andThen(s, step);
+                    sized &= !StreamOpFlag.SIZED.isCleared(p.sourceOrOpFlags);
+                    first = p;
+                }
+            }
+            fusedRun = run = new FusedStages.Run(first, step, sized);
+        }
+        return run;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     final <P_IN> Spliterator<E_OUT> wrapSpliterator(Spliterator<P_IN> sourceSpliterator) {
@@ -663,6 +771,21 @@ abstract class AbstractPipeline<E_IN, E_OUT, S extends BaseStream<E_OUT, S>>
      */
     abstract Sink<E_IN> opWrapSink(int flags, Sink<E_OUT> sink);
 
+    /**
+     * Returns a step performing this operation on one element, for fusion
+     * with adjacent stateless operations into a single {@code Sink}, or
+     * {@code null} if this operation cannot be fused.  The step is a method
+     * handle of type {@code (Object)Object}, as described in
+     * {@link FusedStages}.  Only called if stage fusion is enabled.
+     *
+     * @implSpec The default implementation returns {@code null}.
+     *
+     * @return the fusion step of this operation, or {@code null}
+     */
+    MethodHandle opFusionStep() {
+        return null;
+    }
+
     /**
      * Performs a parallel evaluation of the operation using the specified
      * {@code PipelineHelper} which describes the upstream intermediate
@@ -112,7 +112,13 @@ abstract class AbstractShortCircuitTask<P_IN, P_OUT, R,
                 break;
             }
             if (sizeEstimate <= sizeThreshold || (ls = rs.trySplit()) == null) {
-                result = task.doLeaf();
+                if (recorder == null)
+                    result = task.doLeaf();
+                else {
+                    long start = System.nanoTime();
+                    result = task.doLeaf();
+                    recorder.recordLeaf(task.getDepth(), System.nanoTime() - start);
+                }
                 break;
             }
             K leftChild, rightChild, taskToFork;
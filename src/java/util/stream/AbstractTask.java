@@ -103,6 +103,12 @@ abstract class AbstractTask<P_IN, P_OUT, R,
     /** Target leaf size, common to all tasks in a computation */
     protected long targetSize; // may be lazily initialized
 
+    /**
+     * Recorder of task statistics, common to all tasks in a computation, or
+     * null if statistics are not being recorded
+     */
+    protected final ParallelTaskStatistics.Recorder recorder;
+
     /**
      * The left child.
      * null if no children
@@ -133,7 +139,8 @@ abstract class AbstractTask<P_IN, P_OUT, R,
         super(null);
         this.helper = helper;
         this.spliterator = spliterator;
-        this.targetSize = 0L;
+        this.targetSize = helper.getTargetLeafSize();
+        this.recorder = helper.newTaskRecorder();
     }
 
     /**
@@ -149,6 +156,7 @@ abstract class AbstractTask<P_IN, P_OUT, R,
         this.spliterator = spliterator;
         this.helper = parent.helper;
         this.targetSize = parent.targetSize;
+        this.recorder = parent.recorder;
     }
 
     /**
@@ -196,9 +204,22 @@ abstract class AbstractTask<P_IN, P_OUT, R,
         return est > 0L ? est : 1L;
     }
 
+    /**
+     * Returns the target leaf size for a computation, which is the target leaf
+     * size requested for the pipeline if any, otherwise a size suggested from
+     * the initial size estimate.
+     *
+     * @return target leaf size
+     */
+    static long targetSize(PipelineHelper<?> helper, long sizeEstimate) {
+        long s = helper.getTargetLeafSize();
+        return s > 0L ? s : suggestTargetSize(sizeEstimate);
+    }
+
     /**
      * Returns the targetSize, initializing it via the supplied
-     * size estimate if not already initialized.
+     * size estimate if not already initialized by the pipeline's requested
+     * target leaf size.
      */
     protected final long getTargetSize(long sizeEstimate) {
         long s;
@@ -275,6 +296,19 @@ abstract class AbstractTask<P_IN, P_OUT, R,
         return getParent() == null;
     }
 
+    /**
+     * Returns the depth of this task in the task tree, where the root has a
+     * depth of zero
+     *
+     * @return the depth of this task
+     */
+    protected int getDepth() {
+        int depth = 0;
+        for (K p = getParent(); p != null; p = p.getParent())
+            depth++;
+        return depth;
+    }
+
     /**
      * Returns the parent of this task, or null if this task is the root
      *
@@ -324,7 +358,15 @@ abstract class AbstractTask<P_IN, P_OUT, R,
             taskToFork.fork();
             sizeEstimate = rs.estimateSize();
         }
-        task.setLocalResult(task.doLeaf());
+        ParallelTaskStatistics.Recorder r = recorder;
+        if (r == null) {
+            task.setLocalResult(task.doLeaf());
+        }
+        else {
+            long start = System.nanoTime();
+            task.setLocalResult(task.doLeaf());
+            r.recordLeaf(task.getDepth(), System.nanoTime() - start);
+        }
         task.tryComplete();
     }
 
@@ -332,14 +374,16 @@ abstract class AbstractTask<P_IN, P_OUT, R,
      * {@inheritDoc}
      *
      * @implNote
-     * Clears spliterator and children fields.  Overriders MUST call
-     * {@code super.onCompletion} as the last thing they do if they want these
-     * cleared.
+     * Clears spliterator and children fields, and reports task statistics when
+     * the root completes.  Overriders MUST call {@code super.onCompletion} as
+     * the last thing they do if they want these cleared.
      */
     @Override
     public void onCompletion(CountedCompleter<?> caller) {
         spliterator = null;
         leftChild = rightChild = null;
+        if (recorder != null && isRoot())
+            recorder.report();
     }
 
     /**
@@ -541,8 +541,12 @@ abstract class DoublePipeline<E_IN>
 
     @Override
     public final double[] toArray() {
-        return Nodes.flattenDouble((Node.OfDouble) evaluateToArrayNode(Double[]::new))
-                        .asPrimitiveArray();
+        Node.OfDouble node = Nodes.flattenDouble((Node.OfDouble) evaluateToArrayNode(Double[]::new));
+        try {
+            return node.asPrimitiveArray();
+        } finally {
+            Nodes.release(node);
+        }
     }
 
     //
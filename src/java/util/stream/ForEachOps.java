@@ -155,8 +155,12 @@ final class ForEachOps {
                                          Spliterator<S> spliterator) {
             if (ordered)
                 new ForEachOrderedTask<>(helper, spliterator, this).invoke();
-            else
-                new ForEachTask<>(helper, spliterator, helper.wrapSink(this)).invoke();
+            else {
+                ForEachTask<S, T> task = new ForEachTask<>(helper, spliterator, helper.wrapSink(this));
+                task.invoke();
+                if (task.recorder != null)
+                    task.recorder.report();
+            }
             return null;
         }
 
@@ -255,6 +259,7 @@ final class ForEachOps {
         private final Sink<S> sink;
         private final PipelineHelper<T> helper;
         private long targetSize;
+        private final ParallelTaskStatistics.Recorder recorder;
 
         ForEachTask(PipelineHelper<T> helper,
                     Spliterator<S> spliterator,
@@ -263,7 +268,8 @@ final class ForEachOps {
             this.sink = sink;
             this.helper = helper;
             this.spliterator = spliterator;
-            this.targetSize = 0L;
+            this.targetSize = helper.getTargetLeafSize();
+            this.recorder = helper.newTaskRecorder();
         }
 
         ForEachTask(ForEachTask<S, T> parent, Spliterator<S> spliterator) {
@@ -272,6 +278,7 @@ final class ForEachOps {
             this.sink = parent.sink;
             this.targetSize = parent.targetSize;
             this.helper = parent.helper;
+            this.recorder = parent.recorder;
         }
 
         // Similar to AbstractTask but doesn't need to track child tasks
@@ -287,7 +294,13 @@ final class ForEachOps {
             while (!isShortCircuit || !taskSink.cancellationRequested()) {
                 if (sizeEstimate <= sizeThreshold ||
                     (leftSplit = rightSplit.trySplit()) == null) {
-                    task.helper.copyInto(taskSink, rightSplit);
+                    if (recorder == null)
+                        task.helper.copyInto(taskSink, rightSplit);
+                    else {
+                        long start = System.nanoTime();
+                        task.helper.copyInto(taskSink, rightSplit);
+                        recorder.recordLeaf(task.getDepth(), System.nanoTime() - start);
+                    }
                     break;
                 }
                 ForEachTask<S, T> leftTask = new ForEachTask<>(task, leftSplit);
@@ -309,6 +322,14 @@ final class ForEachOps {
             task.spliterator = null;
             task.propagateCompletion();
         }
+
+        // The depth of this task in the task tree
+        private int getDepth() {
+            int depth = 0;
+            for (CountedCompleter<?> p = getCompleter(); p != null; p = p.getCompleter())
+                depth++;
+            return depth;
+        }
     }
 
     /**
@@ -367,7 +388,10 @@ final class ForEachOps {
         private final ConcurrentHashMap<ForEachOrderedTask<S, T>, ForEachOrderedTask<S, T>> completionMap;
         private final Sink<T> action;
         private final ForEachOrderedTask<S, T> leftPredecessor;
+        private final ParallelTaskStatistics.Recorder recorder;
         private Node<T> node;
+        // Time taken to buffer the elements of this leaf into node, if any
+        private long bufferNanos;
 
         protected ForEachOrderedTask(PipelineHelper<T> helper,
                                      Spliterator<S> spliterator,
@@ -375,11 +399,12 @@ final class ForEachOps {
             super(null);
             this.helper = helper;
             this.spliterator = spliterator;
-            this.targetSize = AbstractTask.suggestTargetSize(spliterator.estimateSize());
+            this.targetSize = AbstractTask.targetSize(helper, spliterator.estimateSize());
             // Size map to avoid concurrent re-sizes
             this.completionMap = new ConcurrentHashMap<>(Math.max(16, AbstractTask.getLeafTarget() << 1));
             this.action = action;
             this.leftPredecessor = null;
+            this.recorder = helper.newTaskRecorder();
         }
 
         ForEachOrderedTask(ForEachOrderedTask<S, T> parent,
@@ -392,6 +417,7 @@ final class ForEachOps {
             this.completionMap = parent.completionMap;
             this.action = parent.action;
             this.leftPredecessor = leftPredecessor;
+            this.recorder = parent.recorder;
         }
 
         @Override
@@ -418,6 +444,9 @@ final class ForEachOps {
                 // the right child
                 rightChild.addToPendingCount(1);
                 task.completionMap.put(leftChild, rightChild);
+                // The children now cover the split elements, so that only
+                // leaves retain a spliterator when they complete
+                task.spliterator = null;
 
                 // If task is not on the left spine
                 if (task.leftPredecessor != null) {
@@ -473,17 +502,22 @@ final class ForEachOps {
                 // for use when completion occurs
                 @SuppressWarnings("unchecked")
                 IntFunction<T[]> generator = size -> (T[]) new Object[size];
+                long start = task.recorder == null ? 0L : System.nanoTime();
                 Node.Builder<T> nb = task.helper.makeNodeBuilder(
                         task.helper.exactOutputSizeIfKnown(rightSplit),
                         generator);
                 task.node = task.helper.wrapAndCopyInto(nb, rightSplit).build();
                 task.spliterator = null;
+                if (task.recorder != null)
+                    task.bufferNanos = System.nanoTime() - start;
             }
             task.tryComplete();
         }
 
         @Override
         public void onCompletion(CountedCompleter<?> caller) {
+            boolean leaf = node != null || spliterator != null;
+            long start = recorder != null && leaf ? System.nanoTime() : 0L;
             if (node != null) {
                 // Dump buffered elements from this leaf into the sink
                 node.forEach(action);
@@ -494,6 +528,9 @@ final class ForEachOps {
                 helper.wrapAndCopyInto(action, spliterator);
                 spliterator = null;
             }
+            if (recorder != null && leaf)
+                recorder.recordLeaf(getDepth(),
+                                    bufferNanos + System.nanoTime() - start);
 
             // The completion of this task *and* the dumping of elements
             // "happens-before" completion of the associated left-most leaf task
@@ -502,6 +539,17 @@ final class ForEachOps {
             ForEachOrderedTask<S, T> leftDescendant = completionMap.remove(this);
             if (leftDescendant != null)
                 leftDescendant.tryComplete();
+
+            if (recorder != null && getCompleter() == null)
+                recorder.report();
+        }
+
+        // The depth of this task in the task tree
+        private int getDepth() {
+            int depth = 0;
+            for (CountedCompleter<?> p = getCompleter(); p != null; p = p.getCompleter())
+                depth++;
+            return depth;
         }
     }
 }
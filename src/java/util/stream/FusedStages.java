@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package java.util.stream;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Factory for method handles that fuse runs of consecutive stateless
+ * reference operations, such as {@code map}, {@code filter} and
+ * {@code peek}, into a single {@link Sink}.
+ *
+ * <p>Each fusible operation contributes a <em>step</em>, a method handle of
+ * type {@code (Object)Object} that performs the operation on one element and
+ * returns the element to pass downstream, or {@link #NONE} if the element is
+ * dropped.  The steps of a run are composed with
+ * {@link MethodHandles#filterReturnValue} and
+ * {@link MethodHandles#guardWithTest} into one method handle, which is
+ * invoked once per element by the fused sink.  A chain of such stages then
+ * costs one call per element rather than one megamorphic
+ * {@link Sink#accept(Object)} call per stage, and the lambda forms of the
+ * composed handle are customized and compiled as a unit once the handle is
+ * hot.
+ *
+ * <p>Composing the steps and compiling the composed handle has a cost per
+ * pipeline that is only amortized over large sources, so stages are only fused
+ * if the size estimate of the source is at least {@link #MIN_SOURCE_SIZE}
+ * and is not unknown, and if the system property
+ * {@code java.util.stream.fuseStages} is considered {@code true} according
+ * to {@link Boolean#getBoolean(String)}.  This also applies when traversing
+ * the {@code spliterator()} or {@code iterator()} of a stream, which push the
+ * elements of the source through the same wrapped sinks, once the source
+ * spliterator has been obtained.
+ *
+ * @since 12
+ */
+final class FusedStages {
+
+    private static final String FUSION_PROPERTY = "java.util.stream.fuseStages";
+
+    /** Should runs of stateless reference operations be fused? */
+    static final boolean ENABLED = AccessController.doPrivileged(
+            (PrivilegedAction<Boolean>) () -> Boolean.getBoolean(FUSION_PROPERTY));
+
+    /** The minimum size estimate of a source for its stages to be fused. */
+    static final long MIN_SOURCE_SIZE = 1 << 16;
+
+    /** The value returned by a step for an element that is dropped. */
+    static final Object NONE = new Object();
+
+    private FusedStages() {
+        throw new Error("no instances");
+    }
+
+    /**
+     * Holder of the method handles from which steps are built, so that they
+     * are only looked up if fusion is used.
+     */
+    private static final class Handles {
+        static final MethodHandle FUNCTION_APPLY;
+        static final MethodHandle PREDICATE_TEST;
+        static final MethodHandle CONSUMER_ACCEPT;
+        static final MethodHandle IS_NONE;
+        static final MethodHandle IDENTITY;
+        static final MethodHandle DROP;
+
+        static {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            try {
+                FUNCTION_APPLY = lookup.findVirtual(Function.class, "apply",
+                        MethodType.methodType(Object.class, Object.class));
+                PREDICATE_TEST = lookup.findVirtual(Predicate.class, "test",
+                        MethodType.methodType(boolean.class, Object.class));
+                CONSUMER_ACCEPT = lookup.findVirtual(Consumer.class, "accept",
+                        MethodType.methodType(void.class, Object.class));
+                IS_NONE = lookup.findStatic(FusedStages.class, "isNone",
+                        MethodType.methodType(boolean.class, Object.class));
+            } catch (ReflectiveOperationException e) {
+                throw new InternalError(e);
+            }
+            IDENTITY = MethodHandles.identity(Object.class);
+            DROP = MethodHandles.dropArguments(
+                    MethodHandles.constant(Object.class, NONE), 0, Object.class);
+        }
+    }
+
+    private static boolean isNone(Object o) {
+        return o == NONE;
+    }
+
+    /**
+     * Returns the step of a {@code map} operation.
+     *
+     * @param mapper the mapping function
+     * @return a step applying the mapping function
+     */
+    static MethodHandle map(Function<?, ?> mapper) {
+        return Handles.FUNCTION_APPLY.bindTo(mapper);
+    }
+
+    /**
+     * Returns the step of a {@code filter} operation.
+     *
+     * @param predicate the predicate elements must match
+     * @return a step passing matching elements and dropping others
+     */
+    static MethodHandle filter(Predicate<?> predicate) {
+        return MethodHandles.guardWithTest(Handles.PREDICATE_TEST.bindTo(predicate),
+                                           Handles.IDENTITY, Handles.DROP);
+    }
+
+    /**
+     * Returns the step of a {@code peek} operation.
+     *
+     * @param action the action performed on each element
+     * @return a step performing the action and passing the element on
+     */
+    static MethodHandle peek(Consumer<?> action) {
+        return MethodHandles.foldArguments(Handles.IDENTITY,
+                                           Handles.CONSUMER_ACCEPT.bindTo(action));
+    }
+
+    /**
+     * Composes two steps, so that the second step is only applied to
+     * elements that the first step does not drop.
+     *
+     * @param first the upstream step
+     * @param second the downstream step
+     * @return the composed step
+     */
+    static MethodHandle andThen(MethodHandle first, MethodHandle second) {
+        return MethodHandles.filterReturnValue(
+                first, MethodHandles.guardWithTest(Handles.IS_NONE, Handles.IDENTITY, second));
+    }
+
+    /**
+     * A run of consecutive fusible stages of a pipeline.
+     */
+    static final class Run {
+        /** The first stage of the run */
+        final AbstractPipeline<?, ?, ?> first;
+        /**
+         * The composed step of the run, or null if the last stage of the run
+         * cannot be fused, in which case the run consists of that stage only
+         */
+        final MethodHandle step;
+        /** True if no stage of the run may drop elements */
+        final boolean sized;
+
+        Run(AbstractPipeline<?, ?, ?> first, MethodHandle step, boolean sized) {
+            this.first = first;
+            this.step = step;
+            this.sized = sized;
+        }
+    }
+
+    /**
+     * Returns a sink that performs a composed step on each element, passing
+     * the elements that are not dropped to the downstream sink.
+     *
+     * @param step the composed step of a run of stages
+     * @param sized true if no stage of the run may drop elements, so that
+     *        the size passed to {@code begin} is preserved
+     * @param downstream the sink of the stage following the run
+     * @param <T> the type of elements accepted by the first stage of the run
+     * @return the fused sink
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Sink<T> sink(MethodHandle step, boolean sized, Sink<?> downstream) {
+        return (Sink<T>) new FusedSink(step, sized, (Sink<Object>) downstream);
+    }
+
+    private static final class FusedSink extends Sink.ChainedReference<Object, Object> {
+        private final MethodHandle step;
+        private final boolean sized;
+
+        FusedSink(MethodHandle step, boolean sized, Sink<Object> downstream) {
+            super(downstream);
+            this.step = Objects.requireNonNull(step);
+            this.sized = sized;
+        }
+
+        @Override
+        public void begin(long size) {
+            downstream.begin(sized ? size : -1);
+        }
+
+        @Override
+        public void accept(Object t) {
+            Object u;
+            try {
+                u = (Object) step.invokeExact(t);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw FusedStages.<RuntimeException>uncheckedThrow(e);
+            }
+            if (u != NONE)
+                downstream.accept(u);
+        }
+    }
+
+    /**
+     * Rethrows a checked exception thrown by a function, as the same call
+     * without fusion would have done.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T extends Throwable> T uncheckedThrow(Throwable t) throws T {
+        throw (T) t;
+    }
+}
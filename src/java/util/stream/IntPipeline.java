@@ -535,8 +535,12 @@ abstract class IntPipeline<E_IN>
 
     @Override
     public final int[] toArray() {
-        return Nodes.flattenInt((Node.OfInt) evaluateToArrayNode(Integer[]::new))
-                        .asPrimitiveArray();
+        Node.OfInt node = Nodes.flattenInt((Node.OfInt) evaluateToArrayNode(Integer[]::new));
+        try {
+            return node.asPrimitiveArray();
+        } finally {
+            Nodes.release(node);
+        }
     }
 
     //
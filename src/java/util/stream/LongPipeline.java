@@ -518,8 +518,12 @@ abstract class LongPipeline<E_IN>
 
     @Override
     public final long[] toArray() {
-        return Nodes.flattenLong((Node.OfLong) evaluateToArrayNode(Long[]::new))
-                .asPrimitiveArray();
+        Node.OfLong node = Nodes.flattenLong((Node.OfLong) evaluateToArrayNode(Long[]::new));
+        try {
+            return node.asPrimitiveArray();
+        } finally {
+            Nodes.release(node);
+        }
     }
 
 
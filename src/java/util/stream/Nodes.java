@@ -221,7 +221,9 @@ final class Nodes {
      * @return a {@code Node.Builder.OfInt}
      */
     static Node.Builder.OfInt intBuilder() {
-        return new IntSpinedNodeBuilder();
+        return OffHeapSpinedBuffer.ENABLED
+               ? new IntOffHeapNodeBuilder()
+               : new IntSpinedNodeBuilder();
     }
 
     // Long nodes
@@ -258,7 +260,9 @@ final class Nodes {
      * @return a {@code Node.Builder.OfLong}
      */
     static Node.Builder.OfLong longBuilder() {
-        return new LongSpinedNodeBuilder();
+        return OffHeapSpinedBuffer.ENABLED
+               ? new LongOffHeapNodeBuilder()
+               : new LongSpinedNodeBuilder();
     }
 
     // Double nodes
@@ -295,7 +299,9 @@ final class Nodes {
      * @return a {@code Node.Builder.OfDouble}
      */
     static Node.Builder.OfDouble doubleBuilder() {
-        return new DoubleSpinedNodeBuilder();
+        return OffHeapSpinedBuffer.ENABLED
+               ? new DoubleOffHeapNodeBuilder()
+               : new DoubleSpinedNodeBuilder();
     }
 
     // Parallel evaluation of pipelines to nodes
@@ -452,6 +458,22 @@ final class Nodes {
         }
     }
 
+    /**
+     * Releases the native memory held by any off-heap leaf nodes of a node
+     * tree.  The node must not be traversed after it has been released.
+     *
+     * @param node the node to release
+     */
+    static void release(Node<?> node) {
+        if (node instanceof OffHeapSpinedBuffer) {
+            ((OffHeapSpinedBuffer<?, ?, ?>) node).close();
+        }
+        else {
+            for (int i = 0; i < node.getChildCount(); i++)
+                release(node.getChild(i));
+        }
+    }
+
     // Parallel flattening of nodes
 
     /**
@@ -492,6 +514,10 @@ final class Nodes {
      * elements are placed in the array concurrently by leaf tasks at the
      * correct offsets.
      *
+     * @implNote
+     * Off-heap leaf nodes are released once their elements have been copied
+     * into the new array.
+     *
      * @param node the node to flatten
      * @return a flat {@code Node.OfInt}
      */
@@ -502,6 +528,7 @@ final class Nodes {
                 throw new IllegalArgumentException(BAD_SIZE);
             int[] array = new int[(int) size];
             new ToArrayTask.OfInt(node, array, 0).invoke();
+            release(node);
             return node(array);
         } else {
             return node;
@@ -518,6 +545,10 @@ final class Nodes {
      * elements are placed in the array concurrently by leaf tasks at the
      * correct offsets.
      *
+     * @implNote
+     * Off-heap leaf nodes are released once their elements have been copied
+     * into the new array.
+     *
      * @param node the node to flatten
      * @return a flat {@code Node.OfLong}
      */
@@ -528,6 +559,7 @@ final class Nodes {
                 throw new IllegalArgumentException(BAD_SIZE);
             long[] array = new long[(int) size];
             new ToArrayTask.OfLong(node, array, 0).invoke();
+            release(node);
             return node(array);
         } else {
             return node;
@@ -544,6 +576,10 @@ final class Nodes {
      * elements are placed in the array concurrently by leaf tasks at the
      * correct offsets.
      *
+     * @implNote
+     * Off-heap leaf nodes are released once their elements have been copied
+     * into the new array.
+     *
      * @param node the node to flatten
      * @return a flat {@code Node.OfDouble}
      */
@@ -554,6 +590,7 @@ final class Nodes {
                 throw new IllegalArgumentException(BAD_SIZE);
             double[] array = new double[(int) size];
             new ToArrayTask.OfDouble(node, array, 0).invoke();
+            release(node);
             return node(array);
         } else {
             return node;
@@ -1823,6 +1860,183 @@ final class Nodes {
         }
     }
 
+    private static final class IntOffHeapNodeBuilder
+            extends OffHeapSpinedBuffer.OfInt
+            implements Node.OfInt, Node.Builder.OfInt {
+        private boolean building = false;
+
+        IntOffHeapNodeBuilder() {} // Avoid creation of special accessor
+
+        @Override
+        public Spliterator.OfInt spliterator() {
+            assert !building : "during building";
+            return super.spliterator();
+        }
+
+        @Override
+        public void forEach(IntConsumer consumer) {
+            assert !building : "during building";
+            super.forEach(consumer);
+        }
+
+        //
+        @Override
+        public void begin(long size) {
+            assert !building : "was already building";
+            building = true;
+            clear();
+            ensureCapacity(size);
+        }
+
+        @Override
+        public void accept(int i) {
+            assert building : "not building";
+            super.accept(i);
+        }
+
+        @Override
+        public void end() {
+            assert building : "was not building";
+            building = false;
+        }
+
+        @Override
+        public void copyInto(int[] array, int offset) {
+            assert !building : "during building";
+            super.copyInto(array, offset);
+        }
+
+        @Override
+        public int[] asPrimitiveArray() {
+            assert !building : "during building";
+            return super.asPrimitiveArray();
+        }
+
+        @Override
+        public Node.OfInt build() {
+            assert !building : "during building";
+            return this;
+        }
+    }
+
+    private static final class LongOffHeapNodeBuilder
+            extends OffHeapSpinedBuffer.OfLong
+            implements Node.OfLong, Node.Builder.OfLong {
+        private boolean building = false;
+
+        LongOffHeapNodeBuilder() {} // Avoid creation of special accessor
+
+        @Override
+        public Spliterator.OfLong spliterator() {
+            assert !building : "during building";
+            return super.spliterator();
+        }
+
+        @Override
+        public void forEach(LongConsumer consumer) {
+            assert !building : "during building";
+            super.forEach(consumer);
+        }
+
+        //
+        @Override
+        public void begin(long size) {
+            assert !building : "was already building";
+            building = true;
+            clear();
+            ensureCapacity(size);
+        }
+
+        @Override
+        public void accept(long i) {
+            assert building : "not building";
+            super.accept(i);
+        }
+
+        @Override
+        public void end() {
+            assert building : "was not building";
+            building = false;
+        }
+
+        @Override
+        public void copyInto(long[] array, int offset) {
+            assert !building : "during building";
+            super.copyInto(array, offset);
+        }
+
+        @Override
+        public long[] asPrimitiveArray() {
+            assert !building : "during building";
+            return super.asPrimitiveArray();
+        }
+
+        @Override
+        public Node.OfLong build() {
+            assert !building : "during building";
+            return this;
+        }
+    }
+
+    private static final class DoubleOffHeapNodeBuilder
+            extends OffHeapSpinedBuffer.OfDouble
+            implements Node.OfDouble, Node.Builder.OfDouble {
+        private boolean building = false;
+
+        DoubleOffHeapNodeBuilder() {} // Avoid creation of special accessor
+
+        @Override
+        public Spliterator.OfDouble spliterator() {
+            assert !building : "during building";
+            return super.spliterator();
+        }
+
+        @Override
+        public void forEach(DoubleConsumer consumer) {
+            assert !building : "during building";
+            super.forEach(consumer);
+        }
+
+        //
+        @Override
+        public void begin(long size) {
+            assert !building : "was already building";
+            building = true;
+            clear();
+            ensureCapacity(size);
+        }
+
+        @Override
+        public void accept(double i) {
+            assert building : "not building";
+            super.accept(i);
+        }
+
+        @Override
+        public void end() {
+            assert building : "was not building";
+            building = false;
+        }
+
+        @Override
+        public void copyInto(double[] array, int offset) {
+            assert !building : "during building";
+            super.copyInto(array, offset);
+        }
+
+        @Override
+        public double[] asPrimitiveArray() {
+            assert !building : "during building";
+            return super.asPrimitiveArray();
+        }
+
+        @Override
+        public Node.OfDouble build() {
+            assert !building : "during building";
+            return this;
+        }
+    }
+
     /*
      * This and subclasses are not intended to be serializable
      */
@@ -1834,6 +2048,7 @@ final class Nodes {
         protected final Spliterator<P_IN> spliterator;
         protected final PipelineHelper<P_OUT> helper;
         protected final long targetSize;
+        protected final ParallelTaskStatistics.Recorder recorder;
         protected long offset;
         protected long length;
         // For Sink implementation
@@ -1845,7 +2060,8 @@ final class Nodes {
             assert spliterator.hasCharacteristics(Spliterator.SUBSIZED);
             this.spliterator = spliterator;
             this.helper = helper;
-            this.targetSize = AbstractTask.suggestTargetSize(spliterator.estimateSize());
+            this.targetSize = AbstractTask.targetSize(helper, spliterator.estimateSize());
+            this.recorder = helper.newTaskRecorder();
             this.offset = 0;
             this.length = arrayLength;
         }
@@ -1857,6 +2073,7 @@ final class Nodes {
             this.spliterator = spliterator;
             this.helper = parent.helper;
             this.targetSize = parent.targetSize;
+            this.recorder = parent.recorder;
             this.offset = offset;
             this.length = length;
 
@@ -1883,8 +2100,29 @@ final class Nodes {
             assert task.offset + task.length < MAX_ARRAY_SIZE;
             @SuppressWarnings("unchecked")
             T_SINK sink = (T_SINK) task;
-            task.helper.wrapAndCopyInto(sink, rightSplit);
-            task.propagateCompletion();
+            if (recorder == null)
+                task.helper.wrapAndCopyInto(sink, rightSplit);
+            else {
+                long start = System.nanoTime();
+                task.helper.wrapAndCopyInto(sink, rightSplit);
+                recorder.recordLeaf(task.getDepth(), System.nanoTime() - start);
+            }
+            // Not propagateCompletion, so that the root reports statistics
+            task.tryComplete();
+        }
+
+        @Override
+        public void onCompletion(CountedCompleter<?> caller) {
+            if (recorder != null && getCompleter() == null)
+                recorder.report();
+        }
+
+        // The depth of this task in the task tree
+        private int getDepth() {
+            int depth = 0;
+            for (CountedCompleter<?> p = getCompleter(); p != null; p = p.getCompleter())
+                depth++;
+            return depth;
         }
 
         abstract K makeChild(Spliterator<P_IN> spliterator, long offset, long size);
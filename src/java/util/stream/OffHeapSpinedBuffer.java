@@ -0,0 +1,807 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package java.util.stream;
+
+import java.lang.ref.Cleaner;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+
+import jdk.internal.access.JavaNioAccess;
+import jdk.internal.access.SharedSecrets;
+import jdk.internal.misc.Unsafe;
+import jdk.internal.ref.CleanerFactory;
+
+/**
+ * An ordered collection of primitive values whose chunks are held in native
+ * memory rather than in primitive arrays on the Java heap.  Like
+ * {@link SpinedBuffer.OfPrimitive}, elements can be added but not removed,
+ * and the buffer goes through a building phase followed by a traversal phase.
+ *
+ * <p>Large intermediate results of primitive pipelines, such as those
+ * materialized by {@code toArray} or a parallel {@code sorted}, can then be
+ * gathered without allocating large numbers of big chunk arrays that the
+ * garbage collector has to trace and copy.  The native memory is released
+ * deterministically by {@link #close()}, which the stream implementation
+ * invokes once the elements have been copied out; a {@link Cleaner} frees the
+ * memory of buffers that escape without being closed.  Any access to a buffer
+ * after it has been closed fails with an {@code IllegalStateException}.
+ *
+ * <p>The chunks are allocated directly rather than as direct buffers, whose
+ * capacity is limited to {@code Integer.MAX_VALUE} bytes and whose contents
+ * would be accessed through bounds-checked buffer operations.  Each chunk is
+ * reserved as direct memory all the same, so that the chunks count against
+ * {@code -XX:MaxDirectMemorySize} and are reported by the {@code direct}
+ * buffer pool.
+ *
+ * <p>Off-heap buffers are used in place of {@link SpinedBuffer} for variable
+ * size primitive node builders when the system property
+ * {@code java.util.stream.offHeapBuffers} is considered {@code true}
+ * according to {@link Boolean#getBoolean(String)}.
+ *
+ * @param <E> the wrapper type for this primitive type
+ * @param <T_ARR> the array type for this primitive type
+ * @param <T_CONS> the Consumer type for this primitive type
+ * @since 12
+ */
+abstract class OffHeapSpinedBuffer<E, T_ARR, T_CONS>
+        extends AbstractSpinedBuffer implements Iterable<E>, AutoCloseable {
+
+    private static final String OFF_HEAP_PROPERTY = "java.util.stream.offHeapBuffers";
+
+    /** Should variable size primitive node builders use off-heap buffers? */
+    static final boolean ENABLED = AccessController.doPrivileged(
+            (PrivilegedAction<Boolean>) () -> Boolean.getBoolean(OFF_HEAP_PROPERTY));
+
+    private static final Unsafe U = Unsafe.getUnsafe();
+
+    private static final JavaNioAccess NIO_ACCESS = SharedSecrets.getJavaNioAccess();
+
+    // The maximum number of bytes copied between native memory and a heap
+    // array by a single Unsafe call, so that large copies do not hold off
+    // safepoints for too long.  Mirrors java.nio.Bits.
+    private static final long UNSAFE_COPY_THRESHOLD = 1024L * 1024L;
+
+    /*
+     * Unlike SpinedBuffer, the spine of chunk addresses and the
+     * priorElementCount[] array are always inflated, as a native chunk is
+     * much more expensive to create than the two small arrays.  The chunks
+     * are owned by a Chunks instance, which doubles as the cleaning action
+     * so that it must not refer back to the buffer.
+     *
+     * Chunk n always holds chunkSize(n) elements.  Chunks may be allocated
+     * ahead of spineIndex by ensureCapacity, so the number of allocated
+     * chunks is tracked separately by Chunks.count.
+     */
+
+    /**
+     * The native chunks of a buffer, freed by {@link #run()}.
+     */
+    private static final class Chunks implements Runnable {
+        // Base addresses of the chunks
+        long[] spine = new long[MIN_SPINE_SIZE];
+
+        // Sizes of the chunks in bytes, as reserved
+        long[] sizes = new long[MIN_SPINE_SIZE];
+
+        // Number of allocated chunks
+        int count;
+
+        /**
+         * Reserves and allocates a chunk of the given size in bytes.
+         */
+        long allocate(long bytes) {
+            if (count == spine.length) {
+                spine = Arrays.copyOf(spine, spine.length * 2);
+                sizes = Arrays.copyOf(sizes, sizes.length * 2);
+            }
+            NIO_ACCESS.reserveMemory(bytes, bytes);
+            long address;
+            try {
+                address = U.allocateMemory(bytes);
+            } catch (OutOfMemoryError x) {
+                NIO_ACCESS.unreserveMemory(bytes, bytes);
+                throw x;
+            }
+            spine[count] = address;
+            sizes[count++] = bytes;
+            return address;
+        }
+
+        void truncate(int newCount) {
+            for (int i = newCount; i < count; i++) {
+                U.freeMemory(spine[i]);
+                NIO_ACCESS.unreserveMemory(sizes[i], sizes[i]);
+                spine[i] = 0;
+                sizes[i] = 0;
+            }
+            count = newCount;
+        }
+
+        @Override
+        public void run() {
+            truncate(0);
+        }
+    }
+
+    // log2 of the element size in bytes
+    private final int elementShift;
+
+    // Base offset of the primitive array type, used by copyInto
+    private final long arrayBaseOffset;
+
+    // The native chunks
+    private final Chunks chunks;
+
+    // Frees the native chunks on close, or once the buffer is unreachable
+    private final Cleaner.Cleanable cleanable;
+
+    // Whether close() has been called
+    private boolean closed;
+
+    // Address of the chunk we're currently writing into
+    long curChunk;
+
+    // Length, in elements, of the current chunk
+    int curChunkLength;
+
+    /**
+     * Constructs an empty buffer with the specified initial capacity.
+     *
+     * @param  initialCapacity  the initial capacity of the buffer
+     * @param  elementShift log2 of the size in bytes of one element
+     * @param  arrayBaseOffset the base offset of the corresponding array type
+     * @throws IllegalArgumentException if the specified initial capacity
+     *         is negative
+     */
+    OffHeapSpinedBuffer(int initialCapacity, int elementShift, long arrayBaseOffset) {
+        super(initialCapacity);
+        this.elementShift = elementShift;
+        this.arrayBaseOffset = arrayBaseOffset;
+        this.chunks = new Chunks();
+        this.cleanable = CleanerFactory.cleaner().register(this, chunks);
+        init();
+    }
+
+    /**
+     * Constructs an empty buffer with an initial capacity of sixteen.
+     */
+    OffHeapSpinedBuffer(int elementShift, long arrayBaseOffset) {
+        super();
+        this.elementShift = elementShift;
+        this.arrayBaseOffset = arrayBaseOffset;
+        this.chunks = new Chunks();
+        this.cleanable = CleanerFactory.cleaner().register(this, chunks);
+        init();
+    }
+
+    private void init() {
+        priorElementCount = new long[MIN_SPINE_SIZE];
+        allocateChunk(0);
+        curChunk = chunks.spine[0];
+        curChunkLength = chunkSize(0);
+    }
+
+    @Override
+    public abstract Iterator<E> iterator();
+
+    @Override
+    public abstract void forEach(Consumer<? super E> consumer);
+
+    /** Create a new array of the proper type and size */
+    public abstract T_ARR newArray(int size);
+
+    /** Get the length of an array */
+    protected abstract int arrayLength(T_ARR array);
+
+    /** Iterate a native chunk with the provided consumer */
+    protected abstract void chunkForEach(long address, int from, int to,
+                                         T_CONS consumer);
+
+    /**
+     * Releases the native memory held by this buffer.  Subsequent attempts to
+     * add or access elements fail with {@code IllegalStateException}.  If the
+     * buffer is already closed then invoking this method has no effect.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        cleanable.clean();
+    }
+
+    /**
+     * Checks that this buffer has not been closed.
+     */
+    protected final void ensureOpen() {
+        if (closed)
+            throw new IllegalStateException("Buffer is closed");
+    }
+
+    /**
+     * Returns the address of the element at the given index of a chunk.
+     */
+    protected final long address(long chunk, long index) {
+        return chunk + (index << elementShift);
+    }
+
+    private void allocateChunk(int n) {
+        long bytes = (long) chunkSize(n) << elementShift;
+        chunks.allocate(bytes);
+        if (n > 0) {
+            if (n >= priorElementCount.length)
+                priorElementCount = Arrays.copyOf(priorElementCount, priorElementCount.length * 2);
+            priorElementCount[n] = priorElementCount[n - 1] + chunkSize(n - 1);
+        }
+    }
+
+    /**
+     * Returns the current capacity of the buffer
+     */
+    protected long capacity() {
+        int last = chunks.count - 1;
+        return priorElementCount[last] + chunkSize(last);
+    }
+
+    protected final void ensureCapacity(long targetSize) {
+        ensureOpen();
+        long capacity = capacity();
+        while (targetSize > capacity) {
+            int n = chunks.count;
+            allocateChunk(n);
+            capacity += chunkSize(n);
+        }
+    }
+
+    protected void increaseCapacity() {
+        ensureCapacity(capacity() + 1);
+    }
+
+    protected int chunkFor(long index) {
+        ensureOpen();
+        if (index < 0 || index >= count())
+            throw new IndexOutOfBoundsException(Long.toString(index));
+
+        for (int j=0; j < spineIndex; j++)
+            if (index < priorElementCount[j + 1])
+                return j;
+        return spineIndex;
+    }
+
+    /**
+     * Returns the address of the element at the specified index.
+     */
+    protected final long addressOf(long index) {
+        int ch = chunkFor(index);
+        return address(chunks.spine[ch], index - priorElementCount[ch]);
+    }
+
+    public void copyInto(T_ARR array, int offset) {
+        ensureOpen();
+        long finalOffset = offset + count();
+        if (finalOffset > arrayLength(array) || finalOffset < offset) {
+            throw new IndexOutOfBoundsException("does not fit");
+        }
+
+        // full chunks
+        for (int i=0; i < spineIndex; i++) {
+            int length = chunkSize(i);
+            copyToArray(chunks.spine[i], array, offset, length);
+            offset += length;
+        }
+        if (elementIndex > 0)
+            copyToArray(curChunk, array, offset, elementIndex);
+    }
+
+    private void copyToArray(long src, T_ARR array, int offset, int length) {
+        long dstOffset = arrayBaseOffset + ((long) offset << elementShift);
+        long bytes = (long) length << elementShift;
+        while (bytes > 0) {
+            long size = (bytes > UNSAFE_COPY_THRESHOLD) ? UNSAFE_COPY_THRESHOLD : bytes;
+            U.copyMemory(null, src, array, dstOffset, size);
+            bytes -= size;
+            src += size;
+            dstOffset += size;
+        }
+    }
+
+    public T_ARR asPrimitiveArray() {
+        long size = count();
+        if (size >= Nodes.MAX_ARRAY_SIZE)
+            throw new IllegalArgumentException(Nodes.BAD_SIZE);
+        T_ARR result = newArray((int) size);
+        copyInto(result, 0);
+        return result;
+    }
+
+    protected void preAccept() {
+        if (elementIndex == curChunkLength) {
+            ensureOpen();
+            if (spineIndex + 1 >= chunks.count)
+                increaseCapacity();
+            elementIndex = 0;
+            ++spineIndex;
+            curChunk = chunks.spine[spineIndex];
+            curChunkLength = chunkSize(spineIndex);
+        }
+    }
+
+    /**
+     * Removes all elements, and releases all chunks except the first one.
+     */
+    @Override
+    public void clear() {
+        ensureOpen();
+        chunks.truncate(1);
+        curChunk = chunks.spine[0];
+        curChunkLength = chunkSize(0);
+        elementIndex = 0;
+        spineIndex = 0;
+    }
+
+    @SuppressWarnings("overloads")
+    public void forEach(T_CONS consumer) {
+        ensureOpen();
+        // completed chunks, if any
+        for (int j = 0; j < spineIndex; j++)
+            chunkForEach(chunks.spine[j], 0, chunkSize(j), consumer);
+
+        // current chunk
+        chunkForEach(curChunk, 0, elementIndex, consumer);
+    }
+
+    private static final int SPLITERATOR_CHARACTERISTICS
+            = Spliterator.SIZED | Spliterator.ORDERED | Spliterator.SUBSIZED;
+
+    abstract class BaseSpliterator<T_SPLITR extends Spliterator.OfPrimitive<E, T_CONS, T_SPLITR>>
+            implements Spliterator.OfPrimitive<E, T_CONS, T_SPLITR> {
+        // The current spine index
+        int splSpineIndex;
+
+        // Last spine index
+        final int lastSpineIndex;
+
+        // The current element index into the current spine
+        int splElementIndex;
+
+        // Last spine's last element index + 1
+        final int lastSpineElementFence;
+
+        // When splSpineIndex >= lastSpineIndex and
+        // splElementIndex >= lastSpineElementFence then
+        // this spliterator is fully traversed
+        // tryAdvance can set splSpineIndex > spineIndex if the last spine is full
+
+        // The address of the current chunk
+        long splChunk;
+
+        BaseSpliterator(int firstSpineIndex, int lastSpineIndex,
+                        int firstSpineElementIndex, int lastSpineElementFence) {
+            this.splSpineIndex = firstSpineIndex;
+            this.lastSpineIndex = lastSpineIndex;
+            this.splElementIndex = firstSpineElementIndex;
+            this.lastSpineElementFence = lastSpineElementFence;
+            splChunk = chunks.spine[firstSpineIndex];
+        }
+
+        abstract T_SPLITR newSpliterator(int firstSpineIndex, int lastSpineIndex,
+                                         int firstSpineElementIndex, int lastSpineElementFence);
+
+        abstract void chunkForOne(long address, int index, T_CONS consumer);
+
+        @Override
+        public long estimateSize() {
+            return (splSpineIndex == lastSpineIndex)
+                   ? (long) lastSpineElementFence - splElementIndex
+                   : // # of elements prior to end -
+                   priorElementCount[lastSpineIndex] + lastSpineElementFence -
+                   // # of elements prior to current
+                   priorElementCount[splSpineIndex] - splElementIndex;
+        }
+
+        @Override
+        public int characteristics() {
+            return SPLITERATOR_CHARACTERISTICS;
+        }
+
+        @Override
+        public boolean tryAdvance(T_CONS consumer) {
+            Objects.requireNonNull(consumer);
+
+            if (splSpineIndex < lastSpineIndex
+                || (splSpineIndex == lastSpineIndex && splElementIndex < lastSpineElementFence)) {
+                ensureOpen();
+                chunkForOne(splChunk, splElementIndex++, consumer);
+
+                if (splElementIndex == chunkSize(splSpineIndex)) {
+                    splElementIndex = 0;
+                    ++splSpineIndex;
+                    if (splSpineIndex <= lastSpineIndex)
+                        splChunk = chunks.spine[splSpineIndex];
+                }
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(T_CONS consumer) {
+            Objects.requireNonNull(consumer);
+
+            if (splSpineIndex < lastSpineIndex
+                || (splSpineIndex == lastSpineIndex && splElementIndex < lastSpineElementFence)) {
+                ensureOpen();
+                int i = splElementIndex;
+                // completed chunks, if any
+                for (int sp = splSpineIndex; sp < lastSpineIndex; sp++) {
+                    chunkForEach(chunks.spine[sp], i, chunkSize(sp), consumer);
+                    i = 0;
+                }
+                // last (or current uncompleted) chunk
+                chunkForEach(chunks.spine[lastSpineIndex], i, lastSpineElementFence, consumer);
+                // mark consumed
+                splSpineIndex = lastSpineIndex;
+                splElementIndex = lastSpineElementFence;
+            }
+        }
+
+        @Override
+        public T_SPLITR trySplit() {
+            if (splSpineIndex < lastSpineIndex) {
+                // split just before last chunk (if it is full this means 50:50 split)
+                T_SPLITR ret = newSpliterator(splSpineIndex, lastSpineIndex - 1,
+                                              splElementIndex, chunkSize(lastSpineIndex - 1));
+                // position us to start of last chunk
+                splSpineIndex = lastSpineIndex;
+                splElementIndex = 0;
+                splChunk = chunks.spine[splSpineIndex];
+                return ret;
+            }
+            else if (splSpineIndex == lastSpineIndex) {
+                int t = (lastSpineElementFence - splElementIndex) / 2;
+                if (t == 0)
+                    return null;
+                else {
+                    T_SPLITR ret = newSpliterator(splSpineIndex, splSpineIndex,
+                                                  splElementIndex, splElementIndex + t);
+                    splElementIndex += t;
+                    return ret;
+                }
+            }
+            else {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * An ordered collection of {@code int} values held off-heap.
+     */
+    static class OfInt extends OffHeapSpinedBuffer<Integer, int[], IntConsumer>
+            implements IntConsumer {
+        OfInt() {
+            super(2, Unsafe.ARRAY_INT_BASE_OFFSET);
+        }
+
+        OfInt(int initialCapacity) {
+            super(initialCapacity, 2, Unsafe.ARRAY_INT_BASE_OFFSET);
+        }
+
+        @Override
+        public void forEach(Consumer<? super Integer> consumer) {
+            if (consumer instanceof IntConsumer) {
+                forEach((IntConsumer) consumer);
+            }
+            else {
+                if (Tripwire.ENABLED)
+                    Tripwire.trip(getClass(), "{0} calling OffHeapSpinedBuffer.OfInt.forEach(Consumer)");
+                spliterator().forEachRemaining(consumer);
+            }
+        }
+
+        @Override
+        public int[] newArray(int size) {
+            return new int[size];
+        }
+
+        @Override
+        protected int arrayLength(int[] array) {
+            return array.length;
+        }
+
+        @Override
+        protected void chunkForEach(long address,
+                                    int from, int to,
+                                    IntConsumer consumer) {
+            for (int i = from; i < to; i++)
+                consumer.accept(U.getInt(address(address, i)));
+        }
+
+        @Override
+        public void accept(int i) {
+            preAccept();
+            U.putInt(address(curChunk, elementIndex++), i);
+        }
+
+        public int get(long index) {
+            return U.getInt(addressOf(index));
+        }
+
+        @Override
+        public PrimitiveIterator.OfInt iterator() {
+            return Spliterators.iterator(spliterator());
+        }
+
+        public Spliterator.OfInt spliterator() {
+            class Splitr extends BaseSpliterator<Spliterator.OfInt>
+                    implements Spliterator.OfInt {
+                Splitr(int firstSpineIndex, int lastSpineIndex,
+                       int firstSpineElementIndex, int lastSpineElementFence) {
+                    super(firstSpineIndex, lastSpineIndex,
+                          firstSpineElementIndex, lastSpineElementFence);
+                }
+
+                @Override
+                Splitr newSpliterator(int firstSpineIndex, int lastSpineIndex,
+                                      int firstSpineElementIndex, int lastSpineElementFence) {
+                    return new Splitr(firstSpineIndex, lastSpineIndex,
+                                      firstSpineElementIndex, lastSpineElementFence);
+                }
+
+                @Override
+                void chunkForOne(long address, int index, IntConsumer consumer) {
+                    consumer.accept(U.getInt(address(address, index)));
+                }
+            }
+            ensureOpen();
+            return new Splitr(0, spineIndex, 0, elementIndex);
+        }
+
+        @Override
+        public String toString() {
+            int[] array = asPrimitiveArray();
+            if (array.length < 200) {
+                return String.format("%s[length=%d, chunks=%d]%s",
+                                     getClass().getSimpleName(), array.length,
+                                     spineIndex, Arrays.toString(array));
+            }
+            else {
+                int[] array2 = Arrays.copyOf(array, 200);
+                return String.format("%s[length=%d, chunks=%d]%s...",
+                                     getClass().getSimpleName(), array.length,
+                                     spineIndex, Arrays.toString(array2));
+            }
+        }
+    }
+
+    /**
+     * An ordered collection of {@code long} values held off-heap.
+     */
+    static class OfLong extends OffHeapSpinedBuffer<Long, long[], LongConsumer>
+            implements LongConsumer {
+        OfLong() {
+            super(3, Unsafe.ARRAY_LONG_BASE_OFFSET);
+        }
+
+        OfLong(int initialCapacity) {
+            super(initialCapacity, 3, Unsafe.ARRAY_LONG_BASE_OFFSET);
+        }
+
+        @Override
+        public void forEach(Consumer<? super Long> consumer) {
+            if (consumer instanceof LongConsumer) {
+                forEach((LongConsumer) consumer);
+            }
+            else {
+                if (Tripwire.ENABLED)
+                    Tripwire.trip(getClass(), "{0} calling OffHeapSpinedBuffer.OfLong.forEach(Consumer)");
+                spliterator().forEachRemaining(consumer);
+            }
+        }
+
+        @Override
+        public long[] newArray(int size) {
+            return new long[size];
+        }
+
+        @Override
+        protected int arrayLength(long[] array) {
+            return array.length;
+        }
+
+        @Override
+        protected void chunkForEach(long address,
+                                    int from, int to,
+                                    LongConsumer consumer) {
+            for (int i = from; i < to; i++)
+                consumer.accept(U.getLong(address(address, i)));
+        }
+
+        @Override
+        public void accept(long i) {
+            preAccept();
+            U.putLong(address(curChunk, elementIndex++), i);
+        }
+
+        public long get(long index) {
+            return U.getLong(addressOf(index));
+        }
+
+        @Override
+        public PrimitiveIterator.OfLong iterator() {
+            return Spliterators.iterator(spliterator());
+        }
+
+        public Spliterator.OfLong spliterator() {
+            class Splitr extends BaseSpliterator<Spliterator.OfLong>
+                    implements Spliterator.OfLong {
+                Splitr(int firstSpineIndex, int lastSpineIndex,
+                       int firstSpineElementIndex, int lastSpineElementFence) {
+                    super(firstSpineIndex, lastSpineIndex,
+                          firstSpineElementIndex, lastSpineElementFence);
+                }
+
+                @Override
+                Splitr newSpliterator(int firstSpineIndex, int lastSpineIndex,
+                                      int firstSpineElementIndex, int lastSpineElementFence) {
+                    return new Splitr(firstSpineIndex, lastSpineIndex,
+                                      firstSpineElementIndex, lastSpineElementFence);
+                }
+
+                @Override
+                void chunkForOne(long address, int index, LongConsumer consumer) {
+                    consumer.accept(U.getLong(address(address, index)));
+                }
+            }
+            ensureOpen();
+            return new Splitr(0, spineIndex, 0, elementIndex);
+        }
+
+        @Override
+        public String toString() {
+            long[] array = asPrimitiveArray();
+            if (array.length < 200) {
+                return String.format("%s[length=%d, chunks=%d]%s",
+                                     getClass().getSimpleName(), array.length,
+                                     spineIndex, Arrays.toString(array));
+            }
+            else {
+                long[] array2 = Arrays.copyOf(array, 200);
+                return String.format("%s[length=%d, chunks=%d]%s...",
+                                     getClass().getSimpleName(), array.length,
+                                     spineIndex, Arrays.toString(array2));
+            }
+        }
+    }
+
+    /**
+     * An ordered collection of {@code double} values held off-heap.
+     */
+    static class OfDouble
+            extends OffHeapSpinedBuffer<Double, double[], DoubleConsumer>
+            implements DoubleConsumer {
+        OfDouble() {
+            super(3, Unsafe.ARRAY_DOUBLE_BASE_OFFSET);
+        }
+
+        OfDouble(int initialCapacity) {
+            super(initialCapacity, 3, Unsafe.ARRAY_DOUBLE_BASE_OFFSET);
+        }
+
+        @Override
+        public void forEach(Consumer<? super Double> consumer) {
+            if (consumer instanceof DoubleConsumer) {
+                forEach((DoubleConsumer) consumer);
+            }
+            else {
+                if (Tripwire.ENABLED)
+                    Tripwire.trip(getClass(), "{0} calling OffHeapSpinedBuffer.OfDouble.forEach(Consumer)");
+                spliterator().forEachRemaining(consumer);
+            }
+        }
+
+        @Override
+        public double[] newArray(int size) {
+            return new double[size];
+        }
+
+        @Override
+        protected int arrayLength(double[] array) {
+            return array.length;
+        }
+
+        @Override
+        protected void chunkForEach(long address,
+                                    int from, int to,
+                                    DoubleConsumer consumer) {
+            for (int i = from; i < to; i++)
+                consumer.accept(U.getDouble(address(address, i)));
+        }
+
+        @Override
+        public void accept(double i) {
+            preAccept();
+            U.putDouble(address(curChunk, elementIndex++), i);
+        }
+
+        public double get(long index) {
+            return U.getDouble(addressOf(index));
+        }
+
+        @Override
+        public PrimitiveIterator.OfDouble iterator() {
+            return Spliterators.iterator(spliterator());
+        }
+
+        public Spliterator.OfDouble spliterator() {
+            class Splitr extends BaseSpliterator<Spliterator.OfDouble>
+                    implements Spliterator.OfDouble {
+                Splitr(int firstSpineIndex, int lastSpineIndex,
+                       int firstSpineElementIndex, int lastSpineElementFence) {
+                    super(firstSpineIndex, lastSpineIndex,
+                          firstSpineElementIndex, lastSpineElementFence);
+                }
+
+                @Override
+                Splitr newSpliterator(int firstSpineIndex, int lastSpineIndex,
+                                      int firstSpineElementIndex, int lastSpineElementFence) {
+                    return new Splitr(firstSpineIndex, lastSpineIndex,
+                                      firstSpineElementIndex, lastSpineElementFence);
+                }
+
+                @Override
+                void chunkForOne(long address, int index, DoubleConsumer consumer) {
+                    consumer.accept(U.getDouble(address(address, index)));
+                }
+            }
+            ensureOpen();
+            return new Splitr(0, spineIndex, 0, elementIndex);
+        }
+
+        @Override
+        public String toString() {
+            double[] array = asPrimitiveArray();
+            if (array.length < 200) {
+                return String.format("%s[length=%d, chunks=%d]%s",
+                                     getClass().getSimpleName(), array.length,
+                                     spineIndex, Arrays.toString(array));
+            }
+            else {
+                double[] array2 = Arrays.copyOf(array, 200);
+                return String.format("%s[length=%d, chunks=%d]%s...",
+                                     getClass().getSimpleName(), array.length,
+                                     spineIndex, Arrays.toString(array2));
+            }
+        }
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package java.util.stream;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Statistics describing the fork-join task tree used to evaluate a terminal
+ * operation of a parallel stream pipeline.  An instance is reported to the
+ * listener registered with
+ * {@link StreamSupport#withTaskStatistics(BaseStream, Consumer)} each time a
+ * parallel task tree of the pipeline completes.
+ *
+ * <p>The statistics can be used to tune the target leaf size of a pipeline
+ * with {@link StreamSupport#withTargetLeafSize(BaseStream, long)}: many very
+ * short leaves indicate that cheap per-element work is over-split, while few
+ * long leaves together with idle workers indicate that expensive per-element
+ * work is under-split.
+ *
+ * <p>Leaf timings are measured with {@link System#nanoTime()} around the
+ * traversal of each leaf, and so include the cost of all operations of the
+ * pipeline that are fused into the leaf.
+ *
+ * @since 12
+ */
+public final class ParallelTaskStatistics {
+    private final long leafCount;
+    private final int maxDepth;
+    private final long totalLeafNanos;
+    private final long minLeafNanos;
+    private final long maxLeafNanos;
+    private final long elapsedNanos;
+    private final int workerCount;
+    private final int parallelism;
+
+    private ParallelTaskStatistics(long leafCount, int maxDepth,
+                                   long totalLeafNanos, long minLeafNanos,
+                                   long maxLeafNanos, long elapsedNanos,
+                                   int workerCount, int parallelism) {
+        this.leafCount = leafCount;
+        this.maxDepth = maxDepth;
+        this.totalLeafNanos = totalLeafNanos;
+        this.minLeafNanos = minLeafNanos;
+        this.maxLeafNanos = maxLeafNanos;
+        this.elapsedNanos = elapsedNanos;
+        this.workerCount = workerCount;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Returns the number of leaf tasks, each of which traversed one part of
+     * the split source.
+     *
+     * @return the number of leaf tasks
+     */
+    public long leafCount() {
+        return leafCount;
+    }
+
+    /**
+     * Returns the depth of the deepest leaf task of the split tree, where the
+     * root task has a depth of zero.
+     *
+     * @return the depth of the split tree
+     */
+    public int maxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Returns the total time, in nanoseconds, spent traversing leaves.
+     *
+     * @return the total leaf time in nanoseconds
+     */
+    public long totalLeafNanos() {
+        return totalLeafNanos;
+    }
+
+    /**
+     * Returns the time, in nanoseconds, of the fastest leaf.
+     *
+     * @return the minimum leaf time in nanoseconds
+     */
+    public long minLeafNanos() {
+        return minLeafNanos;
+    }
+
+    /**
+     * Returns the time, in nanoseconds, of the slowest leaf.
+     *
+     * @return the maximum leaf time in nanoseconds
+     */
+    public long maxLeafNanos() {
+        return maxLeafNanos;
+    }
+
+    /**
+     * Returns the time, in nanoseconds, from the creation of the root task to
+     * the completion of the task tree.
+     *
+     * @return the elapsed time in nanoseconds
+     */
+    public long elapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Returns the number of distinct threads that traversed at least one
+     * leaf, including the thread that initiated the terminal operation if it
+     * helped to execute the tasks.
+     *
+     * @return the number of threads that executed leaf tasks
+     */
+    public int workerCount() {
+        return workerCount;
+    }
+
+    /**
+     * Returns the target parallelism of the pool in which the tasks were
+     * executed.
+     *
+     * @return the parallelism of the pool
+     */
+    public int parallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Returns the number of workers of the pool that did not execute any
+     * leaf task.
+     *
+     * @return the number of idle workers
+     */
+    public int idleWorkerCount() {
+        return Math.max(0, parallelism - workerCount);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s[leaves=%d, depth=%d, leafNanos=%d(min=%d, max=%d), elapsedNanos=%d, workers=%d/%d]",
+                             getClass().getSimpleName(), leafCount, maxDepth,
+                             totalLeafNanos, minLeafNanos, maxLeafNanos,
+                             elapsedNanos, workerCount, parallelism);
+    }
+
+    /**
+     * Accumulates statistics from the tasks of one task tree, and reports
+     * them to a listener once the tree completes.  Leaves may be recorded
+     * concurrently.
+     */
+    static final class Recorder {
+        private final Consumer<? super ParallelTaskStatistics> listener;
+        private final long startNanos;
+        private final int parallelism;
+        private final LongAdder leafCount = new LongAdder();
+        private final LongAdder totalLeafNanos = new LongAdder();
+        private final LongAccumulator minLeafNanos = new LongAccumulator(Math::min, Long.MAX_VALUE);
+        private final LongAccumulator maxLeafNanos = new LongAccumulator(Math::max, 0L);
+        private final LongAccumulator maxDepth = new LongAccumulator(Math::max, 0L);
+        private final Set<Thread> workers = ConcurrentHashMap.newKeySet();
+
+        Recorder(Consumer<? super ParallelTaskStatistics> listener) {
+            this.listener = Objects.requireNonNull(listener);
+            this.startNanos = System.nanoTime();
+            Thread t = Thread.currentThread();
+            this.parallelism = (t instanceof ForkJoinWorkerThread)
+                               ? ((ForkJoinWorkerThread) t).getPool().getParallelism()
+                               : ForkJoinPool.getCommonPoolParallelism();
+        }
+
+        /**
+         * Records the traversal of a leaf by the current thread.
+         *
+         * @param depth the depth of the leaf task in the split tree
+         * @param nanos the time taken to traverse the leaf
+         */
+        void recordLeaf(int depth, long nanos) {
+            leafCount.increment();
+            totalLeafNanos.add(nanos);
+            minLeafNanos.accumulate(nanos);
+            maxLeafNanos.accumulate(nanos);
+            maxDepth.accumulate(depth);
+            workers.add(Thread.currentThread());
+        }
+
+        /**
+         * Reports the statistics recorded so far to the listener.
+         */
+        void report() {
+            long leaves = leafCount.sum();
+            listener.accept(new ParallelTaskStatistics(
+                    leaves, (int) maxDepth.get(), totalLeafNanos.sum(),
+                    leaves == 0 ? 0L : minLeafNanos.get(), maxLeafNanos.get(),
+                    System.nanoTime() - startNanos, workers.size(), parallelism));
+        }
+    }
+}
@@ -71,6 +71,26 @@ abstract class PipelineHelper<P_OUT> {
      */
     abstract int getStreamAndOpFlags();
 
+    /**
+     * Gets the target leaf size requested for the parallel evaluation of the
+     * pipeline.
+     *
+     * @return the requested target leaf size, or {@code 0} if the target leaf
+     *         size is to be derived from the size estimate of the source
+     * @see StreamSupport#withTargetLeafSize(BaseStream, long)
+     */
+    abstract long getTargetLeafSize();
+
+    /**
+     * Creates a recorder of statistics for a parallel task tree evaluating
+     * the pipeline.
+     *
+     * @return a new recorder, or {@code null} if no statistics listener is
+     *         registered for the pipeline
+     * @see StreamSupport#withTaskStatistics(BaseStream, java.util.function.Consumer)
+     */
+    abstract ParallelTaskStatistics.Recorder newTaskRecorder();
+
     /**
      * Returns the exact output size of the portion of the output resulting from
      * applying the pipeline stages described by this {@code PipelineHelper} to
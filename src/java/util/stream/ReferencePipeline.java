@@ -26,6 +26,7 @@ package java.util.stream;
 
 import java.util.Comparator;
 import java.util.Iterator;
+import java.lang.invoke.MethodHandle;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Spliterator;
@@ -163,6 +164,11 @@ abstract class ReferencePipeline<P_IN, P_OUT>
         Objects.requireNonNull(predicate);
         return new StatelessOp<P_OUT, P_OUT>(this, StreamShape.REFERENCE,
                                      StreamOpFlag.NOT_SIZED) {
+            @Override
+            MethodHandle opFusionStep() {
+                return FusedStages.filter(predicate);
+            }
+
             @Override
             Sink<P_OUT> opWrapSink(int flags, Sink<P_OUT> sink) {
                 return new Sink.ChainedReference<P_OUT, P_OUT>(sink) {
@@ -187,6 +193,11 @@ abstract class ReferencePipeline<P_IN, P_OUT>
         Objects.requireNonNull(mapper);
         return new StatelessOp<P_OUT, R>(this, StreamShape.REFERENCE,
                                      StreamOpFlag.NOT_SORTED | StreamOpFlag.NOT_DISTINCT) {
+            @Override
+            MethodHandle opFusionStep() {
+                return FusedStages.map(mapper);
+            }
+
             @Override
             Sink<P_OUT> opWrapSink(int flags, Sink<R> sink) {
                 return new Sink.ChainedReference<P_OUT, R>(sink) {
@@ -433,6 +444,11 @@ abstract class ReferencePipeline<P_IN, P_OUT>
         Objects.requireNonNull(action);
         return new StatelessOp<P_OUT, P_OUT>(this, StreamShape.REFERENCE,
                                      0) {
+            @Override
+            MethodHandle opFusionStep() {
+                return FusedStages.peek(action);
+            }
+
             @Override
             Sink<P_OUT> opWrapSink(int flags, Sink<P_OUT> sink) {
                 return new Sink.ChainedReference<P_OUT, P_OUT>(sink) {
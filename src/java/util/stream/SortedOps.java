@@ -193,6 +193,7 @@ final class SortedOps {
                 Node.OfInt n = (Node.OfInt) helper.evaluate(spliterator, true, generator);
 
                 int[] content = n.asPrimitiveArray();
+                Nodes.release(n);
                 Arrays.parallelSort(content);
 
                 return Nodes.node(content);
@@ -232,6 +233,7 @@ final class SortedOps {
                 Node.OfLong n = (Node.OfLong) helper.evaluate(spliterator, true, generator);
 
                 long[] content = n.asPrimitiveArray();
+                Nodes.release(n);
                 Arrays.parallelSort(content);
 
                 return Nodes.node(content);
@@ -271,6 +273,7 @@ final class SortedOps {
                 Node.OfDouble n = (Node.OfDouble) helper.evaluate(spliterator, true, generator);
 
                 double[] content = n.asPrimitiveArray();
+                Nodes.release(n);
                 Arrays.parallelSort(content);
 
                 return Nodes.node(content);
@@ -26,6 +26,7 @@ package java.util.stream;
 
 import java.util.Objects;
 import java.util.Spliterator;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 /**
@@ -315,4 +316,72 @@ public final class StreamSupport {
                                          StreamOpFlag.fromCharacteristics(characteristics),
                                          parallel);
     }
+
+    /**
+     * Requests a target leaf size for the parallel evaluation of a stream
+     * pipeline, and returns the stream.
+     *
+     * <p>When a parallel pipeline is evaluated the source is recursively split
+     * into parts, each processed by a leaf task, until the estimated size of
+     * a part is no greater than the target leaf size.  By default the target
+     * leaf size is derived from the estimated size of the source and the
+     * parallelism of the executing pool, which may over-split pipelines with
+     * cheap per-element work, and under-split pipelines with expensive
+     * per-element work.  A smaller target leaf size yields more, smaller,
+     * tasks.
+     *
+     * <p>The target leaf size applies to all parallel terminal and stateful
+     * operations of the pipeline, and has no effect on sequential evaluation.
+     * It is a hint; a spliterator that cannot be split further produces
+     * larger leaves.  Streams not created by this package are returned
+     * unchanged.
+     *
+     * @param <T> the type of stream elements
+     * @param <S> the type of the stream
+     * @param stream the stream
+     * @param targetLeafSize the target number of elements per leaf task, or
+     *        {@code 0} to restore the default target leaf size
+     * @return the stream
+     * @throws IllegalArgumentException if {@code targetLeafSize} is negative
+     * @throws IllegalStateException if the stream has already been operated
+     *         upon or closed
+     * @since 12
+     */
+    public static <T, S extends BaseStream<T, S>> S withTargetLeafSize(S stream,
+                                                                     long targetLeafSize) {
+        Objects.requireNonNull(stream);
+        if (stream instanceof AbstractPipeline)
+            ((AbstractPipeline<?, ?, ?>) stream).setTargetLeafSize(targetLeafSize);
+        return stream;
+    }
+
+    /**
+     * Registers a listener that is notified of the {@link ParallelTaskStatistics}
+     * of each parallel task tree used to evaluate a stream pipeline, and
+     * returns the stream.
+     *
+     * <p>The listener is invoked by the thread that completes a task tree,
+     * which may be a worker thread of the executing pool, before the
+     * operation that initiated the task tree returns.  Recording statistics
+     * adds a small overhead to each leaf task; when no listener is registered
+     * no statistics are recorded.  Streams not created by this package are
+     * returned unchanged.
+     *
+     * @param <T> the type of stream elements
+     * @param <S> the type of the stream
+     * @param stream the stream
+     * @param listener the listener, or {@code null} to remove a previously
+     *        registered listener
+     * @return the stream
+     * @throws IllegalStateException if the stream has already been operated
+     *         upon or closed
+     * @since 12
+     */
+    public static <T, S extends BaseStream<T, S>> S withTaskStatistics(S stream,
+                                                                     Consumer<? super ParallelTaskStatistics> listener) {
+        Objects.requireNonNull(stream);
+        if (stream instanceof AbstractPipeline)
+            ((AbstractPipeline<?, ?, ?>) stream).setTaskStatisticsListener(listener);
+        return stream;
+    }
 }
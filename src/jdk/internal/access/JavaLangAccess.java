@@ -305,4 +305,55 @@ public interface JavaLangAccess {
      * @throws IllegalArgumentException for malformed surrogates
      */
     byte[] getBytesUTF8NoRepl(String s);
+
+    /**
+     * Decodes the leading run of ASCII bytes of the given subarray into the
+     * given char array.  Used by the stream decoders of ASCII-compatible
+     * charsets to bypass the {@code CharsetDecoder} for ASCII text.
+     *
+     * @param src the source byte array
+     * @param srcOff the index of the first byte to decode
+     * @param dst the destination char array
+     * @param dstOff the index of the first char to store
+     * @param len the maximum number of bytes to decode
+     * @return the number of bytes, all ASCII, that were decoded
+     */
+    int decodeASCII(byte[] src, int srcOff, char[] dst, int dstOff, int len);
+
+    /**
+     * Inflates bytes to chars, as ISO-8859-1 decoding does.
+     *
+     * @param src the source byte array
+     * @param srcOff the index of the first byte to inflate
+     * @param dst the destination char array
+     * @param dstOff the index of the first char to store
+     * @param len the number of bytes to inflate
+     */
+    void inflateBytesToChars(byte[] src, int srcOff, char[] dst, int dstOff, int len);
+
+    /**
+     * Encodes the leading run of ASCII chars of the given subarray into the
+     * given byte array.
+     *
+     * @param src the source char array
+     * @param srcOff the index of the first char to encode
+     * @param dst the destination byte array
+     * @param dstOff the index of the first byte to store
+     * @param len the maximum number of chars to encode
+     * @return the number of chars, all ASCII, that were encoded
+     */
+    int encodeASCII(char[] src, int srcOff, byte[] dst, int dstOff, int len);
+
+    /**
+     * Encodes the leading run of ISO-8859-1 chars of the given subarray into
+     * the given byte array.
+     *
+     * @param src the source char array
+     * @param srcOff the index of the first char to encode
+     * @param dst the destination byte array
+     * @param dstOff the index of the first byte to store
+     * @param len the maximum number of chars to encode
+     * @return the number of chars, all ISO-8859-1, that were encoded
+     */
+    int encodeLatin1(char[] src, int srcOff, byte[] dst, int dstOff, int len);
 }
@@ -27,6 +27,7 @@ package jdk.internal.access;
 
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
+import java.nio.MappedSegment;
 
 public interface JavaNioAccess {
     /**
@@ -48,9 +49,30 @@ public interface JavaNioAccess {
      */
     ByteBuffer newDirectByteBuffer(long addr, int cap, Object ob);
 
+    /**
+     * Constructs a mapped segment of {@code size} bytes starting at the given
+     * memory address.  The {@code unmapper} is run when the segment is closed
+     * or becomes unreachable, and may be null if there is nothing to unmap.
+     */
+    MappedSegment newMappedSegment(long addr, long size, boolean readOnly,
+                                   Runnable unmapper);
+
     /**
      * Truncates a buffer by changing its capacity to 0.
      */
     void truncate(Buffer buf);
 
+    /**
+     * Reserves {@code size} bytes of direct memory, of which {@code cap}
+     * count against the direct memory limit, for native memory that is
+     * allocated outside of direct buffers.  Fails with OutOfMemoryError if
+     * the limit would be exceeded.
+     */
+    void reserveMemory(long size, long cap);
+
+    /**
+     * Releases direct memory reserved by {@link #reserveMemory}.
+     */
+    void unreserveMemory(long size, long cap);
+
 }
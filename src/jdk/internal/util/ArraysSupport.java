@@ -574,6 +574,40 @@ public class ArraysSupport {
         return -1;
     }
 
+    // ASCII runs
+
+    /**
+     * Returns the length of the leading run of non-negative bytes, that is
+     * of ASCII bytes, in the given subarray.
+     *
+     * <p>Eight bytes are tested at a time, using
+     * {@code Unsafe.getLongUnaligned}, by masking the sign bits of a word.
+     * The words are read in little-endian order so that the first byte in
+     * memory is the lowest byte of the word.
+     *
+     * <p>No bounds checks are performed.
+     *
+     * @param a the array
+     * @param off the index of the first byte to test
+     * @param len the number of bytes to test
+     * @return the number of leading bytes, in the range 0 to {@code len},
+     *         that are non-negative
+     */
+    public static int countPositives(byte[] a, int off, int len) {
+        int i = 0;
+        long address = Unsafe.ARRAY_BYTE_BASE_OFFSET + off;
+        for (; i <= len - 8; i += 8) {
+            long signs = U.getLongUnaligned(a, address + i, false) & 0x8080808080808080L;
+            if (signs != 0)
+                return i + (Long.numberOfTrailingZeros(signs) >>> 3);
+        }
+        for (; i < len; i++) {
+            if (a[off + i] < 0)
+                return i;
+        }
+        return len;
+    }
+
     /**
      * The maximum length of array to allocate (unless necessary).
      * Some VMs reserve some header words in an array.
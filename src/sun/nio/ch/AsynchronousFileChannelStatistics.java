@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package sun.nio.ch;
+
+import java.nio.channels.AsynchronousFileChannel;
+
+/**
+ * A snapshot of the statistics of the read and write operations of an
+ * asynchronous file channel that queues its operations.  Operations are
+ * only counted, and their latency measured, if the system property
+ * {@code jdk.nio.asyncFileStatistics} is {@code true} at startup; otherwise
+ * these counts are zero.
+ */
+
+public final class AsynchronousFileChannelStatistics {
+    private final long queueDepth;
+    private final long maxQueueDepth;
+    private final long inFlight;
+    private final long completedCount;
+    private final long coalescedCount;
+    private final long totalLatencyNanos;
+    private final long maxLatencyNanos;
+
+    private AsynchronousFileChannelStatistics(long[] stats) {
+        this.queueDepth = stats[0];
+        this.maxQueueDepth = stats[1];
+        this.inFlight = stats[2];
+        this.completedCount = stats[3];
+        this.coalescedCount = stats[4];
+        this.totalLatencyNanos = stats[5];
+        this.maxLatencyNanos = stats[6];
+    }
+
+    /**
+     * Returns the statistics of the given channel, or null if the channel
+     * does not queue its operations.
+     */
+    public static AsynchronousFileChannelStatistics of(AsynchronousFileChannel ch) {
+        if (ch instanceof SimpleAsynchronousFileChannelImpl) {
+            long[] stats = ((SimpleAsynchronousFileChannelImpl)ch).statistics();
+            return new AsynchronousFileChannelStatistics(stats);
+        }
+        return null;
+    }
+
+    /**
+     * Returns the number of operations waiting to be performed.
+     */
+    public long queueDepth() {
+        return queueDepth;
+    }
+
+    /**
+     * Returns the largest number of operations that have been waiting to be
+     * performed at the same time.
+     */
+    public long maxQueueDepth() {
+        return maxQueueDepth;
+    }
+
+    /**
+     * Returns the number of tasks performing operations.
+     */
+    public long inFlight() {
+        return inFlight;
+    }
+
+    /**
+     * Returns the number of completed operations.
+     */
+    public long completedCount() {
+        return completedCount;
+    }
+
+    /**
+     * Returns the number of completed operations that were performed
+     * together with adjacent operations by a single read or write.
+     */
+    public long coalescedCount() {
+        return coalescedCount;
+    }
+
+    /**
+     * Returns the average time, in nanoseconds, from the initiation of an
+     * operation to its completion.
+     */
+    public long averageLatencyNanos() {
+        return (completedCount == 0) ? 0L : totalLatencyNanos / completedCount;
+    }
+
+    /**
+     * Returns the longest time, in nanoseconds, from the initiation of an
+     * operation to its completion.
+     */
+    public long maxLatencyNanos() {
+        return maxLatencyNanos;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName()
+            + "[queueDepth=" + queueDepth
+            + ", maxQueueDepth=" + maxQueueDepth
+            + ", inFlight=" + inFlight
+            + ", completed=" + completedCount
+            + ", coalesced=" + coalescedCount
+            + ", avgLatencyNanos=" + averageLatencyNanos()
+            + ", maxLatencyNanos=" + maxLatencyNanos
+            + "]";
+    }
+}
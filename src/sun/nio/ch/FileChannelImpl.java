@@ -31,6 +31,7 @@ import java.io.UncheckedIOException;
 import java.lang.ref.Cleaner.Cleanable;
 import java.nio.ByteBuffer;
 import java.nio.MappedByteBuffer;
+import java.nio.MappedSegment;
 import java.nio.channels.AsynchronousCloseException;
 import java.nio.channels.ClosedByInterruptException;
 import java.nio.channels.ClosedChannelException;
@@ -48,6 +49,7 @@ import jdk.internal.access.JavaNioAccess;
 import jdk.internal.access.SharedSecrets;
 import jdk.internal.ref.Cleaner;
 import jdk.internal.ref.CleanerFactory;
+import sun.security.action.GetPropertyAction;
 
 public class FileChannelImpl
     extends FileChannel
@@ -168,6 +170,9 @@ public class FileChannelImpl
         if (!fd.valid())
             return; // nothing to do
 
+        // Unmap the region cached for transfers
+        dropTransferMapping();
+
         // Release and invalidate any locks that we still hold
         if (fileLockTable != null) {
             for (FileLock fl: fileLockTable.removeAll()) {
@@ -426,6 +431,9 @@ public class FileChannelImpl
 
                 // truncate file if given size is less than the current size
                 if (newSize < size) {
+                    // the file cannot be truncated while mapped on some
+                    // platforms
+                    dropTransferMapping();
                     do {
                         rv = nd.truncate(fd, newSize);
                     } while ((rv == IOStatus.INTERRUPTED) && isOpen());
@@ -567,10 +575,109 @@ public class FileChannelImpl
         }
     }
 
+    private static long getLongProperty(String name, long def) {
+        String s = GetPropertyAction.privilegedGetProperty(name);
+        if (s != null) {
+            try {
+                long m = Long.parseLong(s);
+                if (m > 0)
+                    return m;
+            } catch (NumberFormatException e) {
+                // if the string is not well formed, ignore the system property
+            }
+        }
+        return def;
+    }
+
     // Maximum size to map when using a mapped buffer
-    private static final long MAPPED_TRANSFER_SIZE = 8L*1024L*1024L;
+    private static final long MAPPED_TRANSFER_SIZE =
+        Math.min(getLongProperty("jdk.nio.mappedTransferSize", 8L*1024L*1024L),
+                 Integer.MAX_VALUE);
+
+    // Maximum size of the buffer used to transfer to an untrusted channel
+    private static final int MAX_TRANSFER_SIZE =
+        (int)Math.min(getLongProperty("jdk.nio.maxTransferBufferSize", 256*1024),
+                      Integer.MAX_VALUE);
+
+    // A read-only mapping of a region of the file, retained after a partial
+    // write of a mapped transfer to a selectable channel so that the transfer
+    // of the remainder, which typically follows once the channel is ready,
+    // does not map and unmap it again
+    private static final class TransferMapping {
+        final MappedByteBuffer buffer;
+        final long position;
+
+        TransferMapping(MappedByteBuffer buffer, long position) {
+            this.buffer = buffer;
+            this.position = position;
+        }
+
+        long end() {
+            return position + buffer.capacity();
+        }
+
+        boolean contains(long position, long fileSize) {
+            return position >= this.position && position < end()
+                && end() <= fileSize;
+        }
+    }
+
+    // The mapping retained by the last mapped transfer, or null
+    private final Object transferMappingLock = new Object();
+    private TransferMapping transferMapping;
+
+    /**
+     * Returns a mapping of the given region, or reuses the retained mapping
+     * if it contains the given position.  A reused mapping may end before
+     * the region does, so the caller transfers at most up to its end.
+     */
+    private TransferMapping takeTransferMapping(long position, long size,
+                                                long fileSize)
+        throws IOException
+    {
+        TransferMapping tm;
+        synchronized (transferMappingLock) {
+            tm = transferMapping;
+            transferMapping = null;
+        }
+        if (tm != null) {
+            if (tm.contains(position, fileSize))
+                return tm;
+            unmap(tm.buffer);
+        }
+        return new TransferMapping(map(MapMode.READ_ONLY, position, size),
+                                   position);
+    }
+
+    /**
+     * Retains the given mapping for the transfer of the remainder of a
+     * partial write, if requested and the channel is still open, otherwise
+     * unmaps it.
+     */
+    private void releaseTransferMapping(TransferMapping tm, boolean retain) {
+        if (retain) {
+            synchronized (transferMappingLock) {
+                if (transferMapping == null && isOpen()) {
+                    transferMapping = tm;
+                    return;
+                }
+            }
+        }
+        unmap(tm.buffer);
+    }
+
+    private void dropTransferMapping() {
+        TransferMapping tm;
+        synchronized (transferMappingLock) {
+            tm = transferMapping;
+            transferMapping = null;
+        }
+        if (tm != null)
+            unmap(tm.buffer);
+    }
 
     private long transferToTrustedChannel(long position, long count,
+                                          long fileSize,
                                           WritableByteChannel target)
         throws IOException
     {
@@ -583,20 +690,29 @@ public class FileChannelImpl
         while (remaining > 0L) {
             long size = Math.min(remaining, MAPPED_TRANSFER_SIZE);
             try {
-                MappedByteBuffer dbb = map(MapMode.READ_ONLY, position, size);
+                TransferMapping tm = takeTransferMapping(position, size, fileSize);
+                size = Math.min(size, tm.end() - position);
+                int n = 0;
+                boolean partial = false;
                 try {
+                    int off = (int)(position - tm.position);
+                    MappedByteBuffer dbb = tm.buffer;
+                    dbb.limit(off + (int)size).position(off);
                     // ## Bug: Closing this channel will not terminate the write
-                    int n = target.write(dbb);
+                    n = target.write(dbb);
                     assert n >= 0;
                     remaining -= n;
                     if (isSelChImpl) {
                         // one attempt to write to selectable channel
+                        partial = (n < size);
                         break;
                     }
                     assert n > 0;
-                    position += n;
                 } finally {
-                    unmap(dbb);
+                    position += n;
+                    // only a partial write to a selectable channel is
+                    // expected to be followed by a transfer of the rest
+                    releaseTransferMapping(tm, partial);
                 }
             } catch (ClosedByInterruptException e) {
                 // target closed by interrupt as ClosedByInterruptException needs
@@ -622,14 +738,16 @@ public class FileChannelImpl
                                             WritableByteChannel target)
         throws IOException
     {
-        // Untrusted target: Use a newly-erased buffer
+        // Untrusted target: Use a newly-erased buffer, starting small and
+        // doubling its size, up to MAX_TRANSFER_SIZE, while the target
+        // accepts everything written to it
         int c = Math.min(icount, TRANSFER_SIZE);
         ByteBuffer bb = ByteBuffer.allocate(c);
         long tw = 0;                    // Total bytes written
         long pos = position;
         try {
             while (tw < icount) {
-                bb.limit(Math.min((int)(icount - tw), TRANSFER_SIZE));
+                bb.limit((int)Math.min(icount - tw, bb.capacity()));
                 int nr = read(bb, pos);
                 if (nr <= 0)
                     break;
@@ -641,7 +759,14 @@ public class FileChannelImpl
                 if (nw != nr)
                     break;
                 pos += nw;
-                bb.clear();
+                if (nr == bb.capacity() && c < MAX_TRANSFER_SIZE
+                        && icount - tw > c) {
+                    c = (int)Math.min(Math.min(2L * c, MAX_TRANSFER_SIZE),
+                                      icount - tw);
+                    bb = ByteBuffer.allocate(c);
+                } else {
+                    bb.clear();
+                }
             }
             return tw;
         } catch (IOException x) {
@@ -679,7 +804,7 @@ public class FileChannelImpl
             return n;
 
         // Attempt a mapped transfer, but only to trusted channel types
-        if ((n = transferToTrustedChannel(position, icount, target)) >= 0)
+        if ((n = transferToTrustedChannel(position, icount, sz, target)) >= 0)
             return n;
 
         // Slow path for untrusted targets
@@ -873,10 +998,10 @@ public class FileChannelImpl
 
         private volatile long address;
         private final long size;
-        private final int cap;
+        private final long cap;
         private final FileDescriptor fd;
 
-        private Unmapper(long address, long size, int cap,
+        private Unmapper(long address, long size, long cap,
                          FileDescriptor fd)
         {
             assert (address != 0);
@@ -927,6 +1052,46 @@ public class FileChannelImpl
 
     public MappedByteBuffer map(MapMode mode, long position, long size)
         throws IOException
+    {
+        Unmapper um = mapInternal(mode, position, size, true);
+        boolean readOnly = (!writable) || (mode == MapMode.READ_ONLY);
+        if (um == null) {
+            // a valid file descriptor is not required
+            FileDescriptor dummy = new FileDescriptor();
+            if (readOnly)
+                return Util.newMappedByteBufferR(0, 0, dummy, null);
+            else
+                return Util.newMappedByteBuffer(0, 0, dummy, null);
+        }
+        int isize = (int)size;
+        long addr = um.address + (position % allocationGranularity);
+        if (readOnly) {
+            return Util.newMappedByteBufferR(isize, addr, um.fd, um);
+        } else {
+            return Util.newMappedByteBuffer(isize, addr, um.fd, um);
+        }
+    }
+
+    public MappedSegment mapSegment(MapMode mode, long position, long size)
+        throws IOException
+    {
+        Unmapper um = mapInternal(mode, position, size, false);
+        boolean readOnly = (!writable) || (mode == MapMode.READ_ONLY);
+        JavaNioAccess nioAccess = SharedSecrets.getJavaNioAccess();
+        if (um == null)
+            return nioAccess.newMappedSegment(0, 0, readOnly, null);
+        long addr = um.address + (position % allocationGranularity);
+        return nioAccess.newMappedSegment(addr, size, readOnly, um);
+    }
+
+    /**
+     * Maps the given region of the file, extending the file if required.
+     * Returns the unmapper of the new mapping, or null if size is zero.
+     * If isBuffer is true then the size is limited to Integer.MAX_VALUE.
+     */
+    private Unmapper mapInternal(MapMode mode, long position, long size,
+                                 boolean isBuffer)
+        throws IOException
     {
         ensureOpen();
         if (mode == null)
@@ -937,7 +1102,7 @@ public class FileChannelImpl
             throw new IllegalArgumentException("Negative size");
         if (position + size < 0)
             throw new IllegalArgumentException("Position + size overflow");
-        if (size > Integer.MAX_VALUE)
+        if (isBuffer && size > Integer.MAX_VALUE)
             throw new IllegalArgumentException("Size exceeds Integer.MAX_VALUE");
 
         int imode = -1;
@@ -962,7 +1127,6 @@ public class FileChannelImpl
                 return null;
 
             long mapSize;
-            int pagePosition;
             synchronized (positionLock) {
                 long filesize;
                 do {
@@ -976,6 +1140,7 @@ public class FileChannelImpl
                         throw new IOException("Channel not open for writing " +
                             "- cannot extend file to required size");
                     }
+                    dropTransferMapping();
                     int rv;
                     do {
                         rv = nd.truncate(fd, position + size);
@@ -986,15 +1151,10 @@ public class FileChannelImpl
 
                 if (size == 0) {
                     addr = 0;
-                    // a valid file descriptor is not required
-                    FileDescriptor dummy = new FileDescriptor();
-                    if ((!writable) || (imode == MAP_RO))
-                        return Util.newMappedByteBufferR(0, 0, dummy, null);
-                    else
-                        return Util.newMappedByteBuffer(0, 0, dummy, null);
+                    return null;
                 }
 
-                pagePosition = (int)(position % allocationGranularity);
+                int pagePosition = (int)(position % allocationGranularity);
                 long mapPosition = position - pagePosition;
                 mapSize = size + pagePosition;
                 try {
@@ -1030,19 +1190,7 @@ public class FileChannelImpl
 
             assert (IOStatus.checkAll(addr));
             assert (addr % allocationGranularity == 0);
-            int isize = (int)size;
-            Unmapper um = new Unmapper(addr, mapSize, isize, mfd);
-            if ((!writable) || (imode == MAP_RO)) {
-                return Util.newMappedByteBufferR(isize,
-                                                 addr + pagePosition,
-                                                 mfd,
-                                                 um);
-            } else {
-                return Util.newMappedByteBuffer(isize,
-                                                addr + pagePosition,
-                                                mfd,
-                                                um);
-            }
+            return new Unmapper(addr, mapSize, size, mfd);
         } finally {
             threads.remove(ti);
             endBlocking(IOStatus.checkAll(addr));
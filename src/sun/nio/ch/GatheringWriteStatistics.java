@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package sun.nio.ch;
+
+import java.util.concurrent.atomic.LongAdder;
+import sun.security.action.GetPropertyAction;
+
+/**
+ * Statistics on the gathering writes performed by {@link IOUtil}, for all
+ * channels.  A gathering write is performed in one or more batches, each
+ * written with a single native vectored write of at most {@code IOV_MAX}
+ * iovec structures; small heap buffers are coalesced so that several of
+ * them share an iovec structure and a temporary direct buffer.
+ *
+ * <p> The statistics are only collected if the system property
+ * {@code jdk.nio.gatheringWriteStatistics} is {@code true} at startup;
+ * otherwise all counts are zero.
+ */
+
+public final class GatheringWriteStatistics {
+
+    /**
+     * True if gathering writes are counted.
+     */
+    static final boolean ENABLED =
+        Boolean.parseBoolean(GetPropertyAction.privilegedGetProperty(
+            "jdk.nio.gatheringWriteStatistics"));
+
+    static final LongAdder writes = new LongAdder();
+    static final LongAdder batches = new LongAdder();
+    static final LongAdder buffers = new LongAdder();
+    static final LongAdder iovecs = new LongAdder();
+    static final LongAdder coalescedBuffers = new LongAdder();
+
+    private GatheringWriteStatistics() { }
+
+    /**
+     * Returns the number of gathering writes.
+     */
+    public static long getWriteCount() {
+        return writes.sum();
+    }
+
+    /**
+     * Returns the number of native vectored writes issued by gathering
+     * writes.  This exceeds the number of gathering writes when writes of
+     * more than {@code IOV_MAX} buffers are split into several batches.
+     */
+    public static long getBatchCount() {
+        return batches.sum();
+    }
+
+    /**
+     * Returns the number of non-empty buffers written from.
+     */
+    public static long getBufferCount() {
+        return buffers.sum();
+    }
+
+    /**
+     * Returns the number of iovec structures written from.
+     */
+    public static long getIovecCount() {
+        return iovecs.sum();
+    }
+
+    /**
+     * Returns the number of heap buffers that were coalesced into shared
+     * temporary direct buffers.
+     */
+    public static long getCoalescedBufferCount() {
+        return coalescedBuffers.sum();
+    }
+}
@@ -130,88 +130,168 @@ public class IOUtil {
         return write(fd, bufs, offset, length, false, -1, nd);
     }
 
+    /**
+     * Heap buffers with at most this many bytes remaining are copied, with
+     * adjacent small heap buffers, into a shared temporary direct buffer
+     * rather than into a temporary direct buffer each
+     */
+    private static final int GATHER_COALESCE_THRESHOLD = 4096;
+
+    /**
+     * Max size of a temporary direct buffer shared by coalesced heap buffers
+     */
+    private static final int GATHER_BUFFER_SIZE = 64 * 1024;
+
     static long write(FileDescriptor fd, ByteBuffer[] bufs, int offset, int length,
                       boolean directIO, int alignment, NativeDispatcher nd)
         throws IOException
     {
         IOVecWrapper vec = IOVecWrapper.get(length);
 
-        boolean completed = false;
-        int iov_len = 0;
-        try {
-
-            // Iterate over buffers to populate native iovec array.
-            int count = offset + length;
-            int i = offset;
-            while (i < count && iov_len < IOV_MAX) {
-                ByteBuffer buf = bufs[i];
-                int pos = buf.position();
-                int lim = buf.limit();
-                assert (pos <= lim);
-                int rem = (pos <= lim ? lim - pos : 0);
-                if (directIO)
-                    Util.checkRemainingBufferSizeAligned(rem, alignment);
-
-                if (rem > 0) {
-                    vec.setBuffer(iov_len, buf, pos, rem);
-
-                    // allocate shadow buffer to ensure I/O is done with direct buffer
-                    if (!(buf instanceof DirectBuffer)) {
-                        ByteBuffer shadow;
-                        if (directIO)
-                            shadow = Util.getTemporaryAlignedDirectBuffer(rem, alignment);
-                        else
-                            shadow = Util.getTemporaryDirectBuffer(rem);
-                        shadow.put(buf);
+        long totalWritten = 0L;
+        int count = offset + length;
+        int i = offset;
+        if (GatheringWriteStatistics.ENABLED)
+            GatheringWriteStatistics.writes.increment();
+
+        // Write the buffers in batches of at most IOV_MAX iovec structures,
+        // until all are written or a batch is written partially
+        for (;;) {
+            boolean completed = false;
+            int iov_len = 0;
+            int nslots = 0;             // buffers referenced by the iovecs
+            long batchBytes = 0L;
+            try {
+
+                // Iterate over buffers to populate native iovec array.
+                while (i < count && iov_len < IOV_MAX) {
+                    ByteBuffer buf = bufs[i];
+                    int pos = buf.position();
+                    int lim = buf.limit();
+                    assert (pos <= lim);
+                    int rem = (pos <= lim ? lim - pos : 0);
+                    if (directIO)
+                        Util.checkRemainingBufferSizeAligned(rem, alignment);
+
+                    if (rem > 0 && !directIO && rem <= GATHER_COALESCE_THRESHOLD
+                            && !(buf instanceof DirectBuffer)) {
+                        // coalesce this and the following small heap buffers
+                        // into a single shadow buffer and iovec
+                        int end = i + 1;
+                        int size = rem;
+                        while (end < count) {
+                            ByteBuffer next = bufs[end];
+                            int r = next.remaining();
+                            if ((next instanceof DirectBuffer)
+                                    || r > GATHER_COALESCE_THRESHOLD
+                                    || size + r > GATHER_BUFFER_SIZE)
+                                break;
+                            size += r;
+                            end++;
+                        }
+                        ByteBuffer shadow = Util.getTemporaryDirectBuffer(size);
+                        int first = nslots;
+                        vec.setShadow(first, shadow);
+                        for (; i < end; i++) {
+                            buf = bufs[i];
+                            pos = buf.position();
+                            rem = buf.remaining();
+                            if (rem > 0) {
+                                vec.setBuffer(nslots++, buf, pos, rem);
+                                shadow.put(buf);
+                                buf.position(pos);  // temporarily restore position in user buffer
+                            }
+                        }
                         shadow.flip();
-                        vec.setShadow(iov_len, shadow);
-                        buf.position(pos);  // temporarily restore position in user buffer
-                        buf = shadow;
-                        pos = shadow.position();
+                        if (GatheringWriteStatistics.ENABLED)
+                            GatheringWriteStatistics.coalescedBuffers.add(nslots - first);
+                        vec.putBase(iov_len, ((DirectBuffer)shadow).address());
+                        vec.putLen(iov_len, size);
+                        batchBytes += size;
+                        iov_len++;
+                        continue;
                     }
 
-                    vec.putBase(iov_len, ((DirectBuffer)buf).address() + pos);
-                    vec.putLen(iov_len, rem);
-                    iov_len++;
-                }
-                i++;
-            }
-            if (iov_len == 0)
-                return 0L;
-
-            long bytesWritten = nd.writev(fd, vec.address, iov_len);
+                    if (rem > 0) {
+                        vec.setBuffer(nslots, buf, pos, rem);
+
+                        // allocate shadow buffer to ensure I/O is done with direct buffer
+                        if (!(buf instanceof DirectBuffer)) {
+                            ByteBuffer shadow;
+                            if (directIO)
+                                shadow = Util.getTemporaryAlignedDirectBuffer(rem, alignment);
+                            else
+                                shadow = Util.getTemporaryDirectBuffer(rem);
+                            shadow.put(buf);
+                            shadow.flip();
+                            vec.setShadow(nslots, shadow);
+                            buf.position(pos);  // temporarily restore position in user buffer
+                            buf = shadow;
+                            pos = shadow.position();
+                        }
+                        nslots++;
 
-            // Notify the buffers how many bytes were taken
-            long left = bytesWritten;
-            for (int j=0; j<iov_len; j++) {
-                if (left > 0) {
-                    ByteBuffer buf = vec.getBuffer(j);
-                    int pos = vec.getPosition(j);
-                    int rem = vec.getRemaining(j);
-                    int n = (left > rem) ? rem : (int)left;
-                    buf.position(pos + n);
-                    left -= n;
+                        vec.putBase(iov_len, ((DirectBuffer)buf).address() + pos);
+                        vec.putLen(iov_len, rem);
+                        batchBytes += rem;
+                        iov_len++;
+                    }
+                    i++;
+                }
+                if (iov_len == 0)
+                    return totalWritten;
+
+                long bytesWritten;
+                try {
+                    bytesWritten = nd.writev(fd, vec.address, iov_len);
+                } catch (IOException x) {
+                    // Only throw exception if no bytes have been written
+                    if (totalWritten > 0)
+                        return totalWritten;
+                    throw x;
+                }
+                if (GatheringWriteStatistics.ENABLED) {
+                    GatheringWriteStatistics.batches.increment();
+                    GatheringWriteStatistics.buffers.add(nslots);
+                    GatheringWriteStatistics.iovecs.add(iov_len);
                 }
-                // return shadow buffers to buffer pool
-                ByteBuffer shadow = vec.getShadow(j);
-                if (shadow != null)
-                    Util.offerLastTemporaryDirectBuffer(shadow);
-                vec.clearRefs(j);
-            }
-
-            completed = true;
-            return bytesWritten;
 
-        } finally {
-            // if an error occurred then clear refs to buffers and return any shadow
-            // buffers to cache
-            if (!completed) {
-                for (int j=0; j<iov_len; j++) {
+                // Notify the buffers how many bytes were taken
+                long left = bytesWritten;
+                for (int j=0; j<nslots; j++) {
+                    if (left > 0) {
+                        ByteBuffer buf = vec.getBuffer(j);
+                        int pos = vec.getPosition(j);
+                        int rem = vec.getRemaining(j);
+                        int n = (left > rem) ? rem : (int)left;
+                        buf.position(pos + n);
+                        left -= n;
+                    }
+                    // return shadow buffers to buffer pool
                     ByteBuffer shadow = vec.getShadow(j);
                     if (shadow != null)
                         Util.offerLastTemporaryDirectBuffer(shadow);
                     vec.clearRefs(j);
                 }
+
+                completed = true;
+                if (bytesWritten < 0)
+                    return (totalWritten > 0) ? totalWritten : bytesWritten;
+                totalWritten += bytesWritten;
+                if (bytesWritten < batchBytes || i >= count)
+                    return totalWritten;
+
+            } finally {
+                // if an error occurred then clear refs to buffers and return any shadow
+                // buffers to cache
+                if (!completed) {
+                    for (int j=0; j<nslots; j++) {
+                        ByteBuffer shadow = vec.getShadow(j);
+                        if (shadow != null)
+                            Util.offerLastTemporaryDirectBuffer(shadow);
+                        vec.clearRefs(j);
+                    }
+                }
             }
         }
     }
@@ -39,7 +39,9 @@ import java.util.Iterator;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import sun.security.action.GetPropertyAction;
 
 
 /**
@@ -62,6 +64,20 @@ abstract class SelectorImpl
     // used to check for reentrancy
     private boolean inSelect;
 
+    // action used by select(SelectionKey[]) to store keys in an array
+    private final KeyArrayAction keyArrayAction = new KeyArrayAction();
+
+    // true if selection operations are counted
+    private static final boolean STATISTICS =
+        Boolean.parseBoolean(GetPropertyAction.privilegedGetProperty(
+            "jdk.nio.selectorStatistics"));
+
+    // statistics, updated while synchronized on this selector
+    private volatile long selectCount;
+    private volatile long selectedKeyCount;
+    private volatile long wakeupCount;
+    private volatile long spuriousWakeupCount;
+
     protected SelectorImpl(SelectorProvider sp) {
         super(sp);
         keys = ConcurrentHashMap.newKeySet();
@@ -121,7 +137,13 @@ abstract class SelectorImpl
             inSelect = true;
             try {
                 synchronized (publicSelectedKeys) {
-                    return doSelect(action, timeout);
+                    if (!STATISTICS)
+                        return doSelect(action, timeout);
+                    long start = (timeout > 0) ? System.nanoTime() : 0L;
+                    long wakeups = wakeupCount;
+                    int n = doSelect(action, timeout);
+                    recordSelect(n, timeout, start, wakeups);
+                    return n;
                 }
             } finally {
                 inSelect = false;
@@ -129,6 +151,81 @@ abstract class SelectorImpl
         }
     }
 
+    /**
+     * Updates the statistics after a selection operation that selected n
+     * keys.  A blocking operation that selects no key is spurious unless it
+     * consumed a wakeup, timed out or was interrupted.
+     */
+    private void recordSelect(int n, long timeout, long start, long wakeups) {
+        selectCount++;
+        selectedKeyCount += n;
+        if (n == 0 && timeout != 0 && wakeupCount == wakeups
+                && !Thread.currentThread().isInterrupted()
+                && (timeout < 0 || System.nanoTime() - start
+                                   < TimeUnit.MILLISECONDS.toNanos(timeout))) {
+            spuriousWakeupCount++;
+        }
+    }
+
+    /**
+     * Invoked by selection operations when they return because of a previous
+     * invocation of wakeup.
+     */
+    protected final void recordWakeup() {
+        assert Thread.holdsLock(this);
+        if (STATISTICS)
+            wakeupCount++;
+    }
+
+    long selectCount() {
+        return selectCount;
+    }
+
+    long selectedKeyCount() {
+        return selectedKeyCount;
+    }
+
+    long wakeupCount() {
+        return wakeupCount;
+    }
+
+    long spuriousWakeupCount() {
+        return spuriousWakeupCount;
+    }
+
+    /**
+     * An action that stores keys in an array, ignoring keys that do not fit.
+     */
+    private static class KeyArrayAction implements Consumer<SelectionKey> {
+        SelectionKey[] keys;
+        int count;
+
+        @Override
+        public void accept(SelectionKey k) {
+            if (count < keys.length)
+                keys[count++] = k;
+        }
+    }
+
+    private int lockAndSelectKeys(SelectionKey[] keys, long timeout)
+        throws IOException
+    {
+        synchronized (this) {
+            ensureOpen();
+            if (inSelect)
+                throw new IllegalStateException("select in progress");
+            KeyArrayAction action = keyArrayAction;
+            action.keys = keys;
+            action.count = 0;
+            try {
+                lockAndDoSelect(action, timeout);
+                return action.count;
+            } finally {
+                action.keys = null;
+            }
+        }
+    }
+
     @Override
     public final int select(long timeout) throws IOException {
         if (timeout < 0)
@@ -168,6 +265,22 @@ abstract class SelectorImpl
         return lockAndDoSelect(action, 0);
     }
 
+    @Override
+    public final int select(SelectionKey[] keys, long timeout)
+        throws IOException
+    {
+        Objects.requireNonNull(keys);
+        if (timeout < 0)
+            throw new IllegalArgumentException("Negative timeout");
+        return lockAndSelectKeys(keys, (timeout == 0) ? -1 : timeout);
+    }
+
+    @Override
+    public final int selectNow(SelectionKey[] keys) throws IOException {
+        Objects.requireNonNull(keys);
+        return lockAndSelectKeys(keys, 0);
+    }
+
     /**
      * Invoked by implCloseSelector to close the selector.
      */
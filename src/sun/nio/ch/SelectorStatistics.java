@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package sun.nio.ch;
+
+import java.nio.channels.Selector;
+
+/**
+ * A snapshot of the statistics of the selection operations performed by a
+ * selector.  Selection operations are only counted if the system property
+ * {@code jdk.nio.selectorStatistics} is {@code true} at startup; otherwise
+ * all counts are zero.
+ */
+
+public final class SelectorStatistics {
+    private final long selectCount;
+    private final long selectedKeyCount;
+    private final long wakeupCount;
+    private final long spuriousWakeupCount;
+
+    private SelectorStatistics(SelectorImpl sel) {
+        this.selectCount = sel.selectCount();
+        this.selectedKeyCount = sel.selectedKeyCount();
+        this.wakeupCount = sel.wakeupCount();
+        this.spuriousWakeupCount = sel.spuriousWakeupCount();
+    }
+
+    /**
+     * Returns the statistics of the given selector, or null if the selector
+     * was not created by the default selector provider.
+     */
+    public static SelectorStatistics of(Selector sel) {
+        if (sel instanceof SelectorImpl)
+            return new SelectorStatistics((SelectorImpl)sel);
+        return null;
+    }
+
+    /**
+     * Returns the number of selection operations.
+     */
+    public long selectCount() {
+        return selectCount;
+    }
+
+    /**
+     * Returns the total number of keys selected by selection operations.
+     */
+    public long selectedKeyCount() {
+        return selectedKeyCount;
+    }
+
+    /**
+     * Returns the number of selection operations that returned because of
+     * an invocation of the selector's wakeup method.
+     */
+    public long wakeupCount() {
+        return wakeupCount;
+    }
+
+    /**
+     * Returns the number of blocking selection operations that returned
+     * without selecting a key, although they were not woken up, interrupted
+     * or timed out.
+     */
+    public long spuriousWakeupCount() {
+        return spuriousWakeupCount;
+    }
+
+    /**
+     * Returns the average number of keys selected by a selection operation.
+     */
+    public double keysPerSelect() {
+        return (selectCount == 0) ? 0.0d : (double)selectedKeyCount / selectCount;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName()
+            + "[selects=" + selectCount
+            + ", keys=" + selectedKeyCount
+            + ", wakeups=" + wakeupCount
+            + ", spuriousWakeups=" + spuriousWakeupCount
+            + "]";
+    }
+}
@@ -26,16 +26,27 @@
 package sun.nio.ch;
 
 import java.nio.channels.*;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 import java.nio.ByteBuffer;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.io.FileDescriptor;
 import java.io.IOException;
+import sun.security.action.GetPropertyAction;
 
 /**
  * "Portable" implementation of AsynchronousFileChannel for use on operating
  * systems that don't support asynchronous file I/O.
+ *
+ * Read and write operations are queued and performed by at most
+ * MAX_IN_FLIGHT tasks per channel, which run in the channel's executor.  A
+ * task performs a run of queued operations of the same kind on adjacent
+ * regions of the file, such as successive appends to a log, with a single
+ * positional read or write.
  */
 
 public class SimpleAsynchronousFileChannelImpl
@@ -53,6 +64,48 @@ public class SimpleAsynchronousFileChannelImpl
     // Thread-safe set of IDs of native threads, for signalling
     private final NativeThreadSet threads = new NativeThreadSet(2);
 
+    private static int getIntProperty(String name, int def) {
+        String s = GetPropertyAction.privilegedGetProperty(name);
+        if (s != null) {
+            try {
+                int n = Integer.parseInt(s);
+                if (n > 0)
+                    return n;
+            } catch (NumberFormatException e) {
+                // if the string is not well formed, ignore the system property
+            }
+        }
+        return def;
+    }
+
+    // Max number of tasks performing the read and write operations of a
+    // channel at the same time
+    private static final int MAX_IN_FLIGHT =
+        getIntProperty("jdk.nio.asyncFileMaxInFlight",
+                       Runtime.getRuntime().availableProcessors());
+
+    // Max number of bytes read or written by coalesced operations
+    private static final int MAX_COALESCE_SIZE =
+        getIntProperty("jdk.nio.asyncFileMaxCoalesceSize", 1024 * 1024);
+
+    // Queued read and write operations, and the number of tasks performing
+    // them; guarded by the queue
+    private final ArrayDeque<IoOp<?>> queue = new ArrayDeque<>();
+    private int inFlight;
+    private int maxQueueDepth;
+
+    // true if operations are counted and their latency measured
+    private static final boolean STATISTICS =
+        Boolean.parseBoolean(GetPropertyAction.privilegedGetProperty(
+            "jdk.nio.asyncFileStatistics"));
+
+    // statistics
+    private final LongAdder completedCount = new LongAdder();
+    private final LongAdder coalescedCount = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final LongAccumulator maxLatencyNanos =
+        new LongAccumulator(Math::max, 0L);
+
 
     SimpleAsynchronousFileChannelImpl(FileDescriptor fdObj,
                                       boolean reading,
@@ -284,6 +337,332 @@ public class SimpleAsynchronousFileChannelImpl
         nd.release(fdObj, fli.position(), fli.size());
     }
 
+    /**
+     * A queued read or write operation.
+     */
+    private static final class IoOp<A> {
+        final boolean write;
+        final ByteBuffer buf;
+        final long position;
+        final A attachment;
+        final CompletionHandler<Integer,? super A> handler;
+        final PendingFuture<Integer,A> result;
+        final long startNanos;
+        int n;
+        Throwable exc;
+
+        IoOp(boolean write, ByteBuffer buf, long position, A attachment,
+             CompletionHandler<Integer,? super A> handler,
+             PendingFuture<Integer,A> result)
+        {
+            this.write = write;
+            this.buf = buf;
+            this.position = position;
+            this.attachment = attachment;
+            this.handler = handler;
+            this.result = result;
+            this.startNanos = STATISTICS ? System.nanoTime() : 0L;
+        }
+
+        void complete() {
+            if (handler == null) {
+                result.setResult(n, exc);
+            } else {
+                Invoker.invokeUnchecked(handler, attachment, n, exc);
+            }
+        }
+    }
+
+    /**
+     * Queues an operation, starting a task to perform it unless
+     * MAX_IN_FLIGHT tasks are already running.
+     */
+    private void enqueue(IoOp<?> op) {
+        boolean start;
+        synchronized (queue) {
+            queue.addLast(op);
+            if (STATISTICS && queue.size() > maxQueueDepth)
+                maxQueueDepth = queue.size();
+            start = (inFlight < MAX_IN_FLIGHT);
+            if (start)
+                inFlight++;
+        }
+        if (start) {
+            boolean executed = false;
+            try {
+                executor.execute(this::drain);
+                executed = true;
+            } finally {
+                if (!executed) {
+                    // rollback; operations queued by other threads meanwhile
+                    // are left with no task to perform them if no other task
+                    // is running, so fail them
+                    ArrayList<IoOp<?>> orphans = null;
+                    synchronized (queue) {
+                        inFlight--;
+                        queue.remove(op);
+                        if (inFlight == 0 && !queue.isEmpty()) {
+                            orphans = new ArrayList<>(queue);
+                            queue.clear();
+                        }
+                    }
+                    if (orphans != null) {
+                        Throwable exc = new ShutdownChannelGroupException();
+                        for (IoOp<?> orphan : orphans) {
+                            orphan.exc = exc;
+                            try {
+                                orphan.complete();
+                            } catch (RuntimeException ignore) { }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Takes the next run of queued operations of the same kind on adjacent
+     * regions into the given list, returning false if the queue is empty.
+     */
+    private boolean pollBatch(ArrayList<IoOp<?>> batch) {
+        assert Thread.holdsLock(queue);
+        IoOp<?> first = queue.pollFirst();
+        if (first == null)
+            return false;
+        batch.add(first);
+        long end = first.position + first.buf.remaining();
+        long size = first.buf.remaining();
+        IoOp<?> next;
+        while ((next = queue.peekFirst()) != null
+               && next.write == first.write
+               && next.position == end
+               && size + next.buf.remaining() <= MAX_COALESCE_SIZE) {
+            queue.pollFirst();
+            batch.add(next);
+            end += next.buf.remaining();
+            size += next.buf.remaining();
+        }
+        return true;
+    }
+
+    /**
+     * Hands the queued operations, if any, over to a new task, else ends the
+     * current one.  Returns false if the executor rejects the new task, in
+     * which case the current task must go on performing them.
+     */
+    private boolean handOff() {
+        synchronized (queue) {
+            if (queue.isEmpty()) {
+                inFlight--;
+                return true;
+            }
+        }
+        try {
+            executor.execute(this::drain);
+            return true;
+        } catch (RejectedExecutionException x) {
+            return false;
+        }
+    }
+
+    /**
+     * Performs a run of queued operations, then completes them.  The rest of
+     * the queue is handed over to a new task before the completion handlers
+     * run, so that a handler waiting for a queued operation cannot block it.
+     * An exception thrown by a completion handler is rethrown once all the
+     * operations of the run are completed.
+     */
+    private void drain() {
+        ArrayList<IoOp<?>> batch = new ArrayList<>();
+        Throwable failure = null;   // first error or handler exception
+        boolean handedOff = false;
+        while (!handedOff) {
+            synchronized (queue) {
+                if (!pollBatch(batch)) {
+                    inFlight--;
+                    break;
+                }
+            }
+            try {
+                perform(batch);
+            } catch (Error x) {
+                // fail the run rather than leave it pending, and rethrow
+                // once the queue has been handed off or drained
+                for (IoOp<?> op : batch) {
+                    op.n = 0;
+                    op.exc = x;
+                }
+                if (failure == null)
+                    failure = x;
+            } finally {
+                handedOff = handOff();
+            }
+            if (STATISTICS)
+                recordCompleted(batch);
+            for (IoOp<?> op : batch) {
+                try {
+                    op.complete();
+                } catch (RuntimeException | Error x) {
+                    if (failure == null)
+                        failure = x;
+                }
+            }
+            batch.clear();
+        }
+        if (failure instanceof Error)
+            throw (Error)failure;
+        if (failure != null)
+            throw (RuntimeException)failure;
+    }
+
+    /**
+     * Updates the statistics for a run of operations that has been performed.
+     */
+    private void recordCompleted(ArrayList<IoOp<?>> batch) {
+        long now = System.nanoTime();
+        for (IoOp<?> op : batch) {
+            long latency = now - op.startNanos;
+            totalLatencyNanos.add(latency);
+            maxLatencyNanos.accumulate(latency);
+        }
+        completedCount.add(batch.size());
+        if (batch.size() > 1)
+            coalescedCount.add(batch.size());
+    }
+
+    /**
+     * Performs a run of operations of the same kind on adjacent regions.
+     */
+    private void perform(ArrayList<IoOp<?>> batch) {
+        IoOp<?> first = batch.get(0);
+        int ti = threads.add();
+        try {
+            begin();
+            if (batch.size() == 1) {
+                int n;
+                do {
+                    n = first.write
+                        ? IOUtil.write(fdObj, first.buf, first.position, nd)
+                        : IOUtil.read(fdObj, first.buf, first.position, nd);
+                } while ((n == IOStatus.INTERRUPTED) && isOpen());
+                if (n < 0 && !isOpen())
+                    throw new AsynchronousCloseException();
+                first.n = n;
+            } else if (first.write) {
+                performWrites(batch);
+            } else {
+                performReads(batch);
+            }
+        } catch (IOException x) {
+            if (!isOpen())
+                x = new AsynchronousCloseException();
+            for (IoOp<?> op : batch) {
+                op.n = 0;
+                op.exc = x;
+            }
+        } catch (RuntimeException | OutOfMemoryError x) {
+            for (IoOp<?> op : batch) {
+                op.n = 0;
+                op.exc = x;
+            }
+        } finally {
+            end();
+            threads.remove(ti);
+        }
+    }
+
+    /**
+     * Writes the buffers of a run of write operations with a single write.
+     */
+    private void performWrites(ArrayList<IoOp<?>> batch) throws IOException {
+        int size = 0;
+        for (IoOp<?> op : batch)
+            size += op.buf.remaining();
+        ByteBuffer bb = Util.getTemporaryDirectBuffer(size);
+        try {
+            for (IoOp<?> op : batch) {
+                int pos = op.buf.position();
+                bb.put(op.buf);
+                // do not update the buffer until we see how many bytes were written
+                op.buf.position(pos);
+            }
+            bb.flip();
+            int n;
+            do {
+                n = IOUtil.write(fdObj, bb, batch.get(0).position, nd);
+            } while ((n == IOStatus.INTERRUPTED) && isOpen());
+            if (n < 0 && !isOpen())
+                throw new AsynchronousCloseException();
+            int left = Math.max(n, 0);
+            for (IoOp<?> op : batch) {
+                int k = Math.min(left, op.buf.remaining());
+                op.buf.position(op.buf.position() + k);
+                op.n = k;
+                left -= k;
+            }
+        } finally {
+            Util.offerFirstTemporaryDirectBuffer(bb);
+        }
+    }
+
+    /**
+     * Reads into the buffers of a run of read operations with a single read.
+     * A short read means the end of the file was reached, so an operation of
+     * the run that starts at or beyond the bytes read completes with -1.
+     */
+    private void performReads(ArrayList<IoOp<?>> batch) throws IOException {
+        int size = 0;
+        for (IoOp<?> op : batch)
+            size += op.buf.remaining();
+        ByteBuffer bb = Util.getTemporaryDirectBuffer(size);
+        try {
+            int n;
+            do {
+                n = IOUtil.read(fdObj, bb, batch.get(0).position, nd);
+            } while ((n == IOStatus.INTERRUPTED) && isOpen());
+            if (n < 0 && !isOpen())
+                throw new AsynchronousCloseException();
+            if (n < 0) {
+                for (IoOp<?> op : batch)
+                    op.n = n;
+                return;
+            }
+            bb.flip();
+            long eof = batch.get(0).position + n;
+            for (IoOp<?> op : batch) {
+                if (n < size && op.position >= eof) {
+                    op.n = IOStatus.EOF;
+                    continue;
+                }
+                int k = Math.min(bb.remaining(), op.buf.remaining());
+                int lim = bb.limit();
+                bb.limit(bb.position() + k);
+                op.buf.put(bb);
+                bb.limit(lim);
+                op.n = k;
+            }
+        } finally {
+            Util.offerFirstTemporaryDirectBuffer(bb);
+        }
+    }
+
+    /**
+     * Returns a snapshot of the statistics of this channel, in the order
+     * queue depth, max queue depth, in-flight tasks, completed operations,
+     * coalesced operations, total latency and max latency in nanoseconds.
+     */
+    long[] statistics() {
+        long depth, maxDepth, tasks;
+        synchronized (queue) {
+            depth = queue.size();
+            maxDepth = maxQueueDepth;
+            tasks = inFlight;
+        }
+        return new long[] { depth, maxDepth, tasks, completedCount.sum(),
+                            coalescedCount.sum(), totalLatencyNanos.sum(),
+                            maxLatencyNanos.get() };
+    }
+
     @Override
     <A> Future<Integer> implRead(final ByteBuffer dst,
                                  final long position,
@@ -308,35 +687,7 @@ public class SimpleAsynchronousFileChannelImpl
 
         final PendingFuture<Integer,A> result = (handler == null) ?
             new PendingFuture<Integer,A>(this) : null;
-        Runnable task = new Runnable() {
-            public void run() {
-                int n = 0;
-                Throwable exc = null;
-
-                int ti = threads.add();
-                try {
-                    begin();
-                    do {
-                        n = IOUtil.read(fdObj, dst, position, nd);
-                    } while ((n == IOStatus.INTERRUPTED) && isOpen());
-                    if (n < 0 && !isOpen())
-                        throw new AsynchronousCloseException();
-                } catch (IOException x) {
-                    if (!isOpen())
-                        x = new AsynchronousCloseException();
-                    exc = x;
-                } finally {
-                    end();
-                    threads.remove(ti);
-                }
-                if (handler == null) {
-                    result.setResult(n, exc);
-                } else {
-                    Invoker.invokeUnchecked(handler, attachment, n, exc);
-                }
-            }
-        };
-        executor.execute(task);
+        enqueue(new IoOp<A>(false, dst, position, attachment, handler, result));
         return result;
     }
 
@@ -362,35 +713,7 @@ public class SimpleAsynchronousFileChannelImpl
 
         final PendingFuture<Integer,A> result = (handler == null) ?
             new PendingFuture<Integer,A>(this) : null;
-        Runnable task = new Runnable() {
-            public void run() {
-                int n = 0;
-                Throwable exc = null;
-
-                int ti = threads.add();
-                try {
-                    begin();
-                    do {
-                        n = IOUtil.write(fdObj, src, position, nd);
-                    } while ((n == IOStatus.INTERRUPTED) && isOpen());
-                    if (n < 0 && !isOpen())
-                        throw new AsynchronousCloseException();
-                } catch (IOException x) {
-                    if (!isOpen())
-                        x = new AsynchronousCloseException();
-                    exc = x;
-                } finally {
-                    end();
-                    threads.remove(ti);
-                }
-                if (handler == null) {
-                    result.setResult(n, exc);
-                } else {
-                    Invoker.invokeUnchecked(handler, attachment, n, exc);
-                }
-            }
-        };
-        executor.execute(task);
+        enqueue(new IoOp<A>(true, src, position, attachment, handler, result));
         return result;
     }
 }
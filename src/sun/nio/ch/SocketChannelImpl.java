@@ -86,6 +86,14 @@ class SocketChannelImpl
     private volatile boolean isInputClosed;
     private volatile boolean isOutputClosed;
 
+    // Thread to which reads and writes are confined, or null; changed while
+    // holding readLock, writeLock and stateLock
+    private volatile Thread owner;
+
+    // Set by the owner while it performs a read or write without holding
+    // readLock or writeLock, so that a closing thread can wait for it
+    private volatile boolean inConfinedIO;
+
     // -- The following fields are protected by stateLock
 
     // set true when exclusive binding is on and SO_REUSEADDR is emulated
@@ -335,10 +343,74 @@ class SocketChannelImpl
         }
     }
 
+    /**
+     * Invoked by a read or write operation on a confined channel.  Returns
+     * true, with inConfinedIO set, if the operation may be performed without
+     * locking, which is the case when the channel is in non-blocking mode.
+     *
+     * @throws IllegalStateException if the channel is confined to another
+     * thread
+     */
+    private boolean beginConfinedIO() {
+        Thread t = owner;
+        if (t != null && t != Thread.currentThread())
+            throw new IllegalStateException("Channel is confined to another thread");
+        if (t == null || isBlocking())
+            return false;
+        inConfinedIO = true;
+        return true;
+    }
+
+    private void checkOwner() {
+        assert Thread.holdsLock(stateLock);
+        Thread t = owner;
+        if (t != null && t != Thread.currentThread())
+            throw new IllegalStateException("Channel is confined to another thread");
+    }
+
+    @Override
+    public SocketChannel setConfined(boolean confined) throws IOException {
+        readLock.lock();
+        try {
+            writeLock.lock();
+            try {
+                synchronized (stateLock) {
+                    ensureOpen();
+                    checkOwner();
+                    owner = confined ? Thread.currentThread() : null;
+                }
+            } finally {
+                writeLock.unlock();
+            }
+        } finally {
+            readLock.unlock();
+        }
+        return this;
+    }
+
+    @Override
+    public boolean isConfined() {
+        return owner != null;
+    }
+
     @Override
     public int read(ByteBuffer buf) throws IOException {
         Objects.requireNonNull(buf);
 
+        if (owner != null && beginConfinedIO()) {
+            try {
+                ensureOpenAndConnected();
+                if (isInputClosed)
+                    return IOStatus.EOF;
+                int n = IOUtil.read(fd, buf, -1, nd);
+                if (n <= 0 && isInputClosed)
+                    return IOStatus.EOF;
+                return IOStatus.normalize(n);
+            } finally {
+                inConfinedIO = false;
+            }
+        }
+
         readLock.lock();
         try {
             boolean blocking = isBlocking();
@@ -374,6 +446,20 @@ class SocketChannelImpl
     {
         Objects.checkFromIndexSize(offset, length, dsts.length);
 
+        if (owner != null && beginConfinedIO()) {
+            try {
+                ensureOpenAndConnected();
+                if (isInputClosed)
+                    return IOStatus.EOF;
+                long n = IOUtil.read(fd, dsts, offset, length, nd);
+                if (n <= 0 && isInputClosed)
+                    return IOStatus.EOF;
+                return IOStatus.normalize(n);
+            } finally {
+                inConfinedIO = false;
+            }
+        }
+
         readLock.lock();
         try {
             boolean blocking = isBlocking();
@@ -452,6 +538,18 @@ class SocketChannelImpl
     public int write(ByteBuffer buf) throws IOException {
         Objects.requireNonNull(buf);
 
+        if (owner != null && beginConfinedIO()) {
+            try {
+                ensureOpenAndConnected();
+                int n = IOUtil.write(fd, buf, -1, nd);
+                if (n <= 0 && isOutputClosed)
+                    throw new AsynchronousCloseException();
+                return IOStatus.normalize(n);
+            } finally {
+                inConfinedIO = false;
+            }
+        }
+
         writeLock.lock();
         try {
             boolean blocking = isBlocking();
@@ -482,6 +580,18 @@ class SocketChannelImpl
     {
         Objects.checkFromIndexSize(offset, length, srcs.length);
 
+        if (owner != null && beginConfinedIO()) {
+            try {
+                ensureOpenAndConnected();
+                long n = IOUtil.write(fd, srcs, offset, length, nd);
+                if (n <= 0 && isOutputClosed)
+                    throw new AsynchronousCloseException();
+                return IOStatus.normalize(n);
+            } finally {
+                inConfinedIO = false;
+            }
+        }
+
         writeLock.lock();
         try {
             boolean blocking = isBlocking();
@@ -542,6 +652,7 @@ class SocketChannelImpl
             try {
                 synchronized (stateLock) {
                     ensureOpen();
+                    checkOwner();
                     IOUtil.configureBlocking(fd, block);
                 }
             } finally {
@@ -864,6 +975,11 @@ class SocketChannelImpl
             } finally {
                 readLock.unlock();
             }
+            // the owner of a confined channel reads and writes without
+            // locking; it sets inConfinedIO before checking the state
+            while (inConfinedIO) {
+                Thread.onSpinWait();
+            }
         }
 
         // set state to ST_KILLPENDING
@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package sun.nio.ch;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import jdk.internal.access.JavaNioAccess;
+import jdk.internal.misc.TerminatingThreadLocal;
+import jdk.internal.ref.Cleaner;
+import sun.security.action.GetPropertyAction;
+
+/**
+ * A pool of temporary direct buffers shared by all threads, used for I/O on
+ * heap buffers.
+ *
+ * <p>Buffers are pooled in power-of-two size classes, from 4K up to the
+ * largest power of two not above {@code jdk.nio.maxCachedBufferSize} (or
+ * 16M), so that any idle buffer of a class can serve any request of that
+ * class.  Each class has a lock-free stack of idle buffers shared by all
+ * threads.  In front of the stacks each thread has a small magazine of
+ * recently released buffers of the smaller classes, which serves the common
+ * case of a thread repeatedly getting and releasing a buffer without any
+ * contention.  The magazine of a terminating thread is returned to the
+ * shared stacks rather than freed.
+ *
+ * <p>The memory held by idle buffers, in magazines and stacks, is bounded
+ * by {@code jdk.nio.maxPooledBufferMemory} (64M by default); buffers
+ * released beyond that bound are freed.  This bounds the native memory
+ * stranded by idle buffers independently of the number of threads, unlike
+ * a cache of buffers per thread.
+ */
+class TemporaryBufferPool {
+
+    private TemporaryBufferPool() { }
+
+    // The smallest and largest size classes
+    private static final int MIN_SHIFT = 12;
+    private static final int MAX_SHIFT = maxShift();
+
+    // The number of buffers in a thread's magazine, and the largest size
+    // class held in magazines
+    private static final int MAGAZINE_SIZE = 4;
+    private static final int MAX_MAGAZINE_SHIFT = 16;
+
+    // The max memory held by idle buffers, in bytes
+    private static final long MAX_POOLED_MEMORY =
+        getLongProperty("jdk.nio.maxPooledBufferMemory", 64L << 20);
+
+    // Shared stacks of idle buffers, indexed by size class
+    private static final AtomicReferenceArray<Node> stacks =
+        new AtomicReferenceArray<>(Math.max(MAX_SHIFT - MIN_SHIFT + 1, 0));
+
+    // Counters
+    private static final AtomicLong idleCount = new AtomicLong();
+    private static final AtomicLong idleMemory = new AtomicLong();
+
+    private static final class Node {
+        final ByteBuffer buf;
+        Node next;
+        Node(ByteBuffer buf) {
+            this.buf = buf;
+        }
+    }
+
+    // Per-thread magazine of idle buffers of the smaller size classes
+    private static final TerminatingThreadLocal<ByteBuffer[]> magazine =
+        new TerminatingThreadLocal<>() {
+            @Override
+            protected ByteBuffer[] initialValue() {
+                return new ByteBuffer[MAGAZINE_SIZE];
+            }
+            @Override
+            protected void threadTerminated(ByteBuffer[] mag) {
+                for (int i = 0; i < mag.length; i++) {
+                    ByteBuffer buf = mag[i];
+                    if (buf != null) {
+                        mag[i] = null;
+                        push(sizeClass(buf.capacity()), buf);
+                    }
+                }
+            }
+        };
+
+    private static long getLongProperty(String name, long def) {
+        String s = GetPropertyAction.privilegedGetProperty(name);
+        if (s != null) {
+            try {
+                long m = Long.parseLong(s);
+                if (m >= 0)
+                    return m;
+            } catch (NumberFormatException e) {
+                // if the string is not well formed, ignore the system property
+            }
+        }
+        return def;
+    }
+
+    private static int maxShift() {
+        long max = Math.min(getLongProperty("jdk.nio.maxCachedBufferSize",
+                                            Long.MAX_VALUE), 1L << 24);
+        return 63 - Long.numberOfLeadingZeros(Math.max(max, 1L));
+    }
+
+    /**
+     * Returns the size class of buffers able to hold the given number of
+     * bytes, or -1 if buffers of that size are not pooled.
+     */
+    private static int sizeClass(int size) {
+        int shift = (size <= (1 << MIN_SHIFT))
+                    ? MIN_SHIFT
+                    : 32 - Integer.numberOfLeadingZeros(size - 1);
+        return (shift <= MAX_SHIFT) ? shift - MIN_SHIFT : -1;
+    }
+
+    private static int capacityOf(int sizeClass) {
+        return 1 << (sizeClass + MIN_SHIFT);
+    }
+
+    /**
+     * Returns a temporary direct buffer with a position of zero and a limit
+     * of the given size.
+     */
+    static ByteBuffer get(int size) {
+        int c = sizeClass(size);
+        if (c < 0)
+            return ByteBuffer.allocateDirect(size);
+
+        ByteBuffer buf = null;
+        if (c + MIN_SHIFT <= MAX_MAGAZINE_SHIFT) {
+            ByteBuffer[] mag = magazine.get();
+            for (int i = 0; i < mag.length; i++) {
+                ByteBuffer bb = mag[i];
+                if (bb != null && bb.capacity() == capacityOf(c)) {
+                    mag[i] = null;
+                    buf = bb;
+                    break;
+                }
+            }
+        }
+        if (buf == null)
+            buf = pop(c);
+
+        if (buf != null) {
+            idleCount.decrementAndGet();
+            idleMemory.addAndGet(-buf.capacity());
+            buf.clear();
+        } else {
+            buf = ByteBuffer.allocateDirect(capacityOf(c));
+        }
+        buf.limit(size);
+        return buf;
+    }
+
+    /**
+     * Returns a temporary buffer to the pool, or frees it if it was not
+     * allocated by the pool or the pool is full.
+     */
+    static void release(ByteBuffer buf) {
+        int cap = buf.capacity();
+        int c = sizeClass(cap);
+        if (c < 0 || cap != capacityOf(c)
+            || ((DirectBuffer)buf).attachment() != null
+            || !reserve(cap)) {
+            free(buf);
+            return;
+        }
+        if (c + MIN_SHIFT <= MAX_MAGAZINE_SHIFT) {
+            ByteBuffer[] mag = magazine.get();
+            for (int i = 0; i < mag.length; i++) {
+                if (mag[i] == null) {
+                    mag[i] = buf;
+                    return;
+                }
+            }
+        }
+        push(c, buf);
+    }
+
+    /**
+     * Accounts for an idle buffer of the given capacity, returning false if
+     * this would exceed the max pooled memory.
+     */
+    private static boolean reserve(int cap) {
+        long used;
+        do {
+            used = idleMemory.get();
+            if (used + cap > MAX_POOLED_MEMORY)
+                return false;
+        } while (!idleMemory.compareAndSet(used, used + cap));
+        idleCount.incrementAndGet();
+        return true;
+    }
+
+    private static void push(int sizeClass, ByteBuffer buf) {
+        Node n = new Node(buf);
+        Node h;
+        do {
+            n.next = h = stacks.get(sizeClass);
+        } while (!stacks.compareAndSet(sizeClass, h, n));
+    }
+
+    private static ByteBuffer pop(int sizeClass) {
+        Node h;
+        do {
+            if ((h = stacks.get(sizeClass)) == null)
+                return null;
+        } while (!stacks.compareAndSet(sizeClass, h, h.next));
+        return h.buf;
+    }
+
+    /**
+     * Frees the memory for the given direct buffer.  Views of direct buffers,
+     * such as aligned slices, are freed with the buffer they view when it
+     * becomes unreachable.
+     */
+    static void free(ByteBuffer buf) {
+        Cleaner cleaner = ((DirectBuffer)buf).cleaner();
+        if (cleaner != null)
+            cleaner.clean();
+    }
+
+    /**
+     * Creates the management interface for the idle buffers of the pool, in
+     * the same form as FileChannelImpl.getMappedBufferPool, so that it can be
+     * registered as a BufferPoolMXBean alongside the mapped buffer pool.
+     */
+    public static JavaNioAccess.BufferPool getBufferPool() {
+        return new JavaNioAccess.BufferPool() {
+            @Override
+            public String getName() {
+                return "temporary";
+            }
+            @Override
+            public long getCount() {
+                return idleCount.get();
+            }
+            @Override
+            public long getTotalCapacity() {
+                return idleMemory.get();
+            }
+            @Override
+            public long getMemoryUsed() {
+                return idleMemory.get();
+            }
+        };
+    }
+}
@@ -37,210 +37,17 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.Set;
 
-import jdk.internal.misc.TerminatingThreadLocal;
 import jdk.internal.misc.Unsafe;
-import sun.security.action.GetPropertyAction;
 
 public class Util {
 
     // -- Caches --
 
-    // The number of temp buffers in our pool
-    private static final int TEMP_BUF_POOL_SIZE = IOUtil.IOV_MAX;
-
-    // The max size allowed for a cached temp buffer, in bytes
-    private static final long MAX_CACHED_BUFFER_SIZE = getMaxCachedBufferSize();
-
-    // Per-thread cache of temporary direct buffers
-    private static ThreadLocal<BufferCache> bufferCache = new TerminatingThreadLocal<>() {
-        @Override
-        protected BufferCache initialValue() {
-            return new BufferCache();
-        }
-        @Override
-        protected void threadTerminated(BufferCache cache) { // will never be null
-            while (!cache.isEmpty()) {
-                ByteBuffer bb = cache.removeFirst();
-                free(bb);
-            }
-        }
-    };
-
-    /**
-     * Returns the max size allowed for a cached temp buffers, in
-     * bytes. It defaults to Long.MAX_VALUE. It can be set with the
-     * jdk.nio.maxCachedBufferSize property. Even though
-     * ByteBuffer.capacity() returns an int, we're using a long here
-     * for potential future-proofing.
-     */
-    private static long getMaxCachedBufferSize() {
-        String s = GetPropertyAction
-                .privilegedGetProperty("jdk.nio.maxCachedBufferSize");
-        if (s != null) {
-            try {
-                long m = Long.parseLong(s);
-                if (m >= 0) {
-                    return m;
-                } else {
-                    // if it's negative, ignore the system property
-                }
-            } catch (NumberFormatException e) {
-                // if the string is not well formed, ignore the system property
-            }
-        }
-        return Long.MAX_VALUE;
-    }
-
-    /**
-     * Returns true if a buffer of this size is too large to be
-     * added to the buffer cache, false otherwise.
-     */
-    private static boolean isBufferTooLarge(int size) {
-        return size > MAX_CACHED_BUFFER_SIZE;
-    }
-
-    /**
-     * Returns true if the buffer is too large to be added to the
-     * buffer cache, false otherwise.
-     */
-    private static boolean isBufferTooLarge(ByteBuffer buf) {
-        return isBufferTooLarge(buf.capacity());
-    }
-
-    /**
-     * A simple cache of direct buffers.
-     */
-    private static class BufferCache {
-        // the array of buffers
-        private ByteBuffer[] buffers;
-
-        // the number of buffers in the cache
-        private int count;
-
-        // the index of the first valid buffer (undefined if count == 0)
-        private int start;
-
-        private int next(int i) {
-            return (i + 1) % TEMP_BUF_POOL_SIZE;
-        }
-
-        BufferCache() {
-            buffers = new ByteBuffer[TEMP_BUF_POOL_SIZE];
-        }
-
-        /**
-         * Removes and returns a buffer from the cache of at least the given
-         * size (or null if no suitable buffer is found).
-         */
-        ByteBuffer get(int size) {
-            // Don't call this if the buffer would be too large.
-            assert !isBufferTooLarge(size);
-
-            if (count == 0)
-                return null;  // cache is empty
-
-            ByteBuffer[] buffers = this.buffers;
-
-            // search for suitable buffer (often the first buffer will do)
-            ByteBuffer buf = buffers[start];
-            if (buf.capacity() < size) {
-                buf = null;
-                int i = start;
-                while ((i = next(i)) != start) {
-                    ByteBuffer bb = buffers[i];
-                    if (bb == null)
-                        break;
-                    if (bb.capacity() >= size) {
-                        buf = bb;
-                        break;
-                    }
-                }
-                if (buf == null)
-                    return null;
-                // move first element to here to avoid re-packing
-                buffers[i] = buffers[start];
-            }
-
-            // remove first element
-            buffers[start] = null;
-            start = next(start);
-            count--;
-
-            // prepare the buffer and return it
-            buf.rewind();
-            buf.limit(size);
-            return buf;
-        }
-
-        boolean offerFirst(ByteBuffer buf) {
-            // Don't call this if the buffer is too large.
-            assert !isBufferTooLarge(buf);
-
-            if (count >= TEMP_BUF_POOL_SIZE) {
-                return false;
-            } else {
-                start = (start + TEMP_BUF_POOL_SIZE - 1) % TEMP_BUF_POOL_SIZE;
-                buffers[start] = buf;
-                count++;
-                return true;
-            }
-        }
-
-        boolean offerLast(ByteBuffer buf) {
-            // Don't call this if the buffer is too large.
-            assert !isBufferTooLarge(buf);
-
-            if (count >= TEMP_BUF_POOL_SIZE) {
-                return false;
-            } else {
-                int next = (start + count) % TEMP_BUF_POOL_SIZE;
-                buffers[next] = buf;
-                count++;
-                return true;
-            }
-        }
-
-        boolean isEmpty() {
-            return count == 0;
-        }
-
-        ByteBuffer removeFirst() {
-            assert count > 0;
-            ByteBuffer buf = buffers[start];
-            buffers[start] = null;
-            start = next(start);
-            count--;
-            return buf;
-        }
-    }
-
     /**
      * Returns a temporary buffer of at least the given size
      */
     public static ByteBuffer getTemporaryDirectBuffer(int size) {
-        // If a buffer of this size is too large for the cache, there
-        // should not be a buffer in the cache that is at least as
-        // large. So we'll just create a new one. Also, we don't have
-        // to remove the buffer from the cache (as this method does
-        // below) given that we won't put the new buffer in the cache.
-        if (isBufferTooLarge(size)) {
-            return ByteBuffer.allocateDirect(size);
-        }
-
-        BufferCache cache = bufferCache.get();
-        ByteBuffer buf = cache.get(size);
-        if (buf != null) {
-            return buf;
-        } else {
-            // No suitable buffer in the cache so we need to allocate a new
-            // one. To avoid the cache growing then we remove the first
-            // buffer from the cache and free it.
-            if (!cache.isEmpty()) {
-                buf = cache.removeFirst();
-                free(buf);
-            }
-            return ByteBuffer.allocateDirect(size);
-        }
+        return TemporaryBufferPool.get(size);
     }
 
     /**
@@ -249,82 +56,38 @@ public class Util {
      */
     public static ByteBuffer getTemporaryAlignedDirectBuffer(int size,
                                                              int alignment) {
-        if (isBufferTooLarge(size)) {
-            return ByteBuffer.allocateDirect(size + alignment - 1)
-                    .alignedSlice(alignment);
-        }
-
-        BufferCache cache = bufferCache.get();
-        ByteBuffer buf = cache.get(size);
-        if (buf != null) {
-            if (buf.alignmentOffset(0, alignment) == 0) {
-                return buf;
-            }
-        } else {
-            if (!cache.isEmpty()) {
-                buf = cache.removeFirst();
-                free(buf);
-            }
+        ByteBuffer buf = TemporaryBufferPool.get(size);
+        if (buf.alignmentOffset(0, alignment) == 0) {
+            return buf;
         }
+        TemporaryBufferPool.release(buf);
         return ByteBuffer.allocateDirect(size + alignment - 1)
                 .alignedSlice(alignment);
     }
 
     /**
-     * Releases a temporary buffer by returning to the cache or freeing it.
+     * Releases a temporary buffer by returning to the pool or freeing it.
      */
     public static void releaseTemporaryDirectBuffer(ByteBuffer buf) {
-        offerFirstTemporaryDirectBuffer(buf);
+        TemporaryBufferPool.release(buf);
     }
 
     /**
-     * Releases a temporary buffer by returning to the cache or freeing it. If
-     * returning to the cache then insert it at the start so that it is
-     * likely to be returned by a subsequent call to getTemporaryDirectBuffer.
+     * Releases a temporary buffer by returning to the pool or freeing it.
+     * Retained for callers that distinguish the order in which buffers are
+     * returned; the pool hands out recently released buffers first.
      */
     static void offerFirstTemporaryDirectBuffer(ByteBuffer buf) {
-        // If the buffer is too large for the cache we don't have to
-        // check the cache. We'll just free it.
-        if (isBufferTooLarge(buf)) {
-            free(buf);
-            return;
-        }
-
-        assert buf != null;
-        BufferCache cache = bufferCache.get();
-        if (!cache.offerFirst(buf)) {
-            // cache is full
-            free(buf);
-        }
+        TemporaryBufferPool.release(buf);
     }
 
     /**
-     * Releases a temporary buffer by returning to the cache or freeing it. If
-     * returning to the cache then insert it at the end. This makes it
-     * suitable for scatter/gather operations where the buffers are returned to
-     * cache in same order that they were obtained.
+     * Releases a temporary buffer by returning to the pool or freeing it.
+     * Used by scatter/gather operations, which return buffers in the same
+     * order that they were obtained.
      */
     static void offerLastTemporaryDirectBuffer(ByteBuffer buf) {
-        // If the buffer is too large for the cache we don't have to
-        // check the cache. We'll just free it.
-        if (isBufferTooLarge(buf)) {
-            free(buf);
-            return;
-        }
-
-        assert buf != null;
-        BufferCache cache = bufferCache.get();
-        if (!cache.offerLast(buf)) {
-            // cache is full
-            free(buf);
-        }
-    }
-
-    /**
-     * Frees the memory for the given direct buffer
-     */
-    private static void free(ByteBuffer buf) {
-        ((DirectBuffer)buf).cleaner().clean();
+        TemporaryBufferPool.release(buf);
     }
 
 
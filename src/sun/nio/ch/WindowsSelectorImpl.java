@@ -512,6 +512,7 @@ class WindowsSelectorImpl extends SelectorImpl {
                 return;
             resetWakeupSocket0(wakeupSourceFd);
             interruptTriggered = false;
+            recordWakeup();
         }
     }
 
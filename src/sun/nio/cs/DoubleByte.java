@@ -32,6 +32,9 @@ import java.nio.charset.CharsetDecoder;
 import java.nio.charset.CharsetEncoder;
 import java.nio.charset.CoderResult;
 import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import jdk.internal.access.JavaLangAccess;
+import jdk.internal.access.SharedSecrets;
 import sun.nio.cs.Surrogate;
 import sun.nio.cs.ArrayDecoder;
 import sun.nio.cs.ArrayEncoder;
@@ -108,6 +111,13 @@ public class DoubleByte {
         Arrays.fill(B2C_UNMAPPABLE, UNMAPPABLE_DECODING);
     }
 
+    private static final JavaLangAccess JLA = SharedSecrets.getJavaLangAccess();
+
+    // b2c tables flattened by Decoder.flatB2C(), shared by all decoders
+    // of the same mapping
+    private static final ConcurrentHashMap<char[][], char[]> FLAT_B2C =
+        new ConcurrentHashMap<>();
+
     public static class Decoder extends CharsetDecoder
                                 implements DelegatableDecoder, ArrayDecoder
     {
@@ -117,6 +127,13 @@ public class DoubleByte {
         final int b2Max;
         final boolean isASCIICompatible;
 
+        // b2c flattened into a single table indexed by (b1 << 8 | b2),
+        // built on first use by the array loop
+        private char[] b2cFlat;
+
+        // staging buffer for decoding from a direct buffer into an array
+        private byte[] chunk;
+
         // for SimpleEUC override
         protected CoderResult crMalformedOrUnderFlow(int b) {
             return CoderResult.UNDERFLOW;
@@ -152,6 +169,33 @@ public class DoubleByte {
             this(cs, 0.5f, 1.0f, b2c, b2cSB, b2Min, b2Max, false);
         }
 
+        /*
+         * Returns the b2c table flattened into a single 64K table indexed by
+         * (b1 << 8 | b2), with all byte pairs outside of the b2Min..b2Max
+         * trail range unmappable, so that the array loop looks a pair up
+         * with one load and no range check.
+         */
+        private char[] flatB2C() {
+            char[] flat = b2cFlat;
+            if (flat == null && (flat = FLAT_B2C.get(b2c)) == null) {
+                // no lambda, this may run before the module system is up
+                flat = new char[0x10000];
+                Arrays.fill(flat, UNMAPPABLE_DECODING);
+                int n = Math.min(b2c.length, 0x100);
+                for (int b1 = 0; b1 < n; b1++) {
+                    char[] row = b2c[b1];
+                    if (row != null && row != B2C_UNMAPPABLE) {
+                        System.arraycopy(row, 0, flat, b1 << 8 | b2Min,
+                                         Math.min(row.length, b2Max - b2Min + 1));
+                    }
+                }
+                char[] prev = FLAT_B2C.putIfAbsent(b2c, flat);
+                if (prev != null)
+                    flat = prev;
+            }
+            return b2cFlat = flat;
+        }
+
         protected CoderResult decodeArrayLoop(ByteBuffer src, CharBuffer dst) {
             byte[] sa = src.array();
             int sp = src.arrayOffset() + src.position();
@@ -161,18 +205,26 @@ public class DoubleByte {
             int dp = dst.arrayOffset() + dst.position();
             int dl = dst.arrayOffset() + dst.limit();
 
+            char[] flat = flatB2C();
             try {
                 while (sp < sl && dp < dl) {
                     // inline the decodeSingle/Double() for better performance
                     int inSize = 1;
                     int b1 = sa[sp] & 0xff;
+                    if (b1 < 0x80 && isASCIICompatible) {
+                        // copy the whole ASCII run, eight bytes at a time
+                        int n = JLA.decodeASCII(sa, sp, da, dp,
+                                                Math.min(sl - sp, dl - dp));
+                        sp += n;
+                        dp += n;
+                        continue;
+                    }
                     char c = b2cSB[b1];
                     if (c == UNMAPPABLE_DECODING) {
                         if (sl - sp < 2)
                             return crMalformedOrUnderFlow(b1);
                         int b2 = sa[sp + 1] & 0xff;
-                        if (b2 < b2Min || b2 > b2Max ||
-                            (c = b2c[b1][b2 - b2Min]) == UNMAPPABLE_DECODING) {
+                        if ((c = flat[b1 << 8 | b2]) == UNMAPPABLE_DECODING) {
                             return crMalformedOrUnmappable(b1, b2);
                         }
                         inSize++;
@@ -188,6 +240,34 @@ public class DoubleByte {
             }
         }
 
+        /*
+         * Decodes from a direct buffer into an array-backed buffer by staging
+         * the bytes through a small array, chunk by chunk, so that the array
+         * loop, rather than the per-byte buffer loop, does the decoding.
+         * Only used by this class, whose array loop stops with UNDERFLOW
+         * and at most one byte left when a chunk ends inside a pair.
+         */
+        private CoderResult decodeDirectLoop(ByteBuffer src, CharBuffer dst) {
+            byte[] buf = chunk;
+            if (buf == null)
+                chunk = buf = new byte[512];
+            while (src.hasRemaining() && dst.hasRemaining()) {
+                int pos = src.position();
+                int rem = src.remaining();
+                int n = Math.min(rem, buf.length);
+                src.get(pos, buf, 0, n);
+                ByteBuffer bb = ByteBuffer.wrap(buf, 0, n);
+                CoderResult cr = decodeArrayLoop(bb, dst);
+                src.position(pos + bb.position());
+                if (cr.isUnderflow() && bb.hasRemaining() && n < rem)
+                    continue;           // pair split across two chunks
+                if (cr.isError() || bb.hasRemaining())
+                    return cr;
+            }
+            return src.hasRemaining() ? CoderResult.OVERFLOW
+                                      : CoderResult.UNDERFLOW;
+        }
+
         protected CoderResult decodeBufferLoop(ByteBuffer src, CharBuffer dst) {
             int mark = src.position();
             try {
@@ -219,6 +299,9 @@ public class DoubleByte {
         public CoderResult decodeLoop(ByteBuffer src, CharBuffer dst) {
             if (src.hasArray() && dst.hasArray())
                 return decodeArrayLoop(src, dst);
+            else if (src.isDirect() && dst.hasArray() &&
+                     getClass() == Decoder.class)
+                return decodeDirectLoop(src, dst);
             else
                 return decodeBufferLoop(src, dst);
         }
@@ -229,6 +312,13 @@ public class DoubleByte {
             int sl = sp + len;
             char repl = replacement().charAt(0);
             while (sp < sl) {
+                if (isASCIICompatible && src[sp] >= 0) {
+                    // copy the whole ASCII run, eight bytes at a time
+                    int n = JLA.decodeASCII(src, sp, dst, dp, sl - sp);
+                    sp += n;
+                    dp += n;
+                    continue;
+                }
                 int b1 = src[sp++] & 0xff;
                 char c = b2cSB[b1];
                 if (c == UNMAPPABLE_DECODING) {
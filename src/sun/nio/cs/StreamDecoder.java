@@ -32,6 +32,8 @@ import java.io.*;
 import java.nio.*;
 import java.nio.channels.*;
 import java.nio.charset.*;
+import jdk.internal.access.JavaLangAccess;
+import jdk.internal.access.SharedSecrets;
 
 public class StreamDecoder extends Reader
 {
@@ -223,6 +225,15 @@ public class StreamDecoder extends Reader
     private CharsetDecoder decoder;
     private ByteBuffer bb;
 
+    // Runs of bytes that the charset maps to the identical chars are copied
+    // straight from bb into the char array, bypassing the decoder
+    private static final int FAST_NONE = 0;
+    private static final int FAST_ASCII = 1;        // ASCII-compatible charsets
+    private static final int FAST_LATIN1 = 2;       // ISO-8859-1
+    private int fastPath;
+
+    private static final JavaLangAccess JLA = SharedSecrets.getJavaLangAccess();
+
     // Exactly one of these is non-null
     private InputStream in;
     private ReadableByteChannel ch;
@@ -251,6 +262,7 @@ public class StreamDecoder extends Reader
         bb = ByteBuffer.allocate(DEFAULT_BYTE_BUFFER_SIZE);
         }
         bb.flip();                      // So that bb is initially empty
+        fastPath = fastPathFor(dec, bb);
     }
 
     StreamDecoder(ReadableByteChannel ch, CharsetDecoder dec, int mbc) {
@@ -264,6 +276,42 @@ public class StreamDecoder extends Reader
                                      ? MIN_BYTE_BUFFER_SIZE
                                      : mbc));
         bb.flip();
+        fastPath = fastPathFor(dec, bb);
+    }
+
+    private static int fastPathFor(CharsetDecoder dec, ByteBuffer bb) {
+        if (!bb.hasArray())
+            return FAST_NONE;
+        Charset cs = dec.charset();
+        if (cs == ISO_8859_1.INSTANCE)
+            return FAST_LATIN1;
+        if (cs == UTF_8.INSTANCE || cs == US_ASCII.INSTANCE)
+            return FAST_ASCII;
+        if (dec instanceof ArrayDecoder && ((ArrayDecoder)dec).isASCIICompatible())
+            return FAST_ASCII;
+        return FAST_NONE;
+    }
+
+    /*
+     * Copies the leading run of bytes of bb that decode to the identical
+     * chars into cb.  The decoder keeps no state across such a run, so it
+     * can simply carry on from where the run ends.
+     */
+    private void decodeArrayFast(CharBuffer cb) {
+        int n = Math.min(bb.remaining(), cb.remaining());
+        if (n == 0)
+            return;
+        byte[] sa = bb.array();
+        int sp = bb.arrayOffset() + bb.position();
+        char[] da = cb.array();
+        int dp = cb.arrayOffset() + cb.position();
+        if (fastPath == FAST_LATIN1) {
+            JLA.inflateBytesToChars(sa, sp, da, dp, n);
+        } else {
+            n = JLA.decodeASCII(sa, sp, da, dp, n);
+        }
+        bb.position(bb.position() + n);
+        cb.position(cb.position() + n);
     }
 
     private int readBytes() throws IOException {
@@ -315,6 +363,8 @@ public class StreamDecoder extends Reader
 
         boolean eof = false;
         for (;;) {
+        if (fastPath != FAST_NONE)
+            decodeArrayFast(cb);
         CoderResult cr = decoder.decode(bb, cb, eof);
         if (cr.isUnderflow()) {
             if (eof)
@@ -32,6 +32,8 @@ import java.io.*;
 import java.nio.*;
 import java.nio.channels.*;
 import java.nio.charset.*;
+import jdk.internal.access.JavaLangAccess;
+import jdk.internal.access.SharedSecrets;
 
 public class StreamEncoder extends Writer
 {
@@ -174,6 +176,15 @@ public class StreamEncoder extends Writer
     private CharsetEncoder encoder;
     private ByteBuffer bb;
 
+    // Runs of chars that the charset maps to the identical bytes are copied
+    // straight from the char array into bb, bypassing the encoder
+    private static final int FAST_NONE = 0;
+    private static final int FAST_ASCII = 1;        // ASCII-compatible charsets
+    private static final int FAST_LATIN1 = 2;       // ISO-8859-1
+    private int fastPath;
+
+    private static final JavaLangAccess JLA = SharedSecrets.getJavaLangAccess();
+
     // Exactly one of these is non-null
     private final OutputStream out;
     private WritableByteChannel ch;
@@ -206,6 +217,7 @@ public class StreamEncoder extends Writer
             if (ch == null) {
         bb = ByteBuffer.allocate(DEFAULT_BYTE_BUFFER_SIZE);
         }
+        fastPath = fastPathFor(enc, bb);
     }
 
     private StreamEncoder(WritableByteChannel ch, CharsetEncoder enc, int mbc) {
@@ -216,6 +228,42 @@ public class StreamEncoder extends Writer
         this.bb = ByteBuffer.allocate(mbc < 0
                                   ? DEFAULT_BYTE_BUFFER_SIZE
                                   : mbc);
+        fastPath = fastPathFor(enc, bb);
+    }
+
+    private static int fastPathFor(CharsetEncoder enc, ByteBuffer bb) {
+        if (!bb.hasArray())
+            return FAST_NONE;
+        Charset cs = enc.charset();
+        if (cs == ISO_8859_1.INSTANCE)
+            return FAST_LATIN1;
+        if (cs == UTF_8.INSTANCE || cs == US_ASCII.INSTANCE)
+            return FAST_ASCII;
+        if (enc instanceof ArrayEncoder && ((ArrayEncoder)enc).isASCIICompatible())
+            return FAST_ASCII;
+        return FAST_NONE;
+    }
+
+    /*
+     * Copies the leading run of chars of cb that encode to the identical
+     * bytes into bb.  The encoder keeps no state across such a run, so it
+     * can simply carry on from where the run ends.
+     */
+    private void encodeArrayFast(CharBuffer cb) {
+        int n = Math.min(cb.remaining(), bb.remaining());
+        if (n == 0)
+            return;
+        char[] sa = cb.array();
+        int sp = cb.arrayOffset() + cb.position();
+        byte[] da = bb.array();
+        int dp = bb.arrayOffset() + bb.position();
+        if (fastPath == FAST_LATIN1) {
+            n = JLA.encodeLatin1(sa, sp, da, dp, n);
+        } else {
+            n = JLA.encodeASCII(sa, sp, da, dp, n);
+        }
+        cb.position(cb.position() + n);
+        bb.position(bb.position() + n);
     }
 
     private void writeBytes() throws IOException {
@@ -289,6 +337,8 @@ public class StreamEncoder extends Writer
         }
 
         while (cb.hasRemaining()) {
+            if (fastPath != FAST_NONE && cb.hasArray())
+                encodeArrayFast(cb);
             CoderResult cr = encoder.encode(cb, bb, false);
             if (cr.isUnderflow()) {
                 assert (cb.remaining() <= 1) : cb.remaining();
@@ -33,6 +33,10 @@ import java.nio.charset.CharsetDecoder;
 import java.nio.charset.CharsetEncoder;
 import java.nio.charset.CoderResult;
 import java.nio.charset.CodingErrorAction;
+import java.util.Objects;
+import jdk.internal.access.JavaLangAccess;
+import jdk.internal.access.SharedSecrets;
+import jdk.internal.util.ArraysSupport;
 
 /* Legal UTF-8 Byte Sequences
  *
@@ -58,6 +62,8 @@ public final class UTF_8 extends Unicode {
 
     public static final UTF_8 INSTANCE = new UTF_8();
 
+    private static final JavaLangAccess JLA = SharedSecrets.getJavaLangAccess();
+
     public UTF_8() {
         super("UTF-8", StandardCharsets.aliases_UTF_8());
     }
@@ -74,6 +80,67 @@ public final class UTF_8 extends Unicode {
         return new Encoder(this);
     }
 
+    /**
+     * Tells whether the given subarray is well-formed UTF-8, that is whether
+     * the decoder of this charset would decode it without reporting
+     * malformed input.  Runs of ASCII bytes are skipped eight at a time.
+     *
+     * @param  sa   the byte array
+     * @param  off  the index of the first byte to validate
+     * @param  len  the number of bytes to validate
+     * @return {@code true} if the bytes are well-formed UTF-8
+     * @throws IndexOutOfBoundsException if {@code off} and {@code len} do
+     *         not describe a subarray of {@code sa}
+     */
+    public static boolean isValid(byte[] sa, int off, int len) {
+        Objects.checkFromIndexSize(off, len, sa.length);
+        int sp = off;
+        int sl = off + len;
+        while (sp < sl) {
+            int b1 = sa[sp];
+            if (b1 >= 0) {
+                sp += ArraysSupport.countPositives(sa, sp, sl - sp);
+            } else if ((b1 >> 5) == -2 && (b1 & 0x1e) != 0) {
+                // [C2..DF] [80..BF]
+                if (sl - sp < 2 || Decoder.isNotContinuation(sa[sp + 1]))
+                    return false;
+                sp += 2;
+            } else if ((b1 >> 4) == -2) {
+                // [E0..EF] [80..BF] [80..BF], excluding surrogates
+                if (sl - sp < 3)
+                    return false;
+                int b2 = sa[sp + 1];
+                int b3 = sa[sp + 2];
+                if (Decoder.isMalformed3(b1, b2, b3) ||
+                    (b1 == (byte)0xed && (b2 & 0xe0) == 0xa0))
+                    return false;
+                sp += 3;
+            } else if ((b1 >> 3) == -2) {
+                // [F0..F4] [80..BF] [80..BF] [80..BF], up to U+10FFFF
+                if (sl - sp < 4)
+                    return false;
+                int b2 = sa[sp + 1];
+                int b3 = sa[sp + 2];
+                int b4 = sa[sp + 3];
+                int uc = ((b1 << 18) ^
+                          (b2 << 12) ^
+                          (b3 <<  6) ^
+                          (b4 ^
+                           (((byte) 0xF0 << 18) ^
+                            ((byte) 0x80 << 12) ^
+                            ((byte) 0x80 <<  6) ^
+                            ((byte) 0x80 <<  0))));
+                if (Decoder.isMalformed4(b2, b3, b4) ||
+                    !Character.isSupplementaryCodePoint(uc))
+                    return false;
+                sp += 4;
+            } else {
+                return false;
+            }
+        }
+        return true;
+    }
+
     static final void updatePositions(Buffer src, int sp,
                                               Buffer dst, int dp) {
         src.position(sp - src.arrayOffset());
@@ -229,19 +296,18 @@ public final class UTF_8 extends Unicode {
             char[] da = dst.array();
             int dp = dst.arrayOffset() + dst.position();
             int dl = dst.arrayOffset() + dst.limit();
-            int dlASCII = dp + Math.min(sl - sp, dl - dp);
 
-            // ASCII only loop
-            while (dp < dlASCII && sa[sp] >= 0)
-                da[dp++] = (char) sa[sp++];
             while (sp < sl) {
                 int b1 = sa[sp];
                 if (b1 >= 0) {
                     // 1 byte, 7 bits: 0xxxxxxx
                     if (dp >= dl)
                         return xflow(src, sp, sl, dst, dp, 1);
-                    da[dp++] = (char) b1;
-                    sp++;
+                    // decode the whole ASCII run, eight bytes at a time
+                    int n = JLA.decodeASCII(sa, sp, da, dp,
+                                            Math.min(sl - sp, dl - dp));
+                    sp += n;
+                    dp += n;
                 } else if ((b1 >> 5) == -2 && (b1 & 0x1e) != 0) {
                     // 2 bytes, 11 bits: 110xxxxx 10xxxxxx
                     //                   [C2..DF] [80..BF]